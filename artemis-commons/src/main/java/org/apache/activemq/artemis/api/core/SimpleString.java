@@ -17,11 +17,13 @@
 package org.apache.activemq.artemis.api.core;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.PlatformDependent;
 import org.apache.activemq.artemis.utils.AbstractByteBufPool;
 import org.apache.activemq.artemis.utils.AbstractPool;
 import org.apache.activemq.artemis.utils.ByteUtil;
@@ -36,6 +38,16 @@ import org.apache.activemq.artemis.utils.DataConstants;
 public final class SimpleString implements CharSequence, Serializable, Comparable<SimpleString> {
 
    private static final SimpleString EMPTY = SimpleString.of("");
+
+   /**
+    * Whether the chars can be read and written 4 at a time, as a long whose bytes are in the order of {@link #data}.
+    */
+   private static final boolean UNSAFE_LITTLE_ENDIAN = PlatformDependent.hasUnsafe() && PlatformDependent.isUnaligned() && !PlatformDependent.BIG_ENDIAN_NATIVE_ORDER;
+
+   /**
+    * The high bytes of the 4 chars of a long.
+    */
+   private static final long HIGH_BYTES_MASK = 0xFF00FF00FF00FF00L;
    private static final long serialVersionUID = 4204223851422244307L;
 
    private final byte[] data;
@@ -137,9 +149,18 @@ public final class SimpleString implements CharSequence, Serializable, Comparabl
 
       data = new byte[len << 1];
 
-      int j = 0;
+      int i = 0;
 
-      for (int i = 0; i < len; i++) {
+      if (UNSAFE_LITTLE_ENDIAN) {
+         for (final int longsEnd = len & ~3; i < longsEnd; i += 4) {
+            final long chars = string.charAt(i) | (long) string.charAt(i + 1) << 16 | (long) string.charAt(i + 2) << 32 | (long) string.charAt(i + 3) << 48;
+            PlatformDependent.putLong(data, i << 1, chars);
+         }
+      }
+
+      int j = i << 1;
+
+      for (; i < len; i++) {
          char c = string.charAt(i);
 
          byte low = (byte) (c & 0xFF); // low byte
@@ -338,6 +359,9 @@ public final class SimpleString implements CharSequence, Serializable, Comparabl
 
    @Override
    public String toString() {
+      if (str == null && UNSAFE_LITTLE_ENDIAN) {
+         str = toLatin1String(data);
+      }
       if (str == null) {
          int len = data.length >> 1;
 
@@ -359,6 +383,35 @@ public final class SimpleString implements CharSequence, Serializable, Comparabl
       return str;
    }
 
+   /**
+    * {@return the string of {@code data} if all its chars are Latin-1 ones, as for most strings, {@code null}
+    * otherwise}
+    * <p>
+    * The chars are compacted 4 at a time into the bytes of a Latin-1 string, which the JVM stores as they are.
+    */
+   private static String toLatin1String(final byte[] data) {
+      final int len = data.length >> 1;
+      final byte[] latin1 = new byte[len];
+      int i = 0;
+      for (final int longsEnd = len & ~3; i < longsEnd; i += 4) {
+         long chars = PlatformDependent.getLong(data, i << 1);
+         if ((chars & HIGH_BYTES_MASK) != 0) {
+            return null;
+         }
+         // the low bytes of the 4 chars, from 0x00dd00cc00bb00aa to 0xddccbbaa
+         chars = (chars | chars >>> 8) & 0x0000FFFF0000FFFFL;
+         chars = (chars | chars >>> 16) & 0x00000000FFFFFFFFL;
+         PlatformDependent.putInt(latin1, i, (int) chars);
+      }
+      for (; i < len; i++) {
+         if (data[(i << 1) + 1] != 0) {
+            return null;
+         }
+         latin1[i] = data[i << 1];
+      }
+      return new String(latin1, StandardCharsets.ISO_8859_1);
+   }
+
    /**
     * note the result of the first use is cached, the separator is configured on the postoffice so will be static for
     * the duration of a server instance. calling with different separator values could give invalid results
@@ -691,7 +744,11 @@ public final class SimpleString implements CharSequence, Serializable, Comparabl
       }
 
       public ByteBufSimpleStringPool(final int capacity, final int maxCharsLength) {
-         super(capacity);
+         this(capacity, maxCharsLength, false);
+      }
+
+      public ByteBufSimpleStringPool(final int capacity, final int maxCharsLength, final boolean countLookups) {
+         super(capacity, countLookups);
          this.maxLength = maxCharsLength;
       }
 
@@ -726,6 +783,10 @@ public final class SimpleString implements CharSequence, Serializable, Comparabl
          super(capacity);
       }
 
+      public StringSimpleStringPool(final int capacity, final boolean countLookups) {
+         super(capacity, countLookups);
+      }
+
       @Override
       protected SimpleString create(String value) {
          return of(value);
@@ -18,6 +18,8 @@ package org.apache.activemq.artemis.core.persistence;
 
 
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.AbstractByteBufPool;
+import org.apache.activemq.artemis.utils.AbstractPool;
 import org.apache.activemq.artemis.utils.Suppliers;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
 
@@ -44,11 +46,25 @@ public class CoreMessageObjectPools {
    }
 
    public CoreMessageObjectPools() {
-      addressDecoderPool = Suppliers.memoize(SimpleString.ByteBufSimpleStringPool::new);
-      propertiesDecoderPools = Suppliers.memoize(TypedProperties.TypedPropertiesDecoderPools::new);
+      this((SharedSimpleStringPools) null);
+   }
+
+   /**
+    * Uses the pools of the addresses and of the property keys of {@code sharedPools}, if not {@code null}.
+    */
+   public CoreMessageObjectPools(SharedSimpleStringPools sharedPools) {
+      if (sharedPools == null) {
+         addressDecoderPool = Suppliers.memoize(SimpleString.ByteBufSimpleStringPool::new);
+         propertiesDecoderPools = Suppliers.memoize(TypedProperties.TypedPropertiesDecoderPools::new);
+         addressStringSimpleStringPool = Suppliers.memoize(SimpleString.StringSimpleStringPool::new);
+         propertiesStringSimpleStringPools = Suppliers.memoize(TypedProperties.TypedPropertiesStringSimpleStringPools::new);
+      } else {
+         addressDecoderPool = sharedPools::getAddressDecoderPool;
+         propertiesDecoderPools = Suppliers.memoize(() -> new TypedProperties.TypedPropertiesDecoderPools(sharedPools.getPropertyKeysDecoderPool(), AbstractByteBufPool.DEFAULT_POOL_CAPACITY));
+         addressStringSimpleStringPool = sharedPools::getAddressStringSimpleStringPool;
+         propertiesStringSimpleStringPools = Suppliers.memoize(() -> new TypedProperties.TypedPropertiesStringSimpleStringPools(sharedPools.getPropertyKeysStringSimpleStringPool(), AbstractPool.DEFAULT_POOL_CAPACITY));
+      }
       groupIdStringSimpleStringPool = Suppliers.memoize(SimpleString.StringSimpleStringPool::new);
-      addressStringSimpleStringPool = Suppliers.memoize(SimpleString.StringSimpleStringPool::new);
-      propertiesStringSimpleStringPools = Suppliers.memoize(TypedProperties.TypedPropertiesStringSimpleStringPools::new);
    }
 
    public SimpleString.ByteBufSimpleStringPool getAddressDecoderPool() {
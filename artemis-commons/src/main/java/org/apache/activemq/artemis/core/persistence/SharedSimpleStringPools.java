@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.persistence;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * The pools of the addresses and of the property keys shared by all the {@link CoreMessageObjectPools} of a broker, so
+ * that the few hundred addresses and property keys its messages use are interned once for all its connections rather
+ * than once per connection.
+ * <p>
+ * The values of the properties aren't pooled here: they are much more diverse, e.g. message or correlation IDs, and
+ * would just evict each other.
+ */
+public class SharedSimpleStringPools {
+
+   public static final int DEFAULT_CAPACITY = 1024;
+
+   /**
+    * The maximum number of chars of a pooled string, longer than the default of the per connection pools as this
+    * includes fully qualified queue names.
+    */
+   public static final int DEFAULT_MAX_LENGTH = 128;
+
+   private final SimpleString.ByteBufSimpleStringPool addressDecoderPool;
+   private final SimpleString.ByteBufSimpleStringPool propertyKeysDecoderPool;
+   private final SimpleString.StringSimpleStringPool addressStringSimpleStringPool;
+   private final SimpleString.StringSimpleStringPool propertyKeysStringSimpleStringPool;
+
+   public SharedSimpleStringPools() {
+      this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+   }
+
+   public SharedSimpleStringPools(int capacity, int maxLength) {
+      addressDecoderPool = new SimpleString.ByteBufSimpleStringPool(capacity, maxLength, true);
+      propertyKeysDecoderPool = new SimpleString.ByteBufSimpleStringPool(capacity, maxLength, true);
+      addressStringSimpleStringPool = new SimpleString.StringSimpleStringPool(capacity, true);
+      propertyKeysStringSimpleStringPool = new SimpleString.StringSimpleStringPool(capacity, true);
+   }
+
+   public SimpleString.ByteBufSimpleStringPool getAddressDecoderPool() {
+      return addressDecoderPool;
+   }
+
+   public SimpleString.ByteBufSimpleStringPool getPropertyKeysDecoderPool() {
+      return propertyKeysDecoderPool;
+   }
+
+   public SimpleString.StringSimpleStringPool getAddressStringSimpleStringPool() {
+      return addressStringSimpleStringPool;
+   }
+
+   public SimpleString.StringSimpleStringPool getPropertyKeysStringSimpleStringPool() {
+      return propertyKeysStringSimpleStringPool;
+   }
+
+   /**
+    * {@return the number of lookups of these pools that returned a pooled string}
+    */
+   public long getHitCount() {
+      return addressDecoderPool.getHitCount() + propertyKeysDecoderPool.getHitCount() +
+         addressStringSimpleStringPool.getHitCount() + propertyKeysStringSimpleStringPool.getHitCount();
+   }
+
+   /**
+    * {@return the number of lookups of these pools that had to create a string}
+    */
+   public long getMissCount() {
+      return addressDecoderPool.getMissCount() + propertyKeysDecoderPool.getMissCount() +
+         addressStringSimpleStringPool.getMissCount() + propertyKeysStringSimpleStringPool.getMissCount();
+   }
+}
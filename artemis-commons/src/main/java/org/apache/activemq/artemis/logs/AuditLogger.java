@@ -2887,4 +2887,25 @@ public interface AuditLogger {
 
    @LogMessage(id = 601801, value = "User {} is deleting a address on target resource: {} {}", level = LogMessage.Level.INFO)
    void destroyAddress(String user, Object source, Object... args);
+
+   static void getLastValueKeyCount(Object source) {
+      BASE_LOGGER.getLastValueKeyCount(getCaller(), source);
+   }
+
+   @LogMessage(id = 601802, value = "User {} is getting last-value-key count on target resource: {}", level = LogMessage.Level.INFO)
+   void getLastValueKeyCount(String user, Object source);
+
+   static void getRunningOperation(Object source) {
+      BASE_LOGGER.getRunningOperation(getCaller(), source);
+   }
+
+   @LogMessage(id = 601803, value = "User {} is getting running operation on target resource: {}", level = LogMessage.Level.INFO)
+   void getRunningOperation(String user, Object source);
+
+   static void cancelRunningOperation(Object source) {
+      BASE_LOGGER.cancelRunningOperation(getCaller(), source);
+   }
+
+   @LogMessage(id = 601804, value = "User {} is cancelling running operation on target resource: {}", level = LogMessage.Level.INFO)
+   void cancelRunningOperation(String user, Object source);
 }
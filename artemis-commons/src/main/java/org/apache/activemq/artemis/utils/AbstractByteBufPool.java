@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.utils;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.util.internal.MathUtil;
 import io.netty.util.internal.PlatformDependent;
@@ -34,13 +36,24 @@ public abstract class AbstractByteBufPool<T> {
    private final T[] entries;
    private final int mask;
    private final int shift;
+   private final LongAdder hits;
+   private final LongAdder misses;
 
    public AbstractByteBufPool() {
       this(DEFAULT_POOL_CAPACITY);
    }
 
    public AbstractByteBufPool(final int capacity) {
+      this(capacity, false);
+   }
+
+   /**
+    * @param countLookups whether to count the hits and misses of the lookups, e.g. for a pool shared by a whole broker
+    */
+   public AbstractByteBufPool(final int capacity, final boolean countLookups) {
       entries = (T[]) new Object[MathUtil.findNextPositivePowerOfTwo(capacity)];
+      hits = countLookups ? new LongAdder() : null;
+      misses = countLookups ? new LongAdder() : null;
       mask = entries.length - 1;
       //log2 of entries.length
       shift = 31 - Integer.numberOfLeadingZeros(entries.length);
@@ -109,6 +122,20 @@ public abstract class AbstractByteBufPool<T> {
       return hashCode;
    }
 
+   /**
+    * {@return the number of lookups of a poolable entry that returned a pooled one, always {@code 0} if this pool doesn't count its lookups}
+    */
+   public long getHitCount() {
+      return hits == null ? 0 : hits.sum();
+   }
+
+   /**
+    * {@return the number of lookups of a poolable entry that had to create it, always {@code 0} if this pool doesn't count its lookups}
+    */
+   public long getMissCount() {
+      return misses == null ? 0 : misses.sum();
+   }
+
    /**
     * {@return {@code true} if {@code length}'s {@code byteBuf} content from {@link ByteBuf#readerIndex()} can be
     * pooled, {@code false} otherwise}
@@ -146,14 +173,23 @@ public abstract class AbstractByteBufPool<T> {
          final T firstEntry = entries[firstIndex];
          if (isEqual(firstEntry, byteBuf, bytesOffset, length)) {
             byteBuf.skipBytes(length);
+            if (hits != null) {
+               hits.increment();
+            }
             return firstEntry;
          }
          final int secondIndex = (hashCode >> shift) & mask;
          final T secondEntry = entries[secondIndex];
          if (isEqual(secondEntry, byteBuf, bytesOffset, length)) {
             byteBuf.skipBytes(length);
+            if (hits != null) {
+               hits.increment();
+            }
             return secondEntry;
          }
+         if (misses != null) {
+            misses.increment();
+         }
          final T internedEntry = create(byteBuf, length);
          final int entryIndex = firstEntry == null ? firstIndex : secondIndex;
          entries[entryIndex] = internedEntry;
@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.utils;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.util.internal.MathUtil;
 
@@ -33,18 +35,43 @@ public abstract class AbstractPool<I, O> {
    private final O[] entries;
    private final int mask;
    private final int shift;
+   private final LongAdder hits;
+   private final LongAdder misses;
 
    public AbstractPool() {
       this(DEFAULT_POOL_CAPACITY);
    }
 
    public AbstractPool(final int capacity) {
+      this(capacity, false);
+   }
+
+   /**
+    * @param countLookups whether to count the hits and misses of the lookups, e.g. for a pool shared by a whole broker
+    */
+   public AbstractPool(final int capacity, final boolean countLookups) {
       entries = (O[]) new Object[MathUtil.findNextPositivePowerOfTwo(capacity)];
+      hits = countLookups ? new LongAdder() : null;
+      misses = countLookups ? new LongAdder() : null;
       mask = entries.length - 1;
       //log2 of entries.length
       shift = 31 - Integer.numberOfLeadingZeros(entries.length);
    }
 
+   /**
+    * {@return the number of lookups that returned a pooled entry, always {@code 0} if this pool doesn't count its lookups}
+    */
+   public long getHitCount() {
+      return hits == null ? 0 : hits.sum();
+   }
+
+   /**
+    * {@return the number of lookups that had to create an entry, always {@code 0} if this pool doesn't count its lookups}
+    */
+   public long getMissCount() {
+      return misses == null ? 0 : misses.sum();
+   }
+
    /**
     * Create a new entry.
     */
@@ -73,13 +100,22 @@ public abstract class AbstractPool<I, O> {
       final int firstIndex = hashCode & mask;
       final O firstEntry = entries[firstIndex];
       if (isEqual(firstEntry, value)) {
+         if (hits != null) {
+            hits.increment();
+         }
          return firstEntry;
       }
       final int secondIndex = (hashCode >> shift) & mask;
       final O secondEntry = entries[secondIndex];
       if (isEqual(secondEntry, value)) {
+         if (hits != null) {
+            hits.increment();
+         }
          return secondEntry;
       }
+      if (misses != null) {
+         misses.increment();
+      }
       final O internedEntry = create(value);
       final int entryIndex = firstEntry == null ? firstIndex : secondIndex;
       entries[entryIndex] = internedEntry;
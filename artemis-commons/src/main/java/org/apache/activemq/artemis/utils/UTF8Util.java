@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.utils;
 
 import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.util.internal.PlatformDependent;
@@ -38,6 +39,16 @@ public final class UTF8Util {
 
    private static final ThreadLocal<SoftReference<StringUtilBuffer>> currentBuffer = new ThreadLocal<>();
 
+   /**
+    * The high bit of each byte of a long, set only by the bytes of the multi-byte encoding of a char.
+    */
+   private static final long NON_ASCII_MASK = 0x8080808080808080L;
+
+   /**
+    * Whether longs can be read at any offset; if not, the bytes are checked one by one.
+    */
+   private static final boolean UNALIGNED_LONGS = PlatformDependent.isUnaligned();
+
    private UTF8Util() {
       // utility class
    }
@@ -94,12 +105,17 @@ public final class UTF8Util {
          logger.trace("Saving string with utfSize={} stringSize={}", len, stringLength);
       }
 
+      // an ASCII string is encoded as is, so its chars can be copied in bulk rather than one by one
+      final boolean ascii = len == stringLength;
+
       if (out.hasArray()) {
          out.ensureWritable(len);
          final byte[] bytes = out.array();
          final int writerIndex = out.writerIndex();
          final int index = out.arrayOffset() + writerIndex;
-         if (PlatformDependent.hasUnsafe()) {
+         if (ascii) {
+            writeAscii(str, bytes, index, stringLength);
+         } else if (PlatformDependent.hasUnsafe()) {
             unsafeOnHeapWriteUTF(str, bytes, index, stringLength);
          } else {
             writeUTF(str, bytes, index, stringLength);
@@ -110,17 +126,36 @@ public final class UTF8Util {
             out.ensureWritable(len);
             final long addressBytes = out.memoryAddress();
             final int writerIndex = out.writerIndex();
-            unsafeOffHeapWriteUTF(str, addressBytes, writerIndex, stringLength);
+            if (ascii) {
+               final byte[] bytes = UTF8Util.getThreadLocalBuffer().borrowByteBuffer(len);
+               writeAscii(str, bytes, 0, stringLength);
+               PlatformDependent.copyMemory(bytes, 0, addressBytes + writerIndex, len);
+            } else {
+               unsafeOffHeapWriteUTF(str, addressBytes, writerIndex, stringLength);
+            }
             out.writerIndex(writerIndex + len);
          } else {
             final StringUtilBuffer buffer = UTF8Util.getThreadLocalBuffer();
             final byte[] bytes = buffer.borrowByteBuffer(len);
-            writeUTF(str, bytes, 0, stringLength);
+            if (ascii) {
+               writeAscii(str, bytes, 0, stringLength);
+            } else {
+               writeUTF(str, bytes, 0, stringLength);
+            }
             out.writeBytes(bytes, 0, len);
          }
       }
    }
 
+   /**
+    * Copies the chars of an ASCII string: unlike the other ways to get the bytes of a string, this doesn't allocate and,
+    * as a string made of ASCII chars is stored as bytes by the JVM, it is a plain array copy.
+    */
+   @SuppressWarnings("deprecation")
+   private static void writeAscii(final String str, final byte[] bytes, final int index, final int length) {
+      str.getBytes(0, length, bytes, index);
+   }
+
    private static int writeUTF(final CharSequence str, final byte[] bytes, final int index, final int length) {
       int charCount = index;
 
@@ -196,6 +231,11 @@ public final class UTF8Util {
          final long addressBytes = byteBuf.memoryAddress();
          final int index = byteBuf.readerIndex();
          byteBuf.skipBytes(size);
+         if (isAscii(addressBytes + index, size)) {
+            final byte[] bytes = buffer.borrowByteBuffer(size);
+            PlatformDependent.copyMemory(addressBytes + index, bytes, 0, size);
+            return new String(bytes, 0, size, StandardCharsets.ISO_8859_1);
+         }
          final char[] chars = buffer.borrowCharBuffer(size);
          return unsafeOffHeapReadUTF(addressBytes, index, chars, size);
       }
@@ -211,6 +251,9 @@ public final class UTF8Util {
          index = 0;
          input.readBytes(bytes, 0, size);
       }
+      if (isAscii(bytes, index, size)) {
+         return new String(bytes, index, size, StandardCharsets.ISO_8859_1);
+      }
       final char[] chars = buffer.borrowCharBuffer(size);
       if (PlatformDependent.hasUnsafe()) {
          return unsafeOnHeapReadUTF(bytes, index, chars, size);
@@ -219,6 +262,46 @@ public final class UTF8Util {
       }
    }
 
+   /**
+    * {@return {@code true} if the {@code size} bytes from {@code index} are all ASCII chars, i.e. if they can be decoded
+    * as they are}
+    * <p>
+    * The bytes are checked 8 at a time if the platform allows it.
+    */
+   private static boolean isAscii(final byte[] bytes, final int index, final int size) {
+      int i = 0;
+      if (PlatformDependent.hasUnsafe() && UNALIGNED_LONGS) {
+         for (final int longsEnd = size & ~7; i < longsEnd; i += Long.BYTES) {
+            if ((PlatformDependent.getLong(bytes, index + i) & NON_ASCII_MASK) != 0) {
+               return false;
+            }
+         }
+      }
+      for (; i < size; i++) {
+         if (bytes[index + i] < 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static boolean isAscii(final long address, final int size) {
+      int i = 0;
+      if (UNALIGNED_LONGS) {
+         for (final int longsEnd = size & ~7; i < longsEnd; i += Long.BYTES) {
+            if ((PlatformDependent.getLong(address + i) & NON_ASCII_MASK) != 0) {
+               return false;
+            }
+         }
+      }
+      for (; i < size; i++) {
+         if (PlatformDependent.getByte(address + i) < 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
    private static String readUTF(final byte[] bytes, final int index, final char[] chars, final int size) {
       int count = index;
       final int limit = index + size;
@@ -259,6 +342,13 @@ public final class UTF8Util {
       int charCount = 0;
 
       while (count < limit) {
+         if (UNALIGNED_LONGS && limit - count >= Long.BYTES && (PlatformDependent.getLong(bytes, count) & NON_ASCII_MASK) == 0) {
+            // a run of ASCII chars, as in most text
+            for (int i = 0; i < Long.BYTES; i++) {
+               chars[charCount++] = (char) PlatformDependent.getByte(bytes, count++);
+            }
+            continue;
+         }
          byte1 = PlatformDependent.getByte(bytes, count++);
 
          if (byte1 >= 0 && byte1 <= 0x7F) {
@@ -295,6 +385,12 @@ public final class UTF8Util {
       int charCount = 0;
 
       while (count < limit) {
+         if (UNALIGNED_LONGS && limit - count >= Long.BYTES && (PlatformDependent.getLong(addressBytes + count) & NON_ASCII_MASK) == 0) {
+            for (int i = 0; i < Long.BYTES; i++) {
+               chars[charCount++] = (char) PlatformDependent.getByte(addressBytes + count++);
+            }
+            continue;
+         }
          byte1 = PlatformDependent.getByte(addressBytes + count++);
 
          if (byte1 >= 0 && byte1 <= 0x7F) {
@@ -350,8 +446,14 @@ public final class UTF8Util {
 
    // TODO look at replacing this with io.netty.buffer.ByteBufUtil.utf8Bytes(java.lang.CharSequence)
    public static int calculateUTFSize(final String str) {
-      int calculatedLen = 0;
-      for (int i = 0, stringLength = str.length(); i < stringLength; i++) {
+      final int stringLength = str.length();
+      int i = 0;
+      // the leading ASCII chars, i.e. all of them for most strings, in a loop simple enough to be unrolled
+      while (i < stringLength && str.charAt(i) <= 0x7f) {
+         i++;
+      }
+      int calculatedLen = i;
+      for (; i < stringLength; i++) {
          final char c = str.charAt(i);
          if (c <= 0x7f) {
             calculatedLen++;
@@ -26,9 +26,14 @@ import java.util.function.Supplier;
  * A priority linked list implementation
  * <p>
  * It implements this by maintaining an individual LinkedBlockingDeque for each priority level.
+ * <p>
+ * The non empty levels are tracked in a bitmask, so polling, iterating and removing only ever visit levels that have
+ * elements. For that reason at most {@link #MAX_PRIORITIES} levels are supported.
  */
 public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
+   public static final int MAX_PRIORITIES = Long.SIZE;
+
    private static final AtomicIntegerFieldUpdater<PriorityLinkedListImpl> SIZE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(PriorityLinkedListImpl.class, "size");
 
    protected final LinkedListImpl<E>[] levels;
@@ -37,7 +42,8 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
    private int lastReset;
 
-   private int highestPriority = -1;
+   // bit i is set when levels[i] is not empty
+   private long nonEmptyLevels;
 
    private int lastPriority = -1;
 
@@ -45,12 +51,41 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
       exclusiveIncrementSize(-1);
    }
 
+   private static int highestLevel(final long levelsMask) {
+      return Long.SIZE - 1 - Long.numberOfLeadingZeros(levelsMask);
+   }
+
+   /**
+    * {@return the mask of the levels from {@code 0} to {@code level}, both included}
+    */
+   private static long levelsUpTo(final int level) {
+      return (2L << level) - 1;
+   }
+
+   private int highestPriority() {
+      return highestLevel(nonEmptyLevels);
+   }
+
+   private void levelAdded(final int level) {
+      nonEmptyLevels |= 1L << level;
+   }
+
+   private void checkEmptyLevel(final int level) {
+      if (levels[level].size() == 0) {
+         nonEmptyLevels &= ~(1L << level);
+      }
+   }
+
    public PriorityLinkedListImpl(final int priorities) {
       this(priorities, null);
    }
 
 
    public PriorityLinkedListImpl(final int priorities, Comparator<E> comparator) {
+      if (priorities <= 0 || priorities > MAX_PRIORITIES) {
+         throw new IllegalArgumentException("priorities must be between 1 and " + MAX_PRIORITIES + ", but was " + priorities);
+      }
+
       levels = (LinkedListImpl<E>[]) Array.newInstance(LinkedListImpl.class, priorities);
 
       for (int i = 0; i < priorities; i++) {
@@ -59,6 +94,7 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
    }
 
    private void checkHighest(final int priority) {
+      final int highestPriority = highestPriority();
       if (lastPriority != priority || priority > highestPriority) {
          lastPriority = priority;
          if (lastReset == Integer.MAX_VALUE) {
@@ -67,10 +103,6 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
             lastReset++;
          }
       }
-
-      if (priority > highestPriority) {
-         highestPriority = priority;
-      }
    }
 
    @Override
@@ -79,6 +111,8 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
       levels[priority].addHead(e);
 
+      levelAdded(priority);
+
       exclusiveIncrementSize(1);
    }
 
@@ -88,6 +122,8 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
       levels[priority].addTail(e);
 
+      levelAdded(priority);
+
       exclusiveIncrementSize(1);
    }
 
@@ -97,6 +133,8 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
       levels[priority].addSorted(e);
 
+      levelAdded(priority);
+
       exclusiveIncrementSize(1);
    }
 
@@ -110,20 +148,14 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
    @Override
    public E removeWithID(String listID, long id) {
-      // we start at 4 just as an optimization, since most times we only use level 4 as the level on messages
-      if (levels.length > 4) {
-         for (int l = 4; l < levels.length; l++) {
-            E removed = levels[l].removeWithID(listID, id);
-            if (removed != null) {
-               removed(l, removed);
-               return removed;
-            }
-         }
-      }
-
-      for (int l = Math.min(3, levels.length); l >= 0; l--) {
+      // only the levels holding elements are looked up, highest first
+      long candidates = nonEmptyLevels;
+      while (candidates != 0) {
+         final int l = highestLevel(candidates);
+         candidates &= ~(1L << l);
          E removed = levels[l].removeWithID(listID, id);
          if (removed != null) {
+            checkEmptyLevel(l);
             removed(l, removed);
             return removed;
          }
@@ -134,8 +166,11 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
    @Override
    public E peek() {
-      for (LinkedListImpl<E> level : levels) {
-         E value = level.peek();
+      long candidates = nonEmptyLevels;
+      while (candidates != 0) {
+         final int l = Long.numberOfTrailingZeros(candidates);
+         candidates &= candidates - 1;
+         E value = levels[l].peek();
          if (value != null) {
             return value;
          }
@@ -154,23 +189,17 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
       // TODO - A better prioritization algorithm
 
-      for (int i = highestPriority; i >= 0; i--) {
-         LinkedListImpl<E> ll = levels[i];
+      final long candidates = nonEmptyLevels;
 
-         if (ll.size() != 0) {
-            e = ll.poll();
+      if (candidates != 0) {
+         final int i = highestLevel(candidates);
 
-            if (e != null) {
-               removed(i, e);
+         e = levels[i].poll();
 
-               if (ll.size() == 0) {
-                  if (highestPriority == i) {
-                     highestPriority--;
-                  }
-               }
-            }
+         checkEmptyLevel(i);
 
-            break;
+         if (e != null) {
+            removed(i, e);
          }
       }
 
@@ -183,6 +212,8 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
          list.clear();
       }
 
+      nonEmptyLevels = 0;
+
       exclusiveSetSize(0);
    }
 
@@ -253,7 +284,7 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
       private void checkReset() {
          if (lastReset != resetCount) {
-            index = highestPriority;
+            index = highestPriority();
 
             resetCount = lastReset;
          }
@@ -264,6 +295,17 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
          checkReset();
 
          while (index >= 0) {
+            // jump straight to the next level holding elements: iterators of empty levels have nothing to return
+            final long candidates = nonEmptyLevels & levelsUpTo(index);
+
+            if (candidates == 0) {
+               index = levels.length - 1;
+
+               break;
+            }
+
+            index = highestLevel(candidates);
+
             lastIter = cachedIters[index];
             lastLevel = index;
 
@@ -310,10 +352,7 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
          E returningElement = lastIter.removeLastElement();
 
-         // If the last message in the current priority is removed then find the next highest
-         for (int i = index; i >= 0 && levels[i].size() == 0; i--) {
-            highestPriority = i;
-         }
+         checkEmptyLevel(lastLevel);
 
          removed(lastLevel, returningElement);
 
@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import static io.netty.util.internal.MathUtil.findNextPositivePowerOfTwo;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * A map of {@link SimpleString} keys that uses open addressing with linear probing. Each entry costs one slot in three
+ * parallel arrays (the key hash, the key and the value) instead of a node object per entry, which makes it suitable
+ * for maps holding millions of entries.
+ * <p>
+ * The hash of the key is cached in the table, so probing only compares keys whose hashes match. Deletions compact the
+ * probe chain (no tombstones are left behind), hence a small load factor is recommended.
+ * <p>
+ * This class is not thread safe: callers are expected to guard it with their own lock.
+ */
+public class SimpleStringHashMap<V> {
+
+   public static final int DEFAULT_INITIAL_CAPACITY = 16;
+   public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+   private final float loadFactor;
+   private int resizeThreshold;
+   private int size;
+
+   private int[] hashes;
+   private SimpleString[] keys;
+   private V[] values;
+
+   public SimpleStringHashMap() {
+      this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+   }
+
+   public SimpleStringHashMap(final int proposedCapacity, final float loadFactor) {
+      if (loadFactor < 0.1f || loadFactor > 0.9f) {
+         throw new IllegalArgumentException("load factor must be in the range of 0.1 to 0.9: " + loadFactor);
+      }
+      this.loadFactor = loadFactor;
+      allocate(findNextPositivePowerOfTwo(Math.max(DEFAULT_INITIAL_CAPACITY, proposedCapacity)));
+   }
+
+   @SuppressWarnings("unchecked")
+   private void allocate(final int capacity) {
+      resizeThreshold = (int) (capacity * loadFactor);
+      hashes = new int[capacity];
+      keys = new SimpleString[capacity];
+      values = (V[]) new Object[capacity];
+   }
+
+   private static int hash(final SimpleString key) {
+      final int h = key.hashCode();
+      return h ^ (h >>> 16);
+   }
+
+   private int indexOf(final SimpleString key, final int hash) {
+      final SimpleString[] keys = this.keys;
+      final int[] hashes = this.hashes;
+      final int mask = keys.length - 1;
+      int index = hash & mask;
+      SimpleString candidate;
+      while ((candidate = keys[index]) != null) {
+         if (hashes[index] == hash && (candidate == key || candidate.equals(key))) {
+            return index;
+         }
+         index = (index + 1) & mask;
+      }
+      return -1;
+   }
+
+   public int size() {
+      return size;
+   }
+
+   public boolean isEmpty() {
+      return size == 0;
+   }
+
+   public int capacity() {
+      return keys.length;
+   }
+
+   public V get(final SimpleString key) {
+      final int index = indexOf(key, hash(key));
+      return index < 0 ? null : values[index];
+   }
+
+   public boolean containsKey(final SimpleString key) {
+      return indexOf(key, hash(key)) >= 0;
+   }
+
+   /**
+    * {@return the previous value associated with {@code key}, or {@code null} if there was none}
+    */
+   public V put(final SimpleString key, final V value) {
+      return put(key, value, false);
+   }
+
+   public V putIfAbsent(final SimpleString key, final V value) {
+      return put(key, value, true);
+   }
+
+   private V put(final SimpleString key, final V value, final boolean onlyIfAbsent) {
+      Objects.requireNonNull(key);
+      Objects.requireNonNull(value);
+      final int hash = hash(key);
+      final SimpleString[] keys = this.keys;
+      final int mask = keys.length - 1;
+      int index = hash & mask;
+      SimpleString candidate;
+      while ((candidate = keys[index]) != null) {
+         if (hashes[index] == hash && (candidate == key || candidate.equals(key))) {
+            final V previous = values[index];
+            if (!onlyIfAbsent) {
+               // the value is replaced in place: the slot and the cached hash are reused
+               values[index] = value;
+            }
+            return previous;
+         }
+         index = (index + 1) & mask;
+      }
+      hashes[index] = hash;
+      keys[index] = key;
+      values[index] = value;
+      size++;
+      if (size > resizeThreshold) {
+         rehash(keys.length << 1);
+      }
+      return null;
+   }
+
+   public V remove(final SimpleString key) {
+      final int index = indexOf(key, hash(key));
+      if (index < 0) {
+         return null;
+      }
+      final V previous = values[index];
+      removeAt(index);
+      return previous;
+   }
+
+   /**
+    * Removes the entry for {@code key} only if it is currently mapped to {@code value} (using identity).
+    *
+    * @return {@code true} if the entry was removed
+    */
+   public boolean remove(final SimpleString key, final V value) {
+      final int index = indexOf(key, hash(key));
+      if (index < 0 || values[index] != value) {
+         return false;
+      }
+      removeAt(index);
+      return true;
+   }
+
+   private void removeAt(int deleteIndex) {
+      final SimpleString[] keys = this.keys;
+      final int[] hashes = this.hashes;
+      final V[] values = this.values;
+      final int mask = keys.length - 1;
+      keys[deleteIndex] = null;
+      values[deleteIndex] = null;
+      size--;
+      // backward shift the following entries of the probe chain, so lookups never stop on the freed slot
+      int index = (deleteIndex + 1) & mask;
+      while (keys[index] != null) {
+         final int hashIndex = hashes[index] & mask;
+         if ((index < hashIndex && (hashIndex <= deleteIndex || deleteIndex <= index)) || (hashIndex <= deleteIndex && deleteIndex <= index)) {
+            hashes[deleteIndex] = hashes[index];
+            keys[deleteIndex] = keys[index];
+            values[deleteIndex] = values[index];
+            keys[index] = null;
+            values[index] = null;
+            deleteIndex = index;
+         }
+         index = (index + 1) & mask;
+      }
+   }
+
+   private void rehash(final int newCapacity) {
+      final int[] oldHashes = hashes;
+      final SimpleString[] oldKeys = keys;
+      final V[] oldValues = values;
+      allocate(newCapacity);
+      final int mask = newCapacity - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+         final SimpleString key = oldKeys[i];
+         if (key != null) {
+            int index = oldHashes[i] & mask;
+            while (keys[index] != null) {
+               index = (index + 1) & mask;
+            }
+            hashes[index] = oldHashes[i];
+            keys[index] = key;
+            values[index] = oldValues[i];
+         }
+      }
+   }
+
+   public void clear() {
+      if (size > 0) {
+         allocate(DEFAULT_INITIAL_CAPACITY);
+         size = 0;
+      }
+   }
+
+   public void forEach(final BiConsumer<? super SimpleString, ? super V> action) {
+      final SimpleString[] keys = this.keys;
+      final V[] values = this.values;
+      for (int i = 0; i < keys.length; i++) {
+         if (keys[i] != null) {
+            action.accept(keys[i], values[i]);
+         }
+      }
+   }
+
+   /**
+    * {@return a snapshot of the keys currently in the map}
+    */
+   public Set<SimpleString> keySet() {
+      final Set<SimpleString> keySet = new HashSet<>(size);
+      forEach((k, v) -> keySet.add(k));
+      return keySet;
+   }
+
+   /**
+    * Follows the {@link java.util.Map#hashCode()} contract.
+    */
+   @Override
+   public int hashCode() {
+      int hashCode = 0;
+      final SimpleString[] keys = this.keys;
+      final V[] values = this.values;
+      for (int i = 0; i < keys.length; i++) {
+         if (keys[i] != null) {
+            hashCode += keys[i].hashCode() ^ values[i].hashCode();
+         }
+      }
+      return hashCode;
+   }
+
+   /**
+    * Follows the {@link java.util.Map#equals(Object)} contract.
+    */
+   @Override
+   public boolean equals(final Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (!(obj instanceof SimpleStringHashMap<?> other) || other.size != size) {
+         return false;
+      }
+      final SimpleString[] keys = this.keys;
+      final V[] values = this.values;
+      for (int i = 0; i < keys.length; i++) {
+         if (keys[i] != null && !values[i].equals(other.get(keys[i]))) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public String toString() {
+      final StringBuilder sb = new StringBuilder("{");
+      forEach((k, v) -> {
+         if (sb.length() > 1) {
+            sb.append(", ");
+         }
+         sb.append(k).append('=').append(v);
+      });
+      return sb.append('}').toString();
+   }
+}
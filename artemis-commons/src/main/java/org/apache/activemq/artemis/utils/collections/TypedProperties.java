@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.utils.collections;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -34,6 +35,8 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.MathUtil;
 import org.apache.activemq.artemis.api.core.ActiveMQPropertyConversionException;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.logs.ActiveMQUtilBundle;
@@ -64,6 +67,39 @@ public class TypedProperties {
 
    private Map<SimpleString, PropertyValue> properties;
 
+   /**
+    * The properties decoded lazily (see {@link #decode(ByteBuf, TypedPropertiesDecoderPools, boolean)}), still encoded
+    * until they're modified: each one of them is found through the offset of its key in {@link #encodedOffsets}, and
+    * decoded on first access.
+    */
+   private volatile ByteBuf encodedProperties;
+
+   private int[] encodedOffsets;
+
+   private int[] encodedKeyHashes;
+
+   /**
+    * Open addressing table of the encoded properties by the hash of their key, holding the position of each property
+    * in {@link #encodedOffsets} plus one, as 0 marks a free slot.
+    */
+   private int[] encodedSlots;
+
+   /**
+    * The values of the encoded properties decoded so far, by their position in {@link #encodedOffsets}.
+    * <p>
+    * It's filled while holding the read lock, with a benign race: concurrent readers may decode the same value (or
+    * even create the array) more than once, but they all get equal, immutable values.
+    */
+   private PropertyValue[] decodedValues;
+
+   private TypedPropertiesDecoderPools decoderPools;
+
+   /**
+    * Whether {@link #internalProperties} and {@link #amqpProperties} account for the keys of
+    * {@link #encodedProperties}.
+    */
+   private boolean encodedKeysTested;
+
    private int size;
 
    private final Predicate<SimpleString> internalPropertyPredicate;
@@ -92,6 +128,9 @@ public class TypedProperties {
    public int size() {
       lock.readLock().lock();
       try {
+         if (encodedProperties != null) {
+            return encodedOffsets.length;
+         }
          return properties == null ? 0 : properties.size();
       } finally {
          lock.readLock().unlock();
@@ -104,6 +143,10 @@ public class TypedProperties {
       // of the ServerMessage
       lock.readLock().lock();
       try {
+         if (encodedProperties != null) {
+            // the encoded properties and their offsets
+            return size + DataConstants.SIZE_INT * (2 * encodedOffsets.length + encodedSlots.length);
+         }
          return properties == null ? 0 : size + 2 * DataConstants.SIZE_INT * properties.size();
       } finally {
          lock.readLock().unlock();
@@ -114,6 +157,14 @@ public class TypedProperties {
       other.lock.readLock().lock();
       try {
          properties = other.properties == null ? null : new HashMap<>(other.properties);
+         // the encoded properties are never changed, hence shared
+         encodedProperties = other.encodedProperties;
+         encodedOffsets = other.encodedOffsets;
+         encodedKeyHashes = other.encodedKeyHashes;
+         encodedSlots = other.encodedSlots;
+         decodedValues = null;
+         decoderPools = other.decoderPools;
+         encodedKeysTested = other.encodedKeysTested;
          size = other.size;
          internalPropertyPredicate = other.internalPropertyPredicate;
          internalProperties = other.internalProperties;
@@ -169,7 +220,7 @@ public class TypedProperties {
    }
 
    public void putTypedProperties(final TypedProperties otherProps) {
-      if (otherProps == null || otherProps == this || otherProps.properties == null) {
+      if (otherProps == null || otherProps == this || (otherProps.properties == null && otherProps.encodedProperties == null)) {
          return;
       }
 
@@ -185,6 +236,66 @@ public class TypedProperties {
       return doGetProperty(key);
    }
 
+   /**
+    * {@return the type of the named property, as one of the type constants of {@link DataConstants}, or
+    * {@link DataConstants#NULL} if there is no such property}
+    */
+   public byte getPropertyType(final SimpleString key) {
+      lock.readLock().lock();
+      try {
+         final PropertyValue val = getPropertyValue(key);
+         return val == null ? NULL : val.getType();
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+
+   /**
+    * Reads a {@code byte}, {@code short}, {@code int} or {@code long} property without boxing it.
+    *
+    * @throws ActiveMQPropertyConversionException if the property is missing or it has a different type
+    */
+   public long getLongValue(final SimpleString key) throws ActiveMQPropertyConversionException {
+      lock.readLock().lock();
+      try {
+         final PropertyValue val = getPropertyValue(key);
+         if (val == null || !isIntegral(val.getType())) {
+            throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+         }
+         return val.longValue();
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+
+   /**
+    * Reads a numeric property without boxing it.
+    *
+    * @throws ActiveMQPropertyConversionException if the property is missing or it's not a number
+    */
+   public double getDoubleValue(final SimpleString key) throws ActiveMQPropertyConversionException {
+      lock.readLock().lock();
+      try {
+         final PropertyValue val = getPropertyValue(key);
+         if (val != null) {
+            final byte type = val.getType();
+            if (type == FLOAT || type == DOUBLE) {
+               return val.doubleValue();
+            }
+            if (isIntegral(type)) {
+               return val.longValue();
+            }
+         }
+         throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+
+   private static boolean isIntegral(final byte type) {
+      return type == BYTE || type == SHORT || type == INT || type == LONG;
+   }
+
    public Boolean getBooleanProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
       Object value = doGetProperty(key);
       if (value == null) {
@@ -348,7 +459,10 @@ public class TypedProperties {
    public boolean containsProperty(final SimpleString key) {
       lock.readLock().lock();
       try {
-         if (properties == null) {
+         final ByteBuf encodedProperties = this.encodedProperties;
+         if (encodedProperties != null) {
+            return indexOfEncodedProperty(encodedProperties, key) >= 0;
+         } else if (properties == null) {
             return false;
 
          } else {
@@ -362,7 +476,11 @@ public class TypedProperties {
    public Set<SimpleString> getPropertyNames() {
       lock.readLock().lock();
       try {
-         if (properties == null) {
+         if (encodedProperties != null) {
+            final Set<SimpleString> names = new HashSet<>(encodedOffsets.length);
+            forEachEncodedKey(names::add);
+            return names;
+         } else if (properties == null) {
             return Collections.emptySet();
          } else {
             return new HashSet<>(properties.keySet());
@@ -375,6 +493,7 @@ public class TypedProperties {
    public boolean clearInternalProperties() {
       lock.writeLock().lock();
       try {
+         testEncodedKeys();
          return internalProperties && removeInternalProperties();
       } finally {
          lock.writeLock().unlock();
@@ -384,6 +503,7 @@ public class TypedProperties {
    public boolean clearAMQPProperties() {
       lock.writeLock().lock();
       try {
+         testEncodedKeys();
          return amqpProperties && removeAMQPProperties();
       } finally {
          lock.writeLock().unlock();
@@ -396,6 +516,7 @@ public class TypedProperties {
          if (internalPropertyPredicate == null) {
             return false;
          }
+         decodeEncodedProperties();
          if (properties == null) {
             return false;
          }
@@ -416,6 +537,7 @@ public class TypedProperties {
          if (amqpPropertyPredicate == null) {
             return false;
          }
+         decodeEncodedProperties();
          if (properties == null) {
             return false;
          }
@@ -456,7 +578,9 @@ public class TypedProperties {
    public void forEachKey(Consumer<SimpleString> action) {
       lock.readLock().lock();
       try {
-         if (properties != null) {
+         if (encodedProperties != null) {
+            forEachEncodedKey(action);
+         } else if (properties != null) {
             properties.keySet().forEach(action::accept);
          }
       } finally {
@@ -472,7 +596,10 @@ public class TypedProperties {
    public void forEach(BiConsumer<SimpleString, Object> action) {
       lock.readLock().lock();
       try {
-         if (properties != null) {
+         final ByteBuf encodedProperties = this.encodedProperties;
+         if (encodedProperties != null) {
+            forEachEncoded(encodedProperties, (k, v) -> action.accept(k, v.getValue()));
+         } else if (properties != null) {
             properties.forEach((k, v) -> action.accept(k, v.getValue()));
          }
       } finally {
@@ -488,7 +615,10 @@ public class TypedProperties {
    private void forEachInternal(BiConsumer<SimpleString, PropertyValue> action) {
       lock.readLock().lock();
       try {
-         if (properties != null) {
+         final ByteBuf encodedProperties = this.encodedProperties;
+         if (encodedProperties != null) {
+            forEachEncoded(encodedProperties, action);
+         } else if (properties != null) {
             properties.forEach(action::accept);
          }
       } finally {
@@ -526,52 +656,62 @@ public class TypedProperties {
          index += keyLength;
          byte type = buffer.getByte(index);
          index++;
-         switch (type) {
-            case NULL: {
-               break;
-            }
-            case CHAR:
-            case SHORT: {
-               index += Short.BYTES;
-               break;
-            }
-            case BOOLEAN:
-            case BYTE: {
-               index += Byte.BYTES;
-               break;
-            }
-            case BYTES:
-            case STRING: {
-               index += (Integer.BYTES + buffer.getInt(index));
-               break;
-            }
-            case INT: {
-               index += Integer.BYTES;
-               break;
-            }
-            case LONG: {
-               index += Long.BYTES;
-               break;
-            }
-            case FLOAT: {
-               index += Float.BYTES;
-               break;
-            }
-            case DOUBLE: {
-               index += Double.BYTES;
-               break;
-            }
-            default: {
-               throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
-            }
-         }
+         index += encodedValueSize(type, buffer, index);
       }
       return false;
    }
 
+   /**
+    * {@return the size of the value of type {@code type} encoded in {@code buffer} at {@code index}, after its type}
+    */
+   private static int encodedValueSize(byte type, ByteBuf buffer, int index) {
+      switch (type) {
+         case NULL: {
+            return 0;
+         }
+         case CHAR:
+         case SHORT: {
+            return Short.BYTES;
+         }
+         case BOOLEAN:
+         case BYTE: {
+            return Byte.BYTES;
+         }
+         case BYTES:
+         case STRING: {
+            return Integer.BYTES + buffer.getInt(index);
+         }
+         case INT: {
+            return Integer.BYTES;
+         }
+         case LONG: {
+            return Long.BYTES;
+         }
+         case FLOAT: {
+            return Float.BYTES;
+         }
+         case DOUBLE: {
+            return Double.BYTES;
+         }
+         default: {
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+         }
+      }
+   }
+
    public void decode(final ByteBuf buffer, final TypedPropertiesDecoderPools keyValuePools) {
+      decode(buffer, keyValuePools, false);
+   }
+
+   /**
+    * Decodes the properties encoded in {@code buffer}, either straight away or lazily, i.e. keeping a copy of their
+    * encoding and the offset of each one of them: a property is only decoded when it's read then, and they're all
+    * decoded once modified. Lazily decoded properties are encoded again as they were, as long as they're not modified.
+    */
+   public void decode(final ByteBuf buffer, final TypedPropertiesDecoderPools keyValuePools, final boolean lazily) {
       lock.writeLock().lock();
       try {
+         resetEncodedProperties();
          byte b = buffer.readByte();
          if (b == DataConstants.NULL) {
             properties = null;
@@ -579,6 +719,11 @@ public class TypedProperties {
          } else {
             int numHeaders = buffer.readInt();
 
+            if (lazily) {
+               decodeLazily(buffer, numHeaders, keyValuePools);
+               return;
+            }
+
             //optimize the case of no collisions to avoid any resize (it doubles the map size!!!) when load factor is reached
             properties = new HashMap<>(numHeaders, 1.0f);
             size = 0;
@@ -586,70 +731,7 @@ public class TypedProperties {
             for (int i = 0; i < numHeaders; i++) {
                final SimpleString key = SimpleString.readSimpleString(buffer, keyValuePools == null ? null : keyValuePools.getPropertyKeysPool());
 
-               byte type = buffer.readByte();
-
-               PropertyValue val;
-
-               switch (type) {
-                  case NULL: {
-                     val = NullValue.INSTANCE;
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case CHAR: {
-                     val = new CharValue(buffer);
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case BOOLEAN: {
-                     val = BooleanValue.of(buffer.readBoolean());
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case BYTE: {
-                     val = ByteValue.valueOf(buffer.readByte());
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case BYTES: {
-                     val = new BytesValue(buffer);
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case SHORT: {
-                     val = new ShortValue(buffer);
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case INT: {
-                     val = new IntValue(buffer);
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case LONG: {
-                     val = new LongValue(buffer);
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case FLOAT: {
-                     val = new FloatValue(buffer);
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case DOUBLE: {
-                     val = new DoubleValue(buffer);
-                     doPutValue(key, val);
-                     break;
-                  }
-                  case STRING: {
-                     val = StringValue.readStringValue(buffer, keyValuePools == null ? null : keyValuePools.getPropertyValuesPool());
-                     doPutValue(key, val);
-                     break;
-                  }
-                  default: {
-                     throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
-                  }
-               }
+               doPutValue(key, readValue(buffer, keyValuePools));
             }
          }
       } finally {
@@ -657,6 +739,226 @@ public class TypedProperties {
       }
    }
 
+   private void decodeLazily(final ByteBuf buffer, final int numHeaders, final TypedPropertiesDecoderPools keyValuePools) {
+      final int startIndex = buffer.readerIndex();
+      final int[] offsets = new int[numHeaders];
+      int index = startIndex;
+      for (int i = 0; i < numHeaders; i++) {
+         offsets[i] = index - startIndex;
+         index += Integer.BYTES + buffer.getInt(index);
+         final byte type = buffer.getByte(index);
+         index++;
+         index += encodedValueSize(type, buffer, index);
+      }
+      size = index - startIndex;
+      final byte[] encoded = new byte[size];
+      buffer.readBytes(encoded);
+      properties = null;
+      encodedProperties = Unpooled.wrappedBuffer(encoded);
+      encodedOffsets = offsets;
+      indexEncodedKeys(encodedProperties, encoded, offsets);
+      decodedValues = null;
+      decoderPools = keyValuePools;
+      encodedKeysTested = false;
+   }
+
+   /**
+    * Fills {@link #encodedKeyHashes} and {@link #encodedSlots} for the keys of {@code encoded}. As when decoding
+    * straight away, the last one of repeated keys is the one found.
+    */
+   private void indexEncodedKeys(final ByteBuf encodedProperties, final byte[] encoded, final int[] offsets) {
+      final int[] hashes = new int[offsets.length];
+      final int[] slots = new int[MathUtil.findNextPositivePowerOfTwo(Math.max(2, offsets.length * 2))];
+      final int mask = slots.length - 1;
+      for (int i = 0; i < offsets.length; i++) {
+         final int keyIndex = offsets[i] + Integer.BYTES;
+         final int keyEnd = keyIndex + encodedProperties.getInt(offsets[i]);
+         // the same hash code of the SimpleString of the key
+         int hash = 0;
+         for (int b = keyIndex; b < keyEnd; b++) {
+            hash = 31 * hash + encoded[b];
+         }
+         hashes[i] = hash;
+         int slot = spread(hash) & mask;
+         while (slots[slot] != 0) {
+            final int other = slots[slot] - 1;
+            final int otherKeyIndex = offsets[other] + Integer.BYTES;
+            if (hashes[other] == hash && Arrays.equals(encoded, keyIndex, keyEnd, encoded, otherKeyIndex, otherKeyIndex + keyEnd - keyIndex)) {
+               break;
+            }
+            slot = (slot + 1) & mask;
+         }
+         slots[slot] = i + 1;
+      }
+      encodedKeyHashes = hashes;
+      encodedSlots = slots;
+   }
+
+   private static int spread(final int hash) {
+      return hash ^ (hash >>> 16);
+   }
+
+   /**
+    * Drops the properties decoded lazily. The caller must hold the write lock.
+    */
+   private void resetEncodedProperties() {
+      encodedProperties = null;
+      encodedOffsets = null;
+      encodedKeyHashes = null;
+      encodedSlots = null;
+      decodedValues = null;
+      decoderPools = null;
+   }
+
+   /**
+    * Decodes the properties decoded lazily, before they're modified. The caller must hold the write lock.
+    */
+   private void decodeEncodedProperties() {
+      final ByteBuf encodedProperties = this.encodedProperties;
+      if (encodedProperties == null) {
+         return;
+      }
+      final int numHeaders = encodedOffsets.length;
+      final TypedPropertiesDecoderPools keyValuePools = decoderPools;
+      resetEncodedProperties();
+      properties = new HashMap<>(numHeaders, 1.0f);
+      size = 0;
+      final ByteBuf buffer = encodedProperties.duplicate();
+      for (int i = 0; i < numHeaders; i++) {
+         final SimpleString key = SimpleString.readSimpleString(buffer, keyValuePools == null ? null : keyValuePools.getPropertyKeysPool());
+         doPutValue(key, readValue(buffer, keyValuePools));
+      }
+   }
+
+   /**
+    * {@return the position in {@link #encodedOffsets} of the property {@code key} of {@code encodedProperties}, or -1
+    * if there's no such property}
+    */
+   private int indexOfEncodedProperty(final ByteBuf encodedProperties, final SimpleString key) {
+      final int hash = key.hashCode();
+      final int[] slots = encodedSlots;
+      final int mask = slots.length - 1;
+      for (int slot = spread(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+         final int property = slots[slot] - 1;
+         if (encodedKeyHashes[property] == hash) {
+            final int offset = encodedOffsets[property];
+            if (key.equals(encodedProperties, offset + Integer.BYTES, encodedProperties.getInt(offset))) {
+               return property;
+            }
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * {@return the value of {@code key}, decoding it if the properties were decoded lazily} The caller must hold the
+    * read lock.
+    */
+   private PropertyValue getPropertyValue(final SimpleString key) {
+      final ByteBuf encodedProperties = this.encodedProperties;
+      if (encodedProperties != null) {
+         final int property = indexOfEncodedProperty(encodedProperties, key);
+         return property < 0 ? null : getEncodedValue(encodedProperties, property);
+      }
+      return properties == null ? null : properties.get(key);
+   }
+
+   private PropertyValue getEncodedValue(final ByteBuf encodedProperties, final int property) {
+      PropertyValue[] values = decodedValues;
+      if (values == null) {
+         values = new PropertyValue[encodedOffsets.length];
+         decodedValues = values;
+      }
+      PropertyValue value = values[property];
+      if (value == null) {
+         final int offset = encodedOffsets[property];
+         final int valueIndex = offset + Integer.BYTES + encodedProperties.getInt(offset);
+         value = readValue(encodedProperties.duplicate().readerIndex(valueIndex), decoderPools);
+         values[property] = value;
+      }
+      return value;
+   }
+
+   private void forEachEncoded(final ByteBuf encodedProperties, final BiConsumer<SimpleString, PropertyValue> action) {
+      final TypedPropertiesDecoderPools keyValuePools = decoderPools;
+      final ByteBuf buffer = encodedProperties.duplicate();
+      for (int i = 0; i < encodedOffsets.length; i++) {
+         final SimpleString key = SimpleString.readSimpleString(buffer, keyValuePools == null ? null : keyValuePools.getPropertyKeysPool());
+         action.accept(key, readValue(buffer, keyValuePools));
+      }
+   }
+
+   private void forEachEncodedKey(final Consumer<SimpleString> action) {
+      final TypedPropertiesDecoderPools keyValuePools = decoderPools;
+      final ByteBuf buffer = encodedProperties.duplicate();
+      for (int offset : encodedOffsets) {
+         action.accept(SimpleString.readSimpleString(buffer.readerIndex(offset), keyValuePools == null ? null : keyValuePools.getPropertyKeysPool()));
+      }
+   }
+
+   /**
+    * Sets {@link #internalProperties} and {@link #amqpProperties} for the properties decoded lazily, as they would be
+    * if decoded straight away. The caller must hold the write lock.
+    */
+   private void testEncodedKeys() {
+      if (encodedProperties != null && !encodedKeysTested) {
+         forEachEncodedKey(this::testKey);
+         encodedKeysTested = true;
+      }
+   }
+
+   private void testKey(final SimpleString key) {
+      if (!internalProperties && internalPropertyPredicate != null && internalPropertyPredicate.test(key)) {
+         internalProperties = true;
+      }
+
+      if (!amqpProperties && amqpPropertyPredicate != null && amqpPropertyPredicate.test(key)) {
+         amqpProperties = true;
+      }
+   }
+
+   private static PropertyValue readValue(final ByteBuf buffer, final TypedPropertiesDecoderPools keyValuePools) {
+      final byte type = buffer.readByte();
+      switch (type) {
+         case NULL: {
+            return NullValue.INSTANCE;
+         }
+         case CHAR: {
+            return new CharValue(buffer);
+         }
+         case BOOLEAN: {
+            return BooleanValue.of(buffer.readBoolean());
+         }
+         case BYTE: {
+            return ByteValue.valueOf(buffer.readByte());
+         }
+         case BYTES: {
+            return new BytesValue(buffer);
+         }
+         case SHORT: {
+            return new ShortValue(buffer);
+         }
+         case INT: {
+            return new IntValue(buffer);
+         }
+         case LONG: {
+            return new LongValue(buffer);
+         }
+         case FLOAT: {
+            return new FloatValue(buffer);
+         }
+         case DOUBLE: {
+            return new DoubleValue(buffer);
+         }
+         case STRING: {
+            return StringValue.readStringValue(buffer, keyValuePools == null ? null : keyValuePools.getPropertyValuesPool());
+         }
+         default: {
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+         }
+      }
+   }
+
    public void decode(final ByteBuf buffer) {
       decode(buffer, null);
    }
@@ -668,10 +970,17 @@ public class TypedProperties {
          // it's a trick to not pay the cost of buffer.writeIndex without assertions enabled
          int writerIndex = 0;
          assert (writerIndex = buffer.writerIndex()) >= 0 : "Always true";
-         if (properties == null || size == 0) {
+         final ByteBuf encodedProperties = this.encodedProperties;
+         if ((properties == null && encodedProperties == null) || size == 0) {
             encodedSize = DataConstants.SIZE_BYTE;
             ensureExactWritable(buffer, encodedSize);
             buffer.writeByte(DataConstants.NULL);
+         } else if (encodedProperties != null) {
+            encodedSize = DataConstants.SIZE_BYTE + DataConstants.SIZE_INT + size;
+            ensureExactWritable(buffer, encodedSize);
+            buffer.writeByte(DataConstants.NOT_NULL);
+            buffer.writeInt(encodedOffsets.length);
+            buffer.writeBytes(encodedProperties, 0, size);
          } else {
             encodedSize = DataConstants.SIZE_BYTE + DataConstants.SIZE_INT + size;
             ensureExactWritable(buffer, encodedSize);
@@ -697,7 +1006,7 @@ public class TypedProperties {
    public int getEncodeSize() {
       lock.readLock().lock();
       try {
-         if (properties == null || size == 0) {
+         if ((properties == null && encodedProperties == null) || size == 0) {
             return DataConstants.SIZE_BYTE;
          } else {
             return DataConstants.SIZE_BYTE + DataConstants.SIZE_INT + size;
@@ -710,6 +1019,7 @@ public class TypedProperties {
    public void clear() {
       lock.writeLock().lock();
       try {
+         resetEncodedProperties();
          if (properties != null) {
             properties.clear();
          }
@@ -724,49 +1034,41 @@ public class TypedProperties {
       lock.readLock().lock();
       try {
          StringBuilder sb = new StringBuilder("TypedProperties[");
+         final int firstIndex = sb.length();
 
-         if (properties != null) {
-            Iterator<Entry<SimpleString, PropertyValue>> iter = properties.entrySet().iterator();
-
-            while (iter.hasNext()) {
-               Entry<SimpleString, PropertyValue> iterItem = iter.next();
-               sb.append(iterItem.getKey() + "=");
-
-               // it seems weird but it's right!!
-               // The first getValue is from the EntrySet
-               // The second is to convert the PropertyValue into the actual value
-               Object theValue = iterItem.getValue().getValue();
-
-               if (theValue == null) {
-                  sb.append("NULL-value");
-               } else if (theValue instanceof byte[] bytes) {
-                  sb.append("[" + ByteUtil.maxString(ByteUtil.bytesToHex(bytes, 2), 150) + "]");
-
-                  if (iterItem.getKey().toString().startsWith("_AMQ_ROUTE_TO")) {
-                     sb.append(", bytesAsLongs[");
-                     try {
-                        ByteBuffer buff = ByteBuffer.wrap(bytes);
-                        while (buff.hasRemaining()) {
-                           long bindingID = buff.getLong();
-                           sb.append(bindingID);
-                           if (buff.hasRemaining()) {
-                              sb.append(", ");
-                           }
+         forEachInternal((key, value) -> {
+            if (sb.length() > firstIndex) {
+               sb.append(", ");
+            }
+            sb.append(key + "=");
+
+            Object theValue = value.getValue();
+
+            if (theValue == null) {
+               sb.append("NULL-value");
+            } else if (theValue instanceof byte[] bytes) {
+               sb.append("[" + ByteUtil.maxString(ByteUtil.bytesToHex(bytes, 2), 150) + "]");
+
+               if (key.toString().startsWith("_AMQ_ROUTE_TO")) {
+                  sb.append(", bytesAsLongs[");
+                  try {
+                     ByteBuffer buff = ByteBuffer.wrap(bytes);
+                     while (buff.hasRemaining()) {
+                        long bindingID = buff.getLong();
+                        sb.append(bindingID);
+                        if (buff.hasRemaining()) {
+                           sb.append(", ");
                         }
-                     } catch (Throwable e) {
-                        sb.append("error-converting-longs=" + e.getMessage());
                      }
-                     sb.append("]");
+                  } catch (Throwable e) {
+                     sb.append("error-converting-longs=" + e.getMessage());
                   }
-               } else {
-                  sb.append(theValue.toString());
-               }
-
-               if (iter.hasNext()) {
-                  sb.append(", ");
+                  sb.append("]");
                }
+            } else {
+               sb.append(theValue.toString());
             }
-         }
+         });
 
          return sb.append("]").toString();
       } finally {
@@ -777,13 +1079,9 @@ public class TypedProperties {
    private void doPutValue(final SimpleString key, final PropertyValue value) {
       lock.writeLock().lock();
       try {
-         if (!internalProperties && internalPropertyPredicate != null && internalPropertyPredicate.test(key)) {
-            internalProperties = true;
-         }
+         decodeEncodedProperties();
 
-         if (!amqpProperties && amqpPropertyPredicate != null && amqpPropertyPredicate.test(key)) {
-            amqpProperties = true;
-         }
+         testKey(key);
 
          if (properties == null) {
             properties = new HashMap<>();
@@ -803,6 +1101,13 @@ public class TypedProperties {
    private Object doRemoveProperty(final SimpleString key) {
       lock.writeLock().lock();
       try {
+         final ByteBuf encodedProperties = this.encodedProperties;
+         if (encodedProperties != null) {
+            if (indexOfEncodedProperty(encodedProperties, key) < 0) {
+               return null;
+            }
+            decodeEncodedProperties();
+         }
          if (properties == null) {
             return null;
          }
@@ -822,11 +1127,7 @@ public class TypedProperties {
    private Object doGetProperty(final SimpleString key) {
       lock.readLock().lock();
       try {
-         if (properties == null) {
-            return null;
-         }
-
-         PropertyValue val = properties.get(key);
+         PropertyValue val = getPropertyValue(key);
          if (val == null) {
             return null;
          } else {
@@ -841,6 +1142,25 @@ public class TypedProperties {
 
       abstract Object getValue();
 
+      /**
+       * {@return the type of the value, as one of the type constants of {@link DataConstants}}
+       */
+      abstract byte getType();
+
+      /**
+       * Only supported by the {@code BYTE}, {@code SHORT}, {@code INT} and {@code LONG} values.
+       */
+      long longValue() {
+         throw new UnsupportedOperationException();
+      }
+
+      /**
+       * Only supported by the {@code FLOAT} and {@code DOUBLE} values.
+       */
+      double doubleValue() {
+         throw new UnsupportedOperationException();
+      }
+
       abstract void write(ByteBuf buffer);
 
       abstract int encodeSize();
@@ -863,6 +1183,11 @@ public class TypedProperties {
          return null;
       }
 
+      @Override
+      public byte getType() {
+         return DataConstants.NULL;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.NULL);
@@ -902,6 +1227,11 @@ public class TypedProperties {
          return objVal;
       }
 
+      @Override
+      public byte getType() {
+         return DataConstants.BOOLEAN;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.BOOLEAN);
@@ -947,6 +1277,16 @@ public class TypedProperties {
          return objectVal;
       }
 
+      @Override
+      long longValue() {
+         return val;
+      }
+
+      @Override
+      public byte getType() {
+         return DataConstants.BYTE;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.BYTE);
@@ -978,6 +1318,11 @@ public class TypedProperties {
          return val;
       }
 
+      @Override
+      public byte getType() {
+         return DataConstants.BYTES;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.BYTES);
@@ -1009,6 +1354,16 @@ public class TypedProperties {
          return val;
       }
 
+      @Override
+      long longValue() {
+         return val;
+      }
+
+      @Override
+      public byte getType() {
+         return DataConstants.SHORT;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.SHORT);
@@ -1038,6 +1393,16 @@ public class TypedProperties {
          return val;
       }
 
+      @Override
+      long longValue() {
+         return val;
+      }
+
+      @Override
+      public byte getType() {
+         return DataConstants.INT;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.INT);
@@ -1067,6 +1432,16 @@ public class TypedProperties {
          return val;
       }
 
+      @Override
+      long longValue() {
+         return val;
+      }
+
+      @Override
+      public byte getType() {
+         return DataConstants.LONG;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.LONG);
@@ -1096,6 +1471,16 @@ public class TypedProperties {
          return val;
       }
 
+      @Override
+      double doubleValue() {
+         return val;
+      }
+
+      @Override
+      public byte getType() {
+         return DataConstants.FLOAT;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.FLOAT);
@@ -1126,6 +1511,16 @@ public class TypedProperties {
          return val;
       }
 
+      @Override
+      double doubleValue() {
+         return val;
+      }
+
+      @Override
+      public byte getType() {
+         return DataConstants.DOUBLE;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.DOUBLE);
@@ -1155,6 +1550,11 @@ public class TypedProperties {
          return val;
       }
 
+      @Override
+      public byte getType() {
+         return DataConstants.CHAR;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.CHAR);
@@ -1188,6 +1588,11 @@ public class TypedProperties {
          return val;
       }
 
+      @Override
+      public byte getType() {
+         return DataConstants.STRING;
+      }
+
       @Override
       public void write(final ByteBuf buffer) {
          buffer.writeByte(DataConstants.STRING);
@@ -1255,6 +1660,11 @@ public class TypedProperties {
          this.propertyValuesPool = new TypedProperties.StringValue.ByteBufStringValuePool(valuePoolCapacity);
       }
 
+      public TypedPropertiesDecoderPools(SimpleString.ByteBufSimpleStringPool propertyKeysPool, int valuePoolCapacity) {
+         this.propertyKeysPool = propertyKeysPool;
+         this.propertyValuesPool = new TypedProperties.StringValue.ByteBufStringValuePool(valuePoolCapacity);
+      }
+
       public SimpleString.ByteBufSimpleStringPool getPropertyKeysPool() {
          return propertyKeysPool;
       }
@@ -1279,6 +1689,11 @@ public class TypedProperties {
          this.propertyValuesPool = new SimpleString.StringSimpleStringPool(valuePoolCapacity);
       }
 
+      public TypedPropertiesStringSimpleStringPools(SimpleString.StringSimpleStringPool propertyKeysPool, int valuePoolCapacity) {
+         this.propertyKeysPool = propertyKeysPool;
+         this.propertyValuesPool = new SimpleString.StringSimpleStringPool(valuePoolCapacity);
+      }
+
       public SimpleString.StringSimpleStringPool getPropertyKeysPool() {
          return propertyKeysPool;
       }
@@ -1291,7 +1706,9 @@ public class TypedProperties {
    public boolean isEmpty() {
       lock.readLock().lock();
       try {
-         if (properties == null) {
+         if (encodedProperties != null) {
+            return encodedOffsets.length == 0;
+         } else if (properties == null) {
             return true;
          } else {
             return properties.isEmpty();
@@ -1304,13 +1721,11 @@ public class TypedProperties {
    public Set<String> getMapNames() {
       lock.readLock().lock();
       try {
-         if (properties == null) {
+         if (properties == null && encodedProperties == null) {
             return Collections.emptySet();
          } else {
-            Set<String> names = new HashSet<>(properties.size());
-            for (SimpleString name : properties.keySet()) {
-               names.add(name.toString());
-            }
+            Set<String> names = new HashSet<>(size());
+            forEachKey(name -> names.add(name.toString()));
             return names;
          }
       } finally {
@@ -1321,18 +1736,17 @@ public class TypedProperties {
    public Map<String, Object> getMap() {
       lock.readLock().lock();
       try {
-         if (properties == null) {
+         if (properties == null && encodedProperties == null) {
             return Collections.emptyMap();
          } else {
-            Map<String, Object> m = new HashMap<>(properties.size());
-            for (Entry<SimpleString, PropertyValue> entry : properties.entrySet()) {
-               Object val = entry.getValue().getValue();
+            Map<String, Object> m = new HashMap<>(size());
+            forEach((key, val) -> {
                if (val instanceof SimpleString simpleString) {
-                  m.put(entry.getKey().toString(), simpleString.toString());
+                  m.put(key.toString(), simpleString.toString());
                } else {
-                  m.put(entry.getKey().toString(), val);
+                  m.put(key.toString(), val);
                }
-            }
+            });
             return m;
          }
       } finally {
@@ -1355,6 +1769,38 @@ public class TypedProperties {
     * @param value      The Object value
     * @param properties The typed properties
     */
+   /**
+    * {@return the type of a property holding {@code value}, as one of the type constants of {@link DataConstants}, or
+    * -1 if a property can't hold such a value}
+    */
+   public static byte getType(final Object value) {
+      if (value == null) {
+         return NULL;
+      } else if (value instanceof Boolean) {
+         return BOOLEAN;
+      } else if (value instanceof Byte) {
+         return BYTE;
+      } else if (value instanceof Character) {
+         return CHAR;
+      } else if (value instanceof Short) {
+         return SHORT;
+      } else if (value instanceof Integer) {
+         return INT;
+      } else if (value instanceof Long) {
+         return LONG;
+      } else if (value instanceof Float) {
+         return FLOAT;
+      } else if (value instanceof Double) {
+         return DOUBLE;
+      } else if (value instanceof String || value instanceof SimpleString) {
+         return STRING;
+      } else if (value instanceof byte[]) {
+         return BYTES;
+      } else {
+         return -1;
+      }
+   }
+
    public static void setObjectProperty(final SimpleString key, final Object value, final TypedProperties properties) {
       if (value == null) {
          properties.putNullValue(key);
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.pools;
+
+import java.util.Queue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * A pool of objects on a Multi Producer Multi Consumer queue (MPMC), for objects that may be borrowed by many threads
+ * at once. Prefer {@link MpscPool} when a single thread borrows.
+ */
+public class MpmcPool<T> extends Pool<T> {
+
+   public MpmcPool(int maxSize, Consumer<T> cleaner, Supplier<T> supplier) {
+      super(maxSize, cleaner, supplier);
+   }
+
+   @Override
+   protected Queue<T> createQueue(int maxSize) {
+      final Queue<T> internalPool;
+      if (maxSize > 0) {
+         internalPool = PlatformDependent.newFixedMpmcQueue(maxSize);
+      } else {
+         internalPool = null;
+      }
+      return internalPool;
+   }
+
+}
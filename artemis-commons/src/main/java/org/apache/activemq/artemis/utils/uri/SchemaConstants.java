@@ -25,4 +25,6 @@ public class SchemaConstants {
    public static final String JGROUPS = "jgroups";
 
    public static final String VM = "vm";
+
+   public static final String UNIX = "unix";
 }
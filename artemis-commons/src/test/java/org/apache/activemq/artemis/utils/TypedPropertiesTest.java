@@ -35,6 +35,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.ActiveMQPropertyConversionException;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
 import org.junit.jupiter.api.BeforeEach;
@@ -140,6 +141,44 @@ public class TypedPropertiesTest {
       assertNull(props.getProperty(key));
    }
 
+   @Test
+   public void testPrimitiveReads() throws Exception {
+      final SimpleString b = SimpleString.of("b");
+      final SimpleString i = SimpleString.of("i");
+      final SimpleString l = SimpleString.of("l");
+      final SimpleString f = SimpleString.of("f");
+      final SimpleString d = SimpleString.of("d");
+      final SimpleString s = SimpleString.of("s");
+      props.putByteProperty(b, (byte) -3);
+      props.putIntProperty(i, 42);
+      props.putLongProperty(l, Long.MAX_VALUE);
+      props.putFloatProperty(f, 0.1f);
+      props.putDoubleProperty(d, 0.1);
+      props.putSimpleStringProperty(s, SimpleString.of("x"));
+
+      assertEquals(DataConstants.BYTE, props.getPropertyType(b));
+      assertEquals(DataConstants.INT, props.getPropertyType(i));
+      assertEquals(DataConstants.LONG, props.getPropertyType(l));
+      assertEquals(DataConstants.FLOAT, props.getPropertyType(f));
+      assertEquals(DataConstants.DOUBLE, props.getPropertyType(d));
+      assertEquals(DataConstants.STRING, props.getPropertyType(s));
+      assertEquals(DataConstants.NULL, props.getPropertyType(key));
+
+      assertEquals(-3L, props.getLongValue(b));
+      assertEquals(42L, props.getLongValue(i));
+      assertEquals(Long.MAX_VALUE, props.getLongValue(l));
+      assertEquals(0.1f, (float) props.getDoubleValue(f));
+      assertEquals(0.1, props.getDoubleValue(d));
+      assertEquals(42.0, props.getDoubleValue(i));
+      assertThrows(ActiveMQPropertyConversionException.class, () -> props.getLongValue(d));
+      assertThrows(ActiveMQPropertyConversionException.class, () -> props.getDoubleValue(s));
+      assertThrows(ActiveMQPropertyConversionException.class, () -> props.getLongValue(key));
+
+      for (SimpleString name : props.getPropertyNames()) {
+         assertEquals(TypedProperties.getType(props.getProperty(name)), props.getPropertyType(name));
+      }
+   }
+
    @Test
    public void testBytesPropertyWithNull() throws Exception {
       props.putBytesProperty(key, null);
@@ -221,6 +260,122 @@ public class TypedPropertiesTest {
       assertEquals(props.getEncodeSize(), buffer.writerIndex());
    }
 
+   @Test
+   public void testEncodeDecodeLazily() throws Exception {
+      props.putByteProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomByte());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBytes());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), null);
+      props.putBooleanProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBoolean());
+      props.putShortProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomShort());
+      props.putIntProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomInt());
+      props.putLongProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomLong());
+      props.putFloatProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomFloat());
+      props.putDoubleProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomDouble());
+      props.putCharProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomChar());
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomUUIDSimpleString());
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), null);
+
+      ByteBuf buffer = Unpooled.buffer(1024);
+      props.encode(buffer);
+      final int encodeSize = buffer.writerIndex();
+
+      TypedProperties decodedProps = new TypedProperties();
+      decodedProps.decode(buffer.duplicate(), null, true);
+
+      assertEquals(props.size(), decodedProps.size());
+      TypedPropertiesTest.assertEqualsTypeProperties(props, decodedProps);
+      assertEquals(props.toString().length(), decodedProps.toString().length());
+      assertNull(decodedProps.getProperty(RandomUtil.randomUUIDSimpleString()));
+      assertNull(decodedProps.removeProperty(RandomUtil.randomUUIDSimpleString()));
+
+      // encoded again as it was
+      ByteBuf encoded = Unpooled.buffer(encodeSize);
+      assertEquals(encodeSize, decodedProps.encode(encoded));
+      assertEquals(buffer, encoded);
+
+      decodedProps.putIntProperty(key, 1);
+      decodedProps.removeProperty(props.getPropertyNames().iterator().next());
+      props.putIntProperty(key, 1);
+      props.removeProperty(props.getPropertyNames().iterator().next());
+      TypedPropertiesTest.assertEqualsTypeProperties(props, decodedProps);
+   }
+
+   @Test
+   public void testReadLazilyDecodedProperties() throws Exception {
+      props.putIntProperty(key, 10);
+      props.putSimpleStringProperty(PROP_NAME, key);
+
+      ByteBuf buffer = Unpooled.buffer(1024);
+      props.encode(buffer);
+      TypedProperties decodedProps = new TypedProperties();
+      decodedProps.decode(buffer, null, true);
+
+      assertTrue(decodedProps.containsProperty(key));
+      assertFalse(decodedProps.containsProperty(AMQP_NAME));
+      assertEquals(DataConstants.INT, decodedProps.getPropertyType(key));
+      assertEquals(10, decodedProps.getLongValue(key));
+      assertEquals(10, decodedProps.getDoubleValue(key));
+      assertEquals(10, decodedProps.getIntProperty(key));
+      assertEquals(key, decodedProps.getSimpleStringProperty(PROP_NAME));
+      assertEquals(props.getMap(), decodedProps.getMap());
+      assertEquals(props.getMapNames(), decodedProps.getMapNames());
+      assertEquals(props.getMemoryOffset() > 0, decodedProps.getMemoryOffset() > 0);
+   }
+
+   @Test
+   public void testLookupLazilyDecodedProperties() throws Exception {
+      final int count = 100;
+      for (int i = 0; i < count; i++) {
+         props.putLongProperty(SimpleString.of("key" + i), i);
+      }
+      props.putSimpleStringProperty(PROP_NAME, key);
+
+      ByteBuf buffer = Unpooled.buffer(4096);
+      props.encode(buffer);
+      TypedProperties decodedProps = new TypedProperties();
+      decodedProps.decode(buffer, null, true);
+
+      for (int i = 0; i < count; i++) {
+         assertEquals(i, decodedProps.getLongProperty(SimpleString.of("key" + i)));
+         assertFalse(decodedProps.containsProperty(SimpleString.of("key" + (count + i))));
+      }
+      // the values are decoded once
+      assertSame(decodedProps.getSimpleStringProperty(PROP_NAME), decodedProps.getSimpleStringProperty(PROP_NAME));
+      assertEquals(props.getMap(), decodedProps.getMap());
+   }
+
+   @Test
+   public void testCopyLazilyDecodedProperties() throws Exception {
+      props.putIntProperty(key, 10);
+
+      ByteBuf buffer = Unpooled.buffer(1024);
+      props.encode(buffer);
+      TypedProperties decodedProps = new TypedProperties();
+      decodedProps.decode(buffer, null, true);
+
+      TypedProperties copy = new TypedProperties(decodedProps);
+      copy.putIntProperty(key, 20);
+      assertEquals(10, decodedProps.getIntProperty(key));
+      assertEquals(20, copy.getIntProperty(key));
+   }
+
+   @Test
+   public void testClearInternalPropertiesDecodedLazily() {
+      TypedProperties properties = new TypedProperties(PROP_NAME::equals, AMQP_NAME::equals);
+      properties.putBooleanProperty(PROP_NAME, RandomUtil.randomBoolean());
+      properties.putBooleanProperty(key, RandomUtil.randomBoolean());
+
+      ByteBuf buffer = Unpooled.buffer(1024);
+      properties.encode(buffer);
+      TypedProperties decodedProps = new TypedProperties(PROP_NAME::equals, AMQP_NAME::equals);
+      decodedProps.decode(buffer, null, true);
+
+      assertFalse(decodedProps.clearAMQPProperties());
+      assertTrue(decodedProps.clearInternalProperties());
+      assertFalse(decodedProps.containsProperty(PROP_NAME));
+      assertTrue(decodedProps.containsProperty(key));
+   }
+
    @Test
    public void testEncodeDecodeEmpty() throws Exception {
       TypedProperties emptyProps = new TypedProperties();
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.junit.jupiter.api.Test;
+
+public class SimpleStringHashMapTest {
+
+   private final SimpleStringHashMap<Integer> map = new SimpleStringHashMap<>();
+
+   @Test
+   public void putGetRemove() {
+      final SimpleString key = SimpleString.of("key");
+      assertNull(map.put(key, 1));
+      assertEquals(1, map.get(SimpleString.of("key")));
+      assertEquals(1, map.put(SimpleString.of("key"), 2));
+      assertEquals(1, map.size());
+      assertEquals(2, map.putIfAbsent(key, 3));
+      assertEquals(2, map.get(key));
+      assertEquals(2, map.remove(key));
+      assertNull(map.get(key));
+      assertTrue(map.isEmpty());
+   }
+
+   @Test
+   public void removeOnlyIfCurrentValue() {
+      final SimpleString key = SimpleString.of("key");
+      final Integer first = 1000;
+      final Integer second = 2000;
+      map.put(key, first);
+      map.put(key, second);
+      assertFalse(map.remove(key, first));
+      assertSame(second, map.get(key));
+      assertTrue(map.remove(key, second));
+      assertFalse(map.containsKey(key));
+   }
+
+   @Test
+   public void growsAndKeepsEntries() {
+      final int entries = 10_000;
+      for (int i = 0; i < entries; i++) {
+         map.put(SimpleString.of("key" + i), i);
+      }
+      assertEquals(entries, map.size());
+      assertTrue(map.capacity() >= entries);
+      for (int i = 0; i < entries; i++) {
+         assertEquals(i, map.get(SimpleString.of("key" + i)));
+      }
+      assertEquals(entries, map.keySet().size());
+      map.clear();
+      assertTrue(map.isEmpty());
+      assertNull(map.get(SimpleString.of("key0")));
+   }
+
+   @Test
+   public void randomOperationsMatchHashMap() {
+      final Random random = new Random(0);
+      final Map<SimpleString, Integer> expected = new HashMap<>();
+      for (int i = 0; i < 100_000; i++) {
+         // a small key space forces collisions, replacements and chain compaction on removal
+         final SimpleString key = SimpleString.of("k" + random.nextInt(500));
+         if (random.nextInt(3) == 0) {
+            assertEquals(expected.remove(key), map.remove(key));
+         } else {
+            assertEquals(expected.put(key, i), map.put(key, i));
+         }
+         assertEquals(expected.size(), map.size());
+      }
+      expected.forEach((k, v) -> assertEquals(v, map.get(k)));
+      map.forEach((k, v) -> assertEquals(expected.get(k), v));
+   }
+}
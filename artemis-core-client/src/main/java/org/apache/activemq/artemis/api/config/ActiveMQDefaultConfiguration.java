@@ -235,6 +235,9 @@ public final class ActiveMQDefaultConfiguration {
    // true means that ID's are persisted to the journal
    private static boolean DEFAULT_PERSIST_ID_CACHE = true;
 
+   // the number of target queues from which a routed message is added to its queues in parallel, -1 to disable it
+   private static int DEFAULT_PARALLEL_FAN_OUT_THRESHOLD = -1;
+
    // True means that the delivery count is persisted before delivery. False means that this only happens after a message has been cancelled.
    private static boolean DEFAULT_PERSIST_DELIVERY_COUNT_BEFORE_DELIVERY = false;
 
@@ -994,6 +997,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_PERSIST_ID_CACHE;
    }
 
+   /**
+    * the number of target queues from which a routed message is added to its queues in parallel, -1 to disable it
+    */
+   public static int getDefaultParallelFanOutThreshold() {
+      return DEFAULT_PARALLEL_FAN_OUT_THRESHOLD;
+   }
+
    /**
     * {@code true} means that the delivery count is persisted before delivery. False means that this only happens after
     * a message has been cancelled.
@@ -27,6 +27,7 @@ import java.util.function.Predicate;
 import io.netty.buffer.ByteBuf;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
 import org.apache.activemq.artemis.core.persistence.Persister;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
 
 /**
  * A Message is a routable instance that has a payload.
@@ -331,6 +332,14 @@ public interface Message {
     */
    Message copy(long newID);
 
+   /**
+    * Same as {@link #copy(long)}, but the copy may share the body of this message until either of them writes it. It is
+    * meant for copies that only change headers and properties, e.g. diverted messages.
+    */
+   default Message copyOnWrite(long newID) {
+      return copy(newID);
+   }
+
    /**
     * It will generate a new instance of the message encode, being a deep copy, new properties, new everything
     */
@@ -693,6 +702,32 @@ public interface Message {
       return getObjectProperty(key);
    }
 
+   /**
+    * {@return the type of the value {@link #getObjectPropertyForFilter(SimpleString)} returns for {@code key}, as
+    * defined by {@link TypedProperties#getType(Object)}}
+    * <p>
+    * Filters use it, together with {@link #getLongPropertyForFilter(SimpleString)} and
+    * {@link #getDoublePropertyForFilter(SimpleString)}, to read the numeric properties without boxing them.
+    */
+   default byte getPropertyTypeForFilter(SimpleString key) {
+      return TypedProperties.getType(getObjectPropertyForFilter(key));
+   }
+
+   /**
+    * Reads a property {@link #getPropertyTypeForFilter(SimpleString)} reports as a {@code byte}, {@code short},
+    * {@code int} or {@code long}.
+    */
+   default long getLongPropertyForFilter(SimpleString key) {
+      return ((Number) getObjectPropertyForFilter(key)).longValue();
+   }
+
+   /**
+    * Reads a property {@link #getPropertyTypeForFilter(SimpleString)} reports as a number.
+    */
+   default double getDoublePropertyForFilter(SimpleString key) {
+      return ((Number) getObjectPropertyForFilter(key)).doubleValue();
+   }
+
    Object getObjectProperty(SimpleString key);
 
    default Object removeAnnotation(SimpleString key) {
@@ -285,6 +285,12 @@ public interface QueueControl {
    @Attribute(desc = "last value key")
    String getLastValueKey();
 
+   /**
+    * {@return number of distinct last value keys currently held by a last value queue}
+    */
+   @Attribute(desc = "number of distinct last value keys currently held by a last value queue")
+   int getLastValueKeyCount();
+
    /**
     * {@return the Consumers Before Dispatch}
     */
@@ -586,6 +592,25 @@ public interface QueueControl {
    int changeMessagesPriority(@Parameter(name = "filter", desc = "A message filter (can be empty)") String filter,
                               @Parameter(name = "newPriority", desc = "the new priority (between 0 and 9)") int newPriority) throws Exception;
 
+   /**
+    * Bulk operations (removing, moving, expiring, retrying... the messages matching a filter) iterate the queue in
+    * chunks, letting deliveries proceed between chunks. Only one of them runs at a time on a given queue.
+    *
+    * @return a JSON object with the name, start time, number of scanned and affected messages of the bulk operation
+    * currently running on this queue, or {@code null} if there is none
+    */
+   @Attribute(desc = "the bulk operation (remove, move, expire... messages) currently running on this queue as JSON")
+   String getRunningOperation();
+
+   /**
+    * Cancels the bulk operation currently running on this queue. The operation stops at the end of its current chunk
+    * and the messages it already processed are not restored.
+    *
+    * @return {@code true} if there was an operation to cancel
+    */
+   @Operation(desc = "Cancel the bulk operation (remove, move, expire... messages) currently running on this queue", impact = MBeanOperationInfo.ACTION)
+   boolean cancelRunningOperation() throws Exception;
+
    /**
     * Lists the message counter for this queue.
     */
@@ -61,6 +61,18 @@ public class ClientMessageImpl extends CoreMessage implements ClientMessageInter
       super(other);
    }
 
+   private ClientMessageImpl(CoreMessage other) {
+      super(other, true);
+   }
+
+   /**
+    * {@return a client message sharing the body of {@code message} until either of them writes it, e.g. for a message
+    * delivered by a broker in the same JVM}
+    */
+   public static ClientMessageImpl copyOnWrite(CoreMessage message) {
+      return new ClientMessageImpl(message);
+   }
+
    @Override
    public ClientMessageImpl setDurable(boolean durable) {
       super.setDurable(durable);
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
 import io.netty.buffer.ByteBuf;
@@ -82,6 +83,25 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    private volatile boolean validBuffer = false;
 
+   /**
+    * Whether the body in {@link #buffer} is shared with other messages (see {@link #copyOnWrite(long)}): it must not be
+    * written in place.
+    */
+   private volatile boolean bodyShared = false;
+
+   /**
+    * A direct copy of the body in {@link #buffer}, shared by the deliveries of this message being written (see
+    * {@link #sendBufferSharingBody(ByteBuf)}) until the message changes. The message holds a reference to it, released
+    * by {@link #releaseSharedBody()} when the message changes or is released.
+    */
+   private ByteBuf sharedBody;
+
+   /**
+    * Allocates {@link #sharedBody} from {@link ByteBuffer#allocateDirect(int)}, so a copy of a message never released is
+    * still freed by the garbage collector.
+    */
+   private static final UnpooledByteBufAllocator SHARED_BODY_ALLOCATOR = new UnpooledByteBufAllocator(true, false, false);
+
    protected volatile ResetLimitWrappedActiveMQBuffer writableBuffer;
 
    protected int endOfBodyPosition = -1;
@@ -179,6 +199,8 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    public CoreMessage initBuffer(final int initialMessageBufferSize) {
       buffer = Unpooled.buffer(initialMessageBufferSize);
+      bodyShared = false;
+      releaseSharedBody();
 
       // There's a bug in netty which means a dynamic buffer won't resize until you write a byte
       buffer.writeByte((byte) 0);
@@ -227,6 +249,8 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    public void receiveBuffer(ByteBuf buffer) {
       this.buffer = buffer;
       this.buffer.retain();
+      bodyShared = false;
+      releaseSharedBody();
       decode(false);
    }
 
@@ -237,6 +261,8 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    public void receiveBuffer_1X(ByteBuf buffer) {
       this.buffer = buffer;
       this.buffer.retain();
+      bodyShared = false;
+      releaseSharedBody();
       decode(true);
       validBuffer = false;
    }
@@ -314,6 +340,51 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       return buffer;
    }
 
+   /**
+    * Deflates the body of this message if it has at least {@code threshold} bytes and deflates to fewer bytes, marking
+    * it as compressed the way a producer compressing large messages does: core clients inflate it when they receive it
+    * and {@link #getDataBuffer()} inflates it on the broker.
+    *
+    * @return {@code true} if the body was compressed
+    */
+   public synchronized boolean compressBody(int threshold) {
+      if (buffer == null || isLargeMessage() || containsProperty(Message.HDR_LARGE_COMPRESSED)) {
+         return false;
+      }
+      checkEncode();
+      final int bodySize = endOfBodyPosition - BUFFER_HEADER_SPACE;
+      if (bodySize <= 0 || bodySize < threshold) {
+         return false;
+      }
+      final byte[] body = new byte[bodySize];
+      buffer.getBytes(BODY_OFFSET, body);
+      final byte[] compressed = new byte[bodySize];
+      final int compressedSize;
+      final Deflater deflater = new Deflater();
+      try {
+         deflater.setInput(body);
+         deflater.finish();
+         compressedSize = deflater.deflate(compressed);
+         if (!deflater.finished() || compressedSize >= bodySize) {
+            return false;
+         }
+      } finally {
+         deflater.end();
+      }
+      // the headers and properties are appended on encode
+      final ByteBuf compressedBuffer = Unpooled.buffer(BODY_OFFSET + compressedSize);
+      compressedBuffer.writeInt(0);
+      compressedBuffer.writeBytes(compressed, 0, compressedSize);
+      buffer = compressedBuffer;
+      bodyShared = false;
+      writableBuffer = null;
+      endOfBodyPosition = compressedSize + BUFFER_HEADER_SPACE;
+      putBooleanProperty(Message.HDR_LARGE_COMPRESSED, true);
+      putLongProperty(Message.HDR_LARGE_BODY_SIZE, bodySize);
+      memoryEstimate = -1;
+      return true;
+   }
+
    @Override
    public SimpleString getGroupID() {
       return this.getSimpleStringProperty(Message.HDR_GROUP_ID);
@@ -359,6 +430,38 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       sendBuffer.writeBytes(buffer, 0, buffer.writerIndex());
    }
 
+   /**
+    * Writes the encoding of this message like {@link #sendBuffer(ByteBuf, int)} does, but for its body: rather than
+    * copying it to {@code sendBuffer}, it returns a slice of a direct copy of the body, which must be sent before
+    * {@code sendBuffer}. The copy is shared by the calls until the message changes.
+    *
+    * @return the body to send, to release once sent
+    */
+   public synchronized ByteBuf sendBufferSharingBody(ByteBuf sendBuffer) {
+      checkEncode();
+      final int bodyEnd = endOfBodyPosition - BUFFER_HEADER_SPACE + DataConstants.SIZE_INT;
+      sendBuffer.writeBytes(buffer, bodyEnd, buffer.writerIndex() - bodyEnd);
+      ByteBuf sharedBody = this.sharedBody;
+      if (sharedBody == null) {
+         sharedBody = SHARED_BODY_ALLOCATOR.directBuffer(bodyEnd, bodyEnd);
+         sharedBody.writeBytes(buffer, 0, bodyEnd);
+         this.sharedBody = sharedBody;
+      }
+      return sharedBody.retainedDuplicate();
+   }
+
+   /**
+    * Releases the reference of this message to {@link #sharedBody}: the copy is freed once the deliveries still
+    * sharing it are written too.
+    */
+   private synchronized void releaseSharedBody() {
+      final ByteBuf sharedBody = this.sharedBody;
+      if (sharedBody != null) {
+         this.sharedBody = null;
+         sharedBody.release();
+      }
+   }
+
    /**
     * Recast the message as an 1.4 message
     */
@@ -415,11 +518,27 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       // if using the writable buffer, we must parse properties
       getProperties();
 
+      if (bodyShared) {
+         unshareBody();
+      }
+
       internalWritableBuffer();
 
       return writableBuffer;
    }
 
+   /**
+    * Takes a copy of the body shared with other messages, before it is written.
+    */
+   private synchronized void unshareBody() {
+      if (bodyShared) {
+         checkEncode();
+         buffer = buffer.copy(0, buffer.writerIndex());
+         writableBuffer = null;
+         bodyShared = false;
+      }
+   }
+
    private void internalWritableBuffer() {
       if (writableBuffer == null) {
          synchronized (this) {
@@ -449,6 +568,12 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       if (validBuffer) {
          validBuffer = false;
       }
+      releaseSharedBody();
+   }
+
+   @Override
+   protected void releaseComplete() {
+      releaseSharedBody();
    }
 
    protected CoreMessage(CoreMessage other) {
@@ -466,6 +591,23 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    }
 
    protected CoreMessage(CoreMessage other, TypedProperties copyProperties) {
+      this(other, copyProperties, false);
+   }
+
+   /**
+    * Copies {@code other}, sharing its body until either message writes it, as {@link #copyOnWrite(long)} does.
+    */
+   protected CoreMessage(CoreMessage other, boolean shareBody) {
+      this(prepareCopy(other), other.properties, shareBody);
+   }
+
+   private static CoreMessage prepareCopy(CoreMessage message) {
+      message.getProperties();
+      message.checkEncode();
+      return message;
+   }
+
+   private CoreMessage(CoreMessage other, TypedProperties copyProperties, boolean shareBody) {
       // This MUST be synchronized using the monitor on the other message to prevent it running concurrently
       // with getEncodedBuffer(), otherwise can introduce race condition when delivering concurrently to
       // many subscriptions and bridging to other nodes in a cluster
@@ -484,7 +626,15 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
             this.properties = new TypedProperties(copyProperties);
          }
          if (other.buffer != null) {
-            this.buffer = other.buffer.copy();
+            if (shareBody) {
+               // the headers and properties of this message will be encoded in a buffer of their own, after the body
+               final int bodyEnd = other.endOfBodyPosition - BUFFER_HEADER_SPACE + DataConstants.SIZE_INT;
+               this.buffer = Unpooled.compositeBuffer().addComponent(true, other.buffer.slice(0, bodyEnd));
+               this.bodyShared = true;
+               other.bodyShared = true;
+            } else {
+               this.buffer = other.buffer.copy();
+            }
          }
       }
    }
@@ -525,6 +675,23 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       return copy().setMessageID(newID);
    }
 
+   @Override
+   public Message copyOnWrite(long newID) {
+      if (getClass() != CoreMessage.class) {
+         // large and client messages have copy semantics of their own
+         return copy(newID);
+      }
+      return copyOnWrite().setMessageID(newID);
+   }
+
+   /**
+    * Same as {@link #copyOnWrite(long)}, but keeping the message ID, and the copy is a plain {@link CoreMessage}
+    * whatever the class of this message is, e.g. to hand over a client message to a broker in the same JVM.
+    */
+   public CoreMessage copyOnWrite() {
+      return new CoreMessage(this, true);
+   }
+
    @Override
    public long getExpiration() {
       return expiration;
@@ -638,7 +805,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
             properties = new TypedProperties(INTERNAL_PROPERTY_NAMES_PREDICATE, AMQP_PROPERTY_PREDICATE);
             if (buffer != null && propertiesLocation >= 0) {
                final ByteBuf byteBuf = buffer.duplicate().readerIndex(propertiesLocation);
-               properties.decode(byteBuf, coreMessageObjectPools == null ? null : coreMessageObjectPools.getPropertiesDecoderPools());
+               properties.decode(byteBuf, coreMessageObjectPools == null ? null : coreMessageObjectPools.getPropertiesDecoderPools(), true);
             }
             this.properties = properties;
          }
@@ -768,7 +935,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
          endOfBodyPosition = BUFFER_HEADER_SPACE + DataConstants.SIZE_INT;
       }
 
-      buffer.setInt(0, endOfBodyPosition);
+      if (!bodyShared) {
+         // a shared body is never changed, so its size is already there
+         buffer.setInt(0, endOfBodyPosition);
+      }
       // The end of body position
       buffer.setIndex(0, endOfBodyPosition - BUFFER_HEADER_SPACE + DataConstants.SIZE_INT);
 
@@ -884,6 +1054,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    @Override
    public CoreMessage setBuffer(ByteBuf buffer) {
       this.buffer = buffer;
+      releaseSharedBody();
 
       return this;
    }
@@ -1108,6 +1279,21 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       return getProperties().getProperty(key);
    }
 
+   @Override
+   public byte getPropertyTypeForFilter(final SimpleString key) {
+      return getProperties().getPropertyType(key);
+   }
+
+   @Override
+   public long getLongPropertyForFilter(final SimpleString key) {
+      return getProperties().getLongValue(key);
+   }
+
+   @Override
+   public double getDoublePropertyForFilter(final SimpleString key) {
+      return getProperties().getDoubleValue(key);
+   }
+
    @Override
    public CoreMessage putObjectProperty(final String key, final Object value) throws ActiveMQPropertyConversionException {
       return putObjectProperty(key(key), value);
@@ -33,7 +33,15 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SES
 public class ClientPacketDecoder extends PacketDecoder {
 
    private static final long serialVersionUID = 6952614096979334582L;
-   protected final CoreMessageObjectPools coreMessageObjectPools = new CoreMessageObjectPools();
+   protected final CoreMessageObjectPools coreMessageObjectPools;
+
+   public ClientPacketDecoder() {
+      this(new CoreMessageObjectPools());
+   }
+
+   protected ClientPacketDecoder(CoreMessageObjectPools coreMessageObjectPools) {
+      this.coreMessageObjectPools = coreMessageObjectPools;
+   }
 
    @Override
    public Packet decode(final ActiveMQBuffer in, CoreRemotingConnection connection) {
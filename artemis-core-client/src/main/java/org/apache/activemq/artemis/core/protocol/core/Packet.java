@@ -89,6 +89,19 @@ public interface Packet {
     */
    boolean isRequiresConfirmations();
 
+   /**
+    * Prepares this packet to be passed by reference rather than encoded, to the other end of a connection within the
+    * same JVM (see {@link org.apache.activemq.artemis.spi.core.remoting.Connection#isPassingByReference()}). The
+    * returned packet must not share any state the sender could still change, and both packets must then report the
+    * same {@link #getPacketSize() size}, as the flow control of the two ends depends on it.
+    *
+    * @return the packet to be handled by the other end in place of this one, or {@code null} if this packet has to be
+    * encoded
+    */
+   default Packet passByReference() {
+      return null;
+   }
+
    /**
     * The packet wasn't used because the stream is closed. This gives a chance to sub classes to cleanup anything that
     * won't be used.
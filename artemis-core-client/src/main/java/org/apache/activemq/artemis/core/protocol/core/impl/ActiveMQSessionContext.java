@@ -128,6 +128,8 @@ import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
 import org.apache.activemq.artemis.spi.core.remoting.SessionContext;
 import org.apache.activemq.artemis.utils.TokenBucketLimiterImpl;
+import org.apache.activemq.artemis.utils.pools.MpmcPool;
+import org.apache.activemq.artemis.utils.pools.Pool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -141,12 +143,20 @@ public class ActiveMQSessionContext extends SessionContext {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   private static final int MAX_CACHED_PACKETS = 32;
+
    private final Channel sessionChannel;
    private final int serverVersion;
    private int confirmationWindow;
    private String name;
    private boolean killed;
 
+   // acknowledgements and credits are sent by the consumers and the flow control of this session on any thread
+   private final Pool<SessionAcknowledgeMessage> poolAcknowledge;
+   private final Pool<SessionIndividualAcknowledgeMessage> poolIndividualAcknowledge;
+   private final Pool<SessionConsumerFlowCreditMessage> poolConsumerCredits;
+   private final Pool<SessionRequestProducerCreditsMessage> poolProducerCredits;
+
    public Channel getSessionChannel() {
       return sessionChannel;
    }
@@ -177,6 +187,13 @@ public class ActiveMQSessionContext extends SessionContext {
       this.serverVersion = serverVersion;
       this.confirmationWindow = confirmationWindow;
 
+      // no confirmation window size means no resend cache, hence a packet isn't referenced once sent
+      final int maxCachedPackets = confirmationWindow < 0 ? MAX_CACHED_PACKETS : 0;
+      poolAcknowledge = new MpmcPool<>(maxCachedPackets, packet -> { }, SessionAcknowledgeMessage::new);
+      poolIndividualAcknowledge = new MpmcPool<>(maxCachedPackets, packet -> { }, SessionIndividualAcknowledgeMessage::new);
+      poolConsumerCredits = new MpmcPool<>(maxCachedPackets, packet -> { }, SessionConsumerFlowCreditMessage::new);
+      poolProducerCredits = new MpmcPool<>(maxCachedPackets, packet -> { }, SessionRequestProducerCreditsMessage::new);
+
       ChannelHandler handler = new ClientSessionPacketHandler();
       sessionChannel.setHandler(handler);
 
@@ -459,7 +476,9 @@ public class ActiveMQSessionContext extends SessionContext {
 
    @Override
    public void sendConsumerCredits(final ClientConsumer consumer, final int credits) {
-      sessionChannel.send(new SessionConsumerFlowCreditMessage(getConsumerID(consumer), credits));
+      final SessionConsumerFlowCreditMessage packet = poolConsumerCredits.borrow().reset(getConsumerID(consumer), credits);
+      sessionChannel.send(packet);
+      poolConsumerCredits.release(packet);
    }
 
    @Override
@@ -547,7 +566,9 @@ public class ActiveMQSessionContext extends SessionContext {
 
    @Override
    public void sendProducerCreditsMessage(final int credits, final SimpleString address) {
-      sessionChannel.send(new SessionRequestProducerCreditsMessage(credits, address));
+      final SessionRequestProducerCreditsMessage packet = poolProducerCredits.borrow().reset(credits, address);
+      sessionChannel.send(packet);
+      poolProducerCredits.release(packet);
    }
 
    /**
@@ -625,17 +646,22 @@ public class ActiveMQSessionContext extends SessionContext {
                        boolean block,
                        final ClientConsumer consumer,
                        final Message message) throws ActiveMQException {
-      PacketImpl messagePacket;
-      if (individual) {
-         messagePacket = new SessionIndividualAcknowledgeMessage(getConsumerID(consumer), message.getMessageID(), block);
-      } else {
-         messagePacket = new SessionAcknowledgeMessage(getConsumerID(consumer), message.getMessageID(), block);
-      }
-
       if (block) {
+         PacketImpl messagePacket;
+         if (individual) {
+            messagePacket = new SessionIndividualAcknowledgeMessage(getConsumerID(consumer), message.getMessageID(), true);
+         } else {
+            messagePacket = new SessionAcknowledgeMessage(getConsumerID(consumer), message.getMessageID(), true);
+         }
          sessionChannel.sendBlocking(messagePacket, PacketImpl.NULL_RESPONSE);
+      } else if (individual) {
+         final SessionIndividualAcknowledgeMessage messagePacket = poolIndividualAcknowledge.borrow().reset(getConsumerID(consumer), message.getMessageID(), false);
+         sessionChannel.sendBatched(messagePacket);
+         poolIndividualAcknowledge.release(messagePacket);
       } else {
+         final SessionAcknowledgeMessage messagePacket = poolAcknowledge.borrow().reset(getConsumerID(consumer), message.getMessageID(), false);
          sessionChannel.sendBatched(messagePacket);
+         poolAcknowledge.release(messagePacket);
       }
    }
 
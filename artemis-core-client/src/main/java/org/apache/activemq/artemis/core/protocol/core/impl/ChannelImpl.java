@@ -272,7 +272,9 @@ public final class ChannelImpl implements Channel {
             logger.trace("RemotingConnectionID={} Sending packet nonblocking {} on channelID={}", connection.getID(), packet, id);
          }
 
-         ActiveMQBuffer buffer = packet.encode(connection);
+         final Packet received = passByReference(packet);
+
+         final ActiveMQBuffer buffer = received == null ? packet.encode(connection) : null;
 
          lock.lock();
 
@@ -313,7 +315,11 @@ public final class ChannelImpl implements Channel {
          // The actual send must be outside the lock, or with OIO transport, the write can block if the tcp
          // buffer is full, preventing any incoming buffers being handled and blocking failover
          try {
-            connection.getTransportConnection().write(buffer, flushConnection);
+            if (received != null) {
+               connection.getTransportConnection().write(received, flushConnection);
+            } else {
+               connection.getTransportConnection().write(buffer, flushConnection);
+            }
          } catch (Throwable t) {
             //If runtime exception, we must remove from the cache to avoid filling up the cache causing it to be full.
             //The client would get still know about this as the exception bubbles up the call stack instead.
@@ -389,7 +395,9 @@ public final class ChannelImpl implements Channel {
             logger.trace("RemotingConnectionID={} Sending packet nonblocking {} on channelID={}", connection.getID(), packet, id);
          }
 
-         ActiveMQBuffer buffer = packet.encode(connection);
+         final Packet received = passByReference(packet);
+
+         final ActiveMQBuffer buffer = received == null ? packet.encode(connection) : null;
 
          lock.lock();
 
@@ -432,7 +440,7 @@ public final class ChannelImpl implements Channel {
          // The actual send must be outside the lock, or with OIO transport, the write can block if the tcp
          // buffer is full, preventing any incoming buffers being handled and blocking failover
          try {
-            connection.getTransportConnection().write(buffer, flush, batch);
+            write(received, buffer, flush, batch);
          } catch (Throwable t) {
             //If runtime exception, we must remove from the cache to avoid filling up the cache causing it to be full.
             //The client would get still know about this as the exception bubbles up the call stack instead.
@@ -508,7 +516,9 @@ public final class ChannelImpl implements Channel {
 
          packet.setCorrelationID(blockingCorrelationID.decrementAndGet());
 
-         final ActiveMQBuffer buffer = packet.encode(connection);
+         final Packet received = passByReference(packet);
+
+         final ActiveMQBuffer buffer = received == null ? packet.encode(connection) : null;
 
          lock.lock();
 
@@ -529,7 +539,7 @@ public final class ChannelImpl implements Channel {
                logger.trace("RemotingConnectionID={} Sending blocking {}", connection.getID(), packet);
             }
 
-            connection.getTransportConnection().write(buffer, false, false);
+            write(received, buffer, false, false);
 
             long toWait = timeout;
 
@@ -857,10 +867,25 @@ public final class ChannelImpl implements Channel {
    }
 
    private void doWrite(final Packet packet) {
-      final ActiveMQBuffer buffer = packet.encode(connection);
+      final Packet received = passByReference(packet);
 
-      connection.getTransportConnection().write(buffer, false, false);
+      write(received, received == null ? packet.encode(connection) : null, false, false);
+   }
 
+   /**
+    * {@return the packet to write in place of {@code packet} if the transport connection passes the packets by
+    * reference and {@code packet} can be, or {@code null} if {@code packet} has to be encoded}
+    */
+   private Packet passByReference(final Packet packet) {
+      return connection.getTransportConnection().isPassingByReference() ? packet.passByReference() : null;
+   }
+
+   private void write(final Packet received, final ActiveMQBuffer buffer, final boolean flush, final boolean batch) {
+      if (received != null) {
+         connection.getTransportConnection().write(received, flush);
+      } else {
+         connection.getTransportConnection().write(buffer, flush, batch);
+      }
    }
 
    private void addResendPacket(Packet packet) {
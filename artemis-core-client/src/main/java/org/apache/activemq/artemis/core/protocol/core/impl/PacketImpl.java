@@ -435,6 +435,19 @@ public class PacketImpl implements Packet {
       return true;
    }
 
+   /**
+    * Completes {@link #passByReference()}: {@code received}, which may be this packet itself if none of its state
+    * changes once sent, gets the channel of this packet and both get the size this packet is expected to be encoded in.
+    *
+    * @return {@code received}
+    */
+   protected final <P extends PacketImpl> P passedByReference(final P received) {
+      size = expectedEncodeSize();
+      received.size = size;
+      received.channelID = channelID;
+      return received;
+   }
+
    /**
     * extensions of this class are supposed to use getPacketString to provide toString functionality
     */
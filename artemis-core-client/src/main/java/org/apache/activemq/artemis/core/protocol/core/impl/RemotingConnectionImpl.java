@@ -387,6 +387,22 @@ public class RemotingConnectionImpl extends AbstractRemotingConnection implement
       }
    }
 
+   @Override
+   public void packetReceived(final Object connectionID, final Packet packet) {
+      try {
+         if (logger.isTraceEnabled()) {
+            logger.trace("RemotingConnectionID={} handling packet passed by reference {}", getID(), packet);
+         }
+
+         doBufferReceived(packet);
+
+         dataReceived = true;
+      } catch (Throwable e) {
+         ActiveMQClientLogger.LOGGER.errorDecodingPacket(e);
+         throw new IllegalStateException(e);
+      }
+   }
+
    @Override
    public void endOfBatch(Object connectionID) {
       super.endOfBatch(connectionID);
@@ -34,6 +34,12 @@ public class NullResponseMessage extends PacketImpl {
       return PACKET_HEADERS_SIZE;
    }
 
+   @Override
+   public NullResponseMessage passByReference() {
+      // the responses are pooled, see reset()
+      return passedByReference(new NullResponseMessage());
+   }
+
    public void reset() {
       size = 0;
       channelID = 0;
@@ -63,6 +63,11 @@ public class NullResponseMessage_V2 extends NullResponseMessage {
       return super.expectedEncodeSize() + DataConstants.SIZE_LONG;
    }
 
+   @Override
+   public NullResponseMessage_V2 passByReference() {
+      return passedByReference(new NullResponseMessage_V2(correlationID));
+   }
+
    @Override
    public final boolean isResponse() {
       return true;
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionAcknowledgeMessage extends PacketImpl {
 
@@ -41,6 +42,23 @@ public class SessionAcknowledgeMessage extends PacketImpl {
       super(SESS_ACKNOWLEDGE);
    }
 
+   /**
+    * Reuses this packet, once sent, to acknowledge {@code messageID}.
+    *
+    * @return this packet
+    */
+   public SessionAcknowledgeMessage reset(final long consumerID, final long messageID, final boolean requiresResponse) {
+      size = -1;
+
+      this.consumerID = consumerID;
+
+      this.messageID = messageID;
+
+      this.requiresResponse = requiresResponse;
+
+      return this;
+   }
+
    public long getConsumerID() {
       return consumerID;
    }
@@ -54,6 +72,11 @@ public class SessionAcknowledgeMessage extends PacketImpl {
       return requiresResponse;
    }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_LONG + DataConstants.SIZE_LONG + DataConstants.SIZE_BOOLEAN;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeLong(consumerID);
@@ -72,6 +95,12 @@ public class SessionAcknowledgeMessage extends PacketImpl {
       requiresResponse = buffer.readBoolean();
    }
 
+   @Override
+   public SessionAcknowledgeMessage passByReference() {
+      // the acknowledgements are pooled, see reset()
+      return passedByReference(new SessionAcknowledgeMessage(consumerID, messageID, requiresResponse));
+   }
+
    @Override
    public int hashCode() {
       final int prime = 31;
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionConsumerFlowCreditMessage extends PacketImpl {
 
@@ -34,6 +35,18 @@ public class SessionConsumerFlowCreditMessage extends PacketImpl {
       super(SESS_FLOWTOKEN);
    }
 
+   /**
+    * Reuses this packet, once sent, to send {@code credits} more to a consumer.
+    *
+    * @return this packet
+    */
+   public SessionConsumerFlowCreditMessage reset(final long consumerID, final int credits) {
+      size = -1;
+      this.consumerID = consumerID;
+      this.credits = credits;
+      return this;
+   }
+
    public long getConsumerID() {
       return consumerID;
    }
@@ -42,6 +55,11 @@ public class SessionConsumerFlowCreditMessage extends PacketImpl {
       return credits;
    }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_LONG + DataConstants.SIZE_INT;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeLong(consumerID);
@@ -54,6 +72,12 @@ public class SessionConsumerFlowCreditMessage extends PacketImpl {
       credits = buffer.readInt();
    }
 
+   @Override
+   public SessionConsumerFlowCreditMessage passByReference() {
+      // the credits are pooled, see reset()
+      return passedByReference(new SessionConsumerFlowCreditMessage(consumerID, credits));
+   }
+
    @Override
    protected String getPacketString() {
       return super.getPacketString() + ", consumerID=" + consumerID + ", credits=" + credits;
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionIndividualAcknowledgeMessage extends PacketImpl {
 
@@ -45,6 +46,23 @@ public class SessionIndividualAcknowledgeMessage extends PacketImpl {
       super(SESS_INDIVIDUAL_ACKNOWLEDGE);
    }
 
+   /**
+    * Reuses this packet, once sent, to acknowledge {@code messageID}.
+    *
+    * @return this packet
+    */
+   public SessionIndividualAcknowledgeMessage reset(final long consumerID, final long messageID, final boolean requiresResponse) {
+      size = -1;
+
+      this.consumerID = consumerID;
+
+      this.messageID = messageID;
+
+      this.requiresResponse = requiresResponse;
+
+      return this;
+   }
+
    public long getConsumerID() {
       return consumerID;
    }
@@ -58,6 +76,11 @@ public class SessionIndividualAcknowledgeMessage extends PacketImpl {
       return requiresResponse;
    }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_LONG + DataConstants.SIZE_LONG + DataConstants.SIZE_BOOLEAN;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeLong(consumerID);
@@ -76,6 +99,12 @@ public class SessionIndividualAcknowledgeMessage extends PacketImpl {
       requiresResponse = buffer.readBoolean();
    }
 
+   @Override
+   public SessionIndividualAcknowledgeMessage passByReference() {
+      // the acknowledgements are pooled, see reset()
+      return passedByReference(new SessionIndividualAcknowledgeMessage(consumerID, messageID, requiresResponse));
+   }
+
    @Override
    public int hashCode() {
       final int prime = 31;
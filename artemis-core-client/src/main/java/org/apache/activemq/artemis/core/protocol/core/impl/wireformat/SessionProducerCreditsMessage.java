@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionProducerCreditsMessage extends PacketImpl {
 
@@ -46,6 +47,11 @@ public class SessionProducerCreditsMessage extends PacketImpl {
       return address;
    }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_INT + SimpleString.sizeofString(address);
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeInt(credits);
@@ -58,6 +64,11 @@ public class SessionProducerCreditsMessage extends PacketImpl {
       address = buffer.readSimpleString();
    }
 
+   @Override
+   public SessionProducerCreditsMessage passByReference() {
+      return passedByReference(this);
+   }
+
    @Override
    public int hashCode() {
       final int prime = 31;
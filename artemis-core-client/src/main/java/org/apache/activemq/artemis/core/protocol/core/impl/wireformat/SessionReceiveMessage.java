@@ -19,11 +19,20 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 import io.netty.buffer.ByteBuf;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
+import org.apache.activemq.artemis.core.client.impl.ClientMessageImpl;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionReceiveMessage extends MessagePacket {
 
+   /**
+    * The size from which the body of a message delivered to more than one queue is shared by its deliveries rather
+    * than copied for each of them, see {@link CoreMessage#sendBufferSharingBody(ByteBuf)}.
+    */
+   public static final int SHARED_BODY_MIN_SIZE = 1024;
+
    protected long consumerID;
 
    protected int deliveryCount;
@@ -54,6 +63,31 @@ public class SessionReceiveMessage extends MessagePacket {
       return message.getEncodeSize() + PACKET_HEADERS_SIZE + DataConstants.SIZE_LONG + DataConstants.SIZE_INT;
    }
 
+   @Override
+   public ActiveMQBuffer encode(final CoreRemotingConnection connection) {
+      if (!isSharingBody(connection)) {
+         return super.encode(connection);
+      }
+      final ActiveMQBuffer header = connection.createTransportBuffer(PACKET_HEADERS_SIZE);
+      encodeHeader(header);
+      final ActiveMQBuffer rest = connection.createTransportBuffer(message.getHeadersAndPropertiesEncodeSize() + DataConstants.SIZE_LONG + DataConstants.SIZE_INT);
+      final ByteBuf body = ((CoreMessage) message).sendBufferSharingBody(rest.byteBuf());
+      rest.writeLong(consumerID);
+      rest.writeInt(deliveryCount);
+      final ByteBuf headerBytes = header.byteBuf();
+      final ActiveMQBuffer buffer = new ChannelBufferWrapper(headerBytes.alloc().compositeDirectBuffer(3).addComponents(true, headerBytes, body, rest.byteBuf()), true);
+      encodeSize(buffer);
+      return buffer;
+   }
+
+   private boolean isSharingBody(final CoreRemotingConnection connection) {
+      // the 1.x encoding rewrites the body
+      return getClass() == SessionReceiveMessage.class && connection != null &&
+         connection.getTransportConnection().isReleasingWrittenBuffers() &&
+         message instanceof CoreMessage coreMessage && coreMessage.getRefCount() > 1 &&
+         coreMessage.getBodyBufferSize() >= SHARED_BODY_MIN_SIZE;
+   }
+
    @Override
    public void encodeRest(ActiveMQBuffer buffer) {
       message.sendBuffer(buffer.byteBuf(), deliveryCount);
@@ -72,6 +106,15 @@ public class SessionReceiveMessage extends MessagePacket {
       this.deliveryCount = buffer.readInt();
    }
 
+   @Override
+   public SessionReceiveMessage passByReference() {
+      if (!(message instanceof CoreMessage coreMessage)) {
+         return null;
+      }
+      // the message is still the one of the broker, which may deliver it to other consumers too
+      return passedByReference(new SessionReceiveMessage(consumerID, ClientMessageImpl.copyOnWrite(coreMessage), deliveryCount));
+   }
+
    protected void receiveMessage(ByteBuf buffer) {
       message.receiveBuffer(buffer);
    }
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionRequestProducerCreditsMessage extends PacketImpl {
 
@@ -38,6 +39,21 @@ public class SessionRequestProducerCreditsMessage extends PacketImpl {
       super(SESS_PRODUCER_REQUEST_CREDITS);
    }
 
+   /**
+    * Reuses this packet, once sent, to request {@code credits} more for {@code address}.
+    *
+    * @return this packet
+    */
+   public SessionRequestProducerCreditsMessage reset(final int credits, final SimpleString address) {
+      size = -1;
+
+      this.credits = credits;
+
+      this.address = address;
+
+      return this;
+   }
+
    public int getCredits() {
       return credits;
    }
@@ -51,6 +67,11 @@ public class SessionRequestProducerCreditsMessage extends PacketImpl {
    // return false;
    // }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_INT + SimpleString.sizeofString(address);
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeInt(credits);
@@ -63,6 +84,12 @@ public class SessionRequestProducerCreditsMessage extends PacketImpl {
       address = buffer.readSimpleString();
    }
 
+   @Override
+   public SessionRequestProducerCreditsMessage passByReference() {
+      // the requests are pooled, see reset()
+      return passedByReference(new SessionRequestProducerCreditsMessage(credits, address));
+   }
+
    @Override
    public int hashCode() {
       final int prime = 31;
@@ -105,6 +105,24 @@ public class SessionSendMessage extends MessagePacket {
       requiresResponse = buffer.readBoolean();
    }
 
+   @Override
+   public SessionSendMessage passByReference() {
+      if (!(message instanceof CoreMessage coreMessage)) {
+         return null;
+      }
+      // the sender may still change its message, e.g. to send it again
+      return passedByReference(newReceivedPacket(coreMessage.copyOnWrite()));
+   }
+
+   /**
+    * {@return a packet with the same fields as this one but {@code message}, to be received in place of this one}
+    */
+   protected SessionSendMessage newReceivedPacket(CoreMessage message) {
+      final SessionSendMessage received = new SessionSendMessage(message);
+      received.requiresResponse = requiresResponse;
+      return received;
+   }
+
    protected int fieldsEncodeSize() {
       return DataConstants.SIZE_BOOLEAN;
    }
@@ -51,6 +51,14 @@ public class SessionSendMessage_V2 extends SessionSendMessage {
       correlationID = buffer.readLong();
    }
 
+   @Override
+   protected SessionSendMessage newReceivedPacket(CoreMessage message) {
+      final SessionSendMessage_V2 received = new SessionSendMessage_V2(message);
+      received.requiresResponse = requiresResponse;
+      received.correlationID = correlationID;
+      return received;
+   }
+
    @Override
    protected int fieldsEncodeSize() {
       return super.fieldsEncodeSize() + DataConstants.SIZE_LONG;
@@ -53,6 +53,15 @@ public class SessionSendMessage_V3 extends SessionSendMessage_V2 {
       senderID = buffer.readInt();
    }
 
+   @Override
+   protected SessionSendMessage newReceivedPacket(CoreMessage message) {
+      final SessionSendMessage_V3 received = new SessionSendMessage_V3(message);
+      received.requiresResponse = requiresResponse;
+      received.setCorrelationID(getCorrelationID());
+      received.senderID = senderID;
+      return received;
+   }
+
    @Override
    protected int fieldsEncodeSize() {
       return super.fieldsEncodeSize() + DataConstants.SIZE_INT;
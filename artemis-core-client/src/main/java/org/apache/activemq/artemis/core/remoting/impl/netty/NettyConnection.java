@@ -288,6 +288,12 @@ public class NettyConnection implements Connection {
       }
    }
 
+   @Override
+   public boolean isReleasingWrittenBuffers() {
+      // Netty releases the buffers once written to the channel
+      return true;
+   }
+
    @Override
    public void flush() {
       checkConnectionState();
@@ -65,14 +65,17 @@ import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.channel.kqueue.KQueueDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
 import io.netty.channel.kqueue.KQueueSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.codec.base64.Base64;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpRequest;
@@ -233,6 +236,8 @@ public class NettyConnector extends AbstractConnector {
 
    private String localAddress;
 
+   private String unixSocketPath;
+
    private int localPort;
 
    private String passwordCodecClass;
@@ -287,6 +292,8 @@ public class NettyConnector extends AbstractConnector {
 
    private long batchDelay;
 
+   private int writeCoalescingThreshold;
+
    private ConcurrentMap<Object, Connection> connections = new ConcurrentHashMap<>();
 
    private String servletPath;
@@ -411,6 +418,7 @@ public class NettyConnector extends AbstractConnector {
       localAddress = ConfigurationHelper.getStringProperty(TransportConstants.LOCAL_ADDRESS_PROP_NAME, TransportConstants.DEFAULT_LOCAL_ADDRESS, configuration);
 
       localPort = ConfigurationHelper.getIntProperty(TransportConstants.LOCAL_PORT_PROP_NAME, TransportConstants.DEFAULT_LOCAL_PORT, configuration);
+      unixSocketPath = ConfigurationHelper.getStringProperty(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME, TransportConstants.DEFAULT_UNIX_SOCKET_PATH, configuration);
       if (sslEnabled) {
          passwordCodecClass = ConfigurationHelper.getStringProperty(ActiveMQDefaultConfiguration.getPropPasswordCodec(), TransportConstants.DEFAULT_PASSWORD_CODEC_CLASS, configuration);
 
@@ -478,6 +486,7 @@ public class NettyConnector extends AbstractConnector {
       this.writeBufferLowWaterMark = ConfigurationHelper.getIntProperty(TransportConstants.WRITE_BUFFER_LOW_WATER_MARK_PROPNAME, TransportConstants.DEFAULT_WRITE_BUFFER_LOW_WATER_MARK, configuration);
       this.writeBufferHighWaterMark = ConfigurationHelper.getIntProperty(TransportConstants.WRITE_BUFFER_HIGH_WATER_MARK_PROPNAME, TransportConstants.DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK, configuration);
       batchDelay = ConfigurationHelper.getLongProperty(TransportConstants.BATCH_DELAY, TransportConstants.DEFAULT_BATCH_DELAY, configuration);
+      writeCoalescingThreshold = ConfigurationHelper.getIntProperty(TransportConstants.WRITE_COALESCING_THRESHOLD, TransportConstants.DEFAULT_WRITE_COALESCING_THRESHOLD, configuration);
 
       connectTimeoutMillis = ConfigurationHelper.getIntProperty(TransportConstants.NETTY_CONNECT_TIMEOUT, TransportConstants.DEFAULT_NETTY_CONNECT_TIMEOUT, configuration);
       this.closeExecutor = closeExecutor;
@@ -489,6 +498,7 @@ public class NettyConnector extends AbstractConnector {
       return "NettyConnector [host=" + host +
          ", port=" +
          port +
+         (unixSocketPath != null ? ", unixSocketPath=" + unixSocketPath : "") +
          ", httpEnabled=" +
          httpEnabled +
          ", httpUpgradeEnabled=" +
@@ -535,24 +545,28 @@ public class NettyConnector extends AbstractConnector {
 
       String connectorType;
 
-      if (useEpoll && CheckDependencies.isEpollAvailable()) {
+      // only the native transports support Unix domain sockets
+      final boolean unixSocket = unixSocketPath != null;
+      if ((useEpoll || unixSocket) && CheckDependencies.isEpollAvailable()) {
          if (useGlobalWorkerPool) {
             group = SharedEventLoopGroup.getInstance((threadFactory -> new EpollEventLoopGroup(remotingThreads, threadFactory)));
          } else {
             group = new EpollEventLoopGroup(remotingThreads);
          }
          connectorType = EPOLL_CONNECTOR_TYPE;
-         channelClazz = EpollSocketChannel.class;
+         channelClazz = unixSocket ? EpollDomainSocketChannel.class : EpollSocketChannel.class;
          logger.debug("Connector {} using native epoll", this);
-      } else if (useKQueue && CheckDependencies.isKQueueAvailable()) {
+      } else if ((useKQueue || unixSocket) && CheckDependencies.isKQueueAvailable()) {
          if (useGlobalWorkerPool) {
             group = SharedEventLoopGroup.getInstance((threadFactory -> new KQueueEventLoopGroup(remotingThreads, threadFactory)));
          } else {
             group = new KQueueEventLoopGroup(remotingThreads);
          }
          connectorType = KQUEUE_CONNECTOR_TYPE;
-         channelClazz = KQueueSocketChannel.class;
+         channelClazz = unixSocket ? KQueueDomainSocketChannel.class : KQueueSocketChannel.class;
          logger.debug("Connector {} using native kqueue", this);
+      } else if (unixSocket) {
+         throw new IllegalStateException("Unix domain socket " + unixSocketPath + " requires the native epoll or kqueue transport");
       } else {
          if (useGlobalWorkerPool) {
             channelClazz = NioSocketChannel.class;
@@ -571,7 +585,9 @@ public class NettyConnector extends AbstractConnector {
       bootstrap.channel(channelClazz);
       bootstrap.group(group);
 
-      bootstrap.option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+      if (!unixSocket) {
+         bootstrap.option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+      }
 
       if (connectTimeoutMillis != -1) {
          bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis);
@@ -586,8 +602,10 @@ public class NettyConnector extends AbstractConnector {
       final int writeBufferHighWaterMark = this.writeBufferHighWaterMark != -1 ? this.writeBufferHighWaterMark : WriteBufferWaterMark.DEFAULT.high();
       final WriteBufferWaterMark writeBufferWaterMark = new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark);
       bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark);
-      bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
-      bootstrap.option(ChannelOption.SO_REUSEADDR, true);
+      if (!unixSocket) {
+         bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
+         bootstrap.option(ChannelOption.SO_REUSEADDR, true);
+      }
       channelGroup = new DefaultChannelGroup("activemq-connector", GlobalEventExecutor.INSTANCE);
 
       final String realKeyStorePath;
@@ -743,6 +761,10 @@ public class NettyConnector extends AbstractConnector {
                pipeline.addLast("ssl", handler);
             }
 
+            if (writeCoalescingThreshold > 0) {
+               pipeline.addLast(new WriteCoalescingHandler(writeCoalescingThreshold));
+            }
+
             if (httpEnabled) {
                pipeline.addLast(new HttpRequestEncoder());
 
@@ -875,8 +897,10 @@ public class NettyConnector extends AbstractConnector {
    }
 
    public NettyConnection createConnection(Consumer<ChannelFuture> onConnect, String host, int port) {
-      InetSocketAddress remoteDestination;
-      if (proxyEnabled && proxyRemoteDNS) {
+      SocketAddress remoteDestination;
+      if (unixSocketPath != null) {
+         remoteDestination = new DomainSocketAddress(unixSocketPath);
+      } else if (proxyEnabled && proxyRemoteDNS) {
          remoteDestination = InetSocketAddress.createUnresolved(IPV6Util.stripBracketsAndZoneID(host), port);
       } else {
          remoteDestination = new InetSocketAddress(IPV6Util.stripBracketsAndZoneID(host), port);
@@ -886,7 +910,7 @@ public class NettyConnector extends AbstractConnector {
 
       ChannelFuture future;
       //port 0 does not work so only use local address if set
-      if (localPort != 0) {
+      if (localPort != 0 && unixSocketPath == null) {
          SocketAddress localDestination;
          if (localAddress != null) {
             localDestination = new InetSocketAddress(localAddress, localPort);
@@ -1306,6 +1330,11 @@ public class NettyConnector extends AbstractConnector {
    }
 
    private boolean isSameHostAndPort(Map<String, Object> configuration) {
+      String unixSocketPath = ConfigurationHelper.getStringProperty(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME, TransportConstants.DEFAULT_UNIX_SOCKET_PATH, configuration);
+      if (unixSocketPath != null || this.unixSocketPath != null) {
+         return Objects.equals(unixSocketPath, this.unixSocketPath);
+      }
+
       //here we only check host and port because these two parameters
       //is sufficient to determine the target host
       String host = ConfigurationHelper.getStringProperty(TransportConstants.HOST_PROP_NAME, TransportConstants.DEFAULT_HOST, configuration);
@@ -98,6 +98,12 @@ public class TransportConstants {
 
    public static final String LOCAL_PORT_PROP_NAME = "localPort";
 
+   /**
+    * The path of the Unix domain socket to use instead of the host and port: it requires the native epoll or kqueue
+    * transport.
+    */
+   public static final String UNIX_SOCKET_PATH_PROP_NAME = "unixSocketPath";
+
    public static final String KEYSTORE_PROVIDER_PROP_NAME = "keyStoreProvider";
 
    public static final String KEYSTORE_TYPE_PROP_NAME = "keyStoreType";
@@ -175,6 +181,12 @@ public class TransportConstants {
 
    public static final String BATCH_DELAY = "batchDelay";
 
+   /**
+    * The number of bytes written to a connection after which its writes are flushed to the socket straight away rather
+    * than coalesced with the next ones, see {@link WriteCoalescingHandler}. {@code 0} flushes each write on its own.
+    */
+   public static final String WRITE_COALESCING_THRESHOLD = "writeCoalescingThreshold";
+
    public static final String DIRECT_DELIVER = "directDeliver";
 
    public static final String CLUSTER_CONNECTION = "clusterConnection";
@@ -226,6 +238,8 @@ public class TransportConstants {
 
    public static final int DEFAULT_LOCAL_PORT = 0;
 
+   public static final String DEFAULT_UNIX_SOCKET_PATH = null;
+
    public static final int DEFAULT_STOMP_PORT = 61613;
 
    public static final String DEFAULT_KEYSTORE_PROVIDER = null;
@@ -302,6 +316,8 @@ public class TransportConstants {
 
    public static final long DEFAULT_BATCH_DELAY = 0;
 
+   public static final int DEFAULT_WRITE_COALESCING_THRESHOLD = 64 * 1024;
+
    public static final boolean DEFAULT_DIRECT_DELIVER = true;
 
    public static final Set<String> ALLOWABLE_CONNECTOR_KEYS;
@@ -423,6 +439,7 @@ public class TransportConstants {
       allowableAcceptorKeys.add(TransportConstants.USE_EPOLL_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.USE_KQUEUE_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.USE_INVM_PROP_NAME);
+      allowableAcceptorKeys.add(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME);
       //noinspection deprecation
       allowableAcceptorKeys.add(TransportConstants.PROTOCOL_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.PROTOCOLS_PROP_NAME);
@@ -452,6 +469,7 @@ public class TransportConstants {
       allowableAcceptorKeys.add(TransportConstants.NIO_REMOTING_THREADS_PROPNAME);
       allowableAcceptorKeys.add(TransportConstants.REMOTING_THREADS_PROPNAME);
       allowableAcceptorKeys.add(TransportConstants.BATCH_DELAY);
+      allowableAcceptorKeys.add(TransportConstants.WRITE_COALESCING_THRESHOLD);
       allowableAcceptorKeys.add(TransportConstants.DIRECT_DELIVER);
       allowableAcceptorKeys.add(TransportConstants.CLUSTER_CONNECTION);
       allowableAcceptorKeys.add(TransportConstants.STOMP_CONSUMERS_CREDIT);
@@ -502,6 +520,7 @@ public class TransportConstants {
       allowableConnectorKeys.add(TransportConstants.PORT_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.LOCAL_ADDRESS_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.LOCAL_PORT_PROP_NAME);
+      allowableConnectorKeys.add(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.KEYSTORE_PROVIDER_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.KEYSTORE_TYPE_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.KEYSTORE_PATH_PROP_NAME);
@@ -525,6 +544,7 @@ public class TransportConstants {
       allowableConnectorKeys.add(TransportConstants.NIO_REMOTING_THREADS_PROPNAME);
       allowableConnectorKeys.add(TransportConstants.REMOTING_THREADS_PROPNAME);
       allowableConnectorKeys.add(TransportConstants.BATCH_DELAY);
+      allowableConnectorKeys.add(TransportConstants.WRITE_COALESCING_THRESHOLD);
       allowableConnectorKeys.add(TransportConstants.PROXY_ENABLED_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.PROXY_HOST_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.PROXY_PORT_PROP_NAME);
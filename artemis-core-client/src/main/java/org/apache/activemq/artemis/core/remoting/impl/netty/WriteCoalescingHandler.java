@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import java.lang.invoke.MethodHandles;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the flushes of a channel, so that the packets written in a row are written to the socket at once rather
+ * than with a system call each, without the latency of a {@link TransportConstants#BATCH_DELAY batch delay}.
+ * <p>
+ * A flush requested while reading is done once the read is complete, i.e. once all the packets read together are
+ * handled. Any other flush is done by a task of the event loop, i.e. after the writes already submitted to the event
+ * loop by other threads. In both cases, the flush is done straight away once the bytes written since the last one
+ * reach a threshold, or once the channel isn't writable anymore.
+ * <p>
+ * Like any channel handler, it must only be used by the event loop of its channel.
+ */
+public final class WriteCoalescingHandler extends ChannelDuplexHandler {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final int threshold;
+
+   private final Runnable flushTask;
+
+   private ChannelHandlerContext ctx;
+
+   private boolean readInProgress;
+
+   private boolean flushPending;
+
+   private boolean flushScheduled;
+
+   private long pendingBytes;
+
+   private long writes;
+
+   private long flushes;
+
+   /**
+    * @param threshold the number of bytes written after which a requested flush is done straight away
+    */
+   public WriteCoalescingHandler(final int threshold) {
+      this.threshold = threshold;
+      this.flushTask = () -> {
+         flushScheduled = false;
+         flushIfPending();
+      };
+   }
+
+   /**
+    * {@return the number of messages written to the channel}
+    */
+   public long getWrites() {
+      return writes;
+   }
+
+   /**
+    * {@return the number of flushes of the channel, i.e. of attempts to write to the socket}
+    */
+   public long getFlushes() {
+      return flushes;
+   }
+
+   @Override
+   public void handlerAdded(final ChannelHandlerContext ctx) {
+      this.ctx = ctx;
+   }
+
+   @Override
+   public void handlerRemoved(final ChannelHandlerContext ctx) {
+      flushIfPending();
+   }
+
+   @Override
+   public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+      if (msg instanceof ByteBuf buffer) {
+         pendingBytes += buffer.readableBytes();
+      }
+      writes++;
+      ctx.write(msg, promise);
+   }
+
+   @Override
+   public void flush(final ChannelHandlerContext ctx) {
+      flushPending = true;
+      if (pendingBytes >= threshold) {
+         flushIfPending();
+      } else if (!readInProgress && !flushScheduled) {
+         flushScheduled = true;
+         ctx.executor().execute(flushTask);
+      }
+   }
+
+   @Override
+   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+      readInProgress = true;
+      ctx.fireChannelRead(msg);
+   }
+
+   @Override
+   public void channelReadComplete(final ChannelHandlerContext ctx) {
+      readInProgress = false;
+      flushIfPending();
+      ctx.fireChannelReadComplete();
+   }
+
+   @Override
+   public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+      if (!ctx.channel().isWritable()) {
+         flushIfPending();
+      }
+      ctx.fireChannelWritabilityChanged();
+   }
+
+   @Override
+   public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+      logger.debug("{} writes in {} flushes on {}", writes, flushes, ctx.channel());
+      super.channelInactive(ctx);
+   }
+
+   @Override
+   public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+      flushIfPending();
+      ctx.fireExceptionCaught(cause);
+   }
+
+   @Override
+   public void disconnect(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+      flushIfPending();
+      ctx.disconnect(promise);
+   }
+
+   @Override
+   public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+      // or the writes not flushed yet would be discarded
+      flushIfPending();
+      ctx.close(promise);
+   }
+
+   @Override
+   public void deregister(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+      flushIfPending();
+      ctx.deregister(promise);
+   }
+
+   private void flushIfPending() {
+      if (flushPending) {
+         flushPending = false;
+         pendingBytes = 0;
+         flushes++;
+         ctx.flush();
+      }
+   }
+}
@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.spi.core.remoting;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
 
 /**
  * A BufferHandler that will handle buffers received by an acceptor.
@@ -34,6 +35,24 @@ public interface BufferHandler {
     */
    void bufferReceived(Object connectionID, ActiveMQBuffer buffer);
 
+   /**
+    * called by the remoting connection when a packet passed by reference is received, see
+    * {@link Connection#write(Packet, boolean)}. Handlers that don't take packets encode it and handle it as a
+    * received buffer.
+    *
+    * @param connectionID the connection the packet was received on
+    * @param packet       the packet, as it is to be handled
+    */
+   default void packetReceived(Object connectionID, Packet packet) {
+      final ActiveMQBuffer buffer = packet.encode(null);
+      try {
+         buffer.readInt(); // the length, read by the transport
+         bufferReceived(connectionID, buffer);
+      } finally {
+         buffer.release();
+      }
+   }
+
    default void endOfBatch(Object connectionID) {
 
    }
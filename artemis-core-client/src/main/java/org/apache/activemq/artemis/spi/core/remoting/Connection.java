@@ -22,6 +22,8 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.EventLoop;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.security.ActiveMQPrincipal;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 
@@ -119,6 +121,36 @@ public interface Connection {
     */
    void write(ActiveMQBuffer buffer);
 
+   /**
+    * {@return true if both ends of this connection share the JVM and the packets of the core protocol can be passed
+    * by reference to {@link #write(Packet, boolean)} rather than encoded, see {@link Packet#passByReference()}}
+    */
+   default boolean isPassingByReference() {
+      return false;
+   }
+
+   /**
+    * {@return true if the buffers written to this connection are released once written, so that they may be composed
+    * of retained slices of buffers shared with other writes}
+    */
+   default boolean isReleasingWrittenBuffers() {
+      return false;
+   }
+
+   /**
+    * writes a packet returned by {@link Packet#passByReference()} to the connection, as {@link #write(ActiveMQBuffer,
+    * boolean, boolean)} would write it encoded; the other end receives it through
+    * {@link BufferHandler#packetReceived(Object, Packet)}. Connections that don't pass packets by reference write it
+    * encoded.
+    *
+    * @param packet the packet to write
+    * @param flush  whether to return only once the other end has handled the packet
+    */
+   default void write(Packet packet, boolean flush) {
+      final RemotingConnection protocolConnection = getProtocolConnection();
+      write(packet.encode(protocolConnection instanceof CoreRemotingConnection coreConnection ? coreConnection : null), flush, false);
+   }
+
    /**
     * This should close the internal channel without calling any listeners. This is to avoid a situation where the
     * broker is busy writing on an internal thread. This should close the socket releasing any pending threads.
@@ -22,6 +22,7 @@ import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.uri.schema.connector.InVMTransportConfigurationSchema;
 import org.apache.activemq.artemis.uri.schema.connector.TCPTransportConfigurationSchema;
+import org.apache.activemq.artemis.uri.schema.connector.UnixTransportConfigurationSchema;
 import org.apache.activemq.artemis.utils.uri.URIFactory;
 
 public class ConnectorTransportConfigurationParser extends URIFactory<List<TransportConfiguration>, String> {
@@ -32,6 +33,7 @@ public class ConnectorTransportConfigurationParser extends URIFactory<List<Trans
 
    public ConnectorTransportConfigurationParser(boolean invm) {
       registerSchema(new TCPTransportConfigurationSchema(TransportConstants.ALLOWABLE_CONNECTOR_KEYS));
+      registerSchema(new UnixTransportConfigurationSchema(TransportConstants.ALLOWABLE_CONNECTOR_KEYS));
       if (invm) {
          registerSchema(new InVMTransportConfigurationSchema());
       }
@@ -21,6 +21,7 @@ import org.apache.activemq.artemis.uri.schema.serverLocator.InVMServerLocatorSch
 import org.apache.activemq.artemis.uri.schema.serverLocator.JGroupsServerLocatorSchema;
 import org.apache.activemq.artemis.uri.schema.serverLocator.TCPServerLocatorSchema;
 import org.apache.activemq.artemis.uri.schema.serverLocator.UDPServerLocatorSchema;
+import org.apache.activemq.artemis.uri.schema.serverLocator.UnixServerLocatorSchema;
 import org.apache.activemq.artemis.utils.uri.URIFactory;
 
 public class ServerLocatorParser extends URIFactory<ServerLocator, String> {
@@ -30,5 +31,6 @@ public class ServerLocatorParser extends URIFactory<ServerLocator, String> {
       registerSchema(new TCPServerLocatorSchema());
       registerSchema(new UDPServerLocatorSchema());
       registerSchema(new JGroupsServerLocatorSchema());
+      registerSchema(new UnixServerLocatorSchema());
    }
 }
@@ -28,10 +28,11 @@ import org.apache.activemq.artemis.utils.uri.SchemaConstants;
 public class InVMTransportConfigurationSchema extends AbstractTransportConfigurationSchema {
 
    /*
-    * This is the same as org.apache.activemq.artemis.core.remoting.impl.invm.TransportConstants.CONNECTIONS_ALLOWED,
-    * but this Maven module can't see that class.
+    * These are the same as org.apache.activemq.artemis.core.remoting.impl.invm.TransportConstants.CONNECTIONS_ALLOWED
+    * and PASS_BY_REFERENCE, but this Maven module can't see that class.
     */
    public static final String CONNECTIONS_ALLOWED = "connectionsAllowed";
+   public static final String PASS_BY_REFERENCE = "passByReference";
    public static final String SECURITY_DOMAIN = "securityDomain";
 
    @Override
@@ -68,6 +69,9 @@ public class InVMTransportConfigurationSchema extends AbstractTransportConfigura
       } else if (query.containsKey(SECURITY_DOMAIN)) {
          inVmTransportConfig.put(SECURITY_DOMAIN, query.get(SECURITY_DOMAIN));
       }
+      if (query.containsKey(PASS_BY_REFERENCE)) {
+         inVmTransportConfig.put(PASS_BY_REFERENCE, query.get(PASS_BY_REFERENCE));
+      }
       return new TransportConfiguration(factoryName, inVmTransportConfig, name);
    }
 }
@@ -26,6 +26,7 @@ import java.util.Set;
 
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnectorFactory;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.utils.uri.BeanSupport;
 import org.apache.activemq.artemis.utils.uri.SchemaConstants;
 
@@ -62,7 +63,7 @@ public class TCPTransportConfigurationSchema extends AbstractTransportConfigurat
       Map<String, Object> props = new HashMap<>();
 
       Map<String, Object> extraProps = new HashMap<>();
-      BeanSupport.setData(uri, props, allowableProperties, query, extraProps);
+      setData(uri, props, allowableProperties, query, extraProps);
       List<TransportConfiguration> transportConfigurations = new ArrayList<>();
 
       String nameFromQuery = query.getOrDefault(TransportConfiguration.NAME_PARAM, name);
@@ -80,9 +81,9 @@ public class TCPTransportConfigurationSchema extends AbstractTransportConfigurat
             URI extraUri = new URI(s);
             Map<String, Object> newProps = new HashMap<>();
             extraProps = new HashMap<>();
-            BeanSupport.setData(extraUri, newProps, allowableProperties, query, extraProps);
+            setData(extraUri, newProps, allowableProperties, query, extraProps);
             Map<String, String> extraUriQuery = parseQuery(extraUri.getQuery(), null);
-            BeanSupport.setData(extraUri, newProps, allowableProperties, extraUriQuery, extraProps);
+            setData(extraUri, newProps, allowableProperties, extraUriQuery, extraProps);
             String extraUriNameFromQuery = extraUriQuery.getOrDefault(TransportConfiguration.NAME_PARAM, name + ":" + extraUri);
             transportConfigurations.add(new TransportConfiguration(factoryName, newProps, extraUriNameFromQuery, extraProps));
          }
@@ -90,6 +91,23 @@ public class TCPTransportConfigurationSchema extends AbstractTransportConfigurat
       return transportConfigurations;
    }
 
+   /**
+    * Like {@link BeanSupport#setData(URI, Map, Set, Map, Map)}, but a {@code unix} URI sets the path of the socket
+    * instead of the host and port.
+    */
+   private static void setData(URI uri,
+                               Map<String, Object> props,
+                               Set<String> allowableProperties,
+                               Map<String, String> query,
+                               Map<String, Object> extraProps) {
+      BeanSupport.setData(uri, props, allowableProperties, query, extraProps);
+      if (SchemaConstants.UNIX.equals(uri.getScheme())) {
+         props.remove(TransportConstants.HOST_PROP_NAME);
+         props.remove(TransportConstants.PORT_PROP_NAME);
+         props.put(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME, uri.getPath());
+      }
+   }
+
    protected String getFactoryName(URI uri) {
       //here for backwards compatibility
       if (uri.getPath() != null && uri.getPath().contains("hornetq")) {
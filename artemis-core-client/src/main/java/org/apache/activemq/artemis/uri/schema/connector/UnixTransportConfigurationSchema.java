@@ -14,36 +14,23 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.apache.activemq.artemis.core.postoffice.impl;
+package org.apache.activemq.artemis.uri.schema.connector;
 
-import org.apache.activemq.artemis.utils.ByteUtil;
+import java.util.Set;
 
-final class ByteArray {
+import org.apache.activemq.artemis.utils.uri.SchemaConstants;
 
-   final byte[] bytes;
-
-   private int hash;
-
-   ByteArray(final byte[] bytes) {
-      this.bytes = bytes;
-   }
-
-   @Override
-   public boolean equals(final Object other) {
-      if (other instanceof ByteArray byteArray) {
+/**
+ * Parses {@code unix:///path/to/socket} URIs, connecting to a Unix domain socket instead of a TCP host and port.
+ */
+public class UnixTransportConfigurationSchema extends TCPTransportConfigurationSchema {
 
-         return ByteUtil.equals(bytes, byteArray.bytes);
-      } else {
-         return false;
-      }
+   public UnixTransportConfigurationSchema(Set<String> allowableProperties) {
+      super(allowableProperties);
    }
 
    @Override
-   public int hashCode() {
-      if (hash == 0) {
-         hash = ByteUtil.hashCode(bytes);
-      }
-
-      return hash;
+   public String getSchemaName() {
+      return SchemaConstants.UNIX;
    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.protocol.ClientPacketDecoder;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionCommitMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionCommitMessage_V2;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerFlowCreditMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionIndividualAcknowledgeMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionRequestProducerCreditsMessage;
+import org.apache.activemq.artemis.spi.core.remoting.BufferHandler;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class PacketImplTest {
+
+   private static void assertEncodedInExpectedSize(PacketImpl packet) {
+      final int expected = packet.expectedEncodeSize();
+      final ActiveMQBuffer buffer = packet.encode(null);
+      assertEquals(expected, buffer.writerIndex(), packet.toString());
+      assertEquals(expected, buffer.capacity(), packet.toString());
+      assertEquals(expected, packet.getPacketSize());
+   }
+
+   @Test
+   public void testExpectedEncodeSize() {
+      final SimpleString address = SimpleString.of("address");
+      assertEncodedInExpectedSize(new SessionAcknowledgeMessage(1, 2, true));
+      assertEncodedInExpectedSize(new SessionIndividualAcknowledgeMessage(1, 2, false));
+      assertEncodedInExpectedSize(new SessionConsumerFlowCreditMessage(1, 1024));
+      assertEncodedInExpectedSize(new SessionRequestProducerCreditsMessage(1024, address));
+      assertEncodedInExpectedSize(new SessionProducerCreditsMessage(1024, address));
+      assertEncodedInExpectedSize(new SessionCommitMessage());
+      assertEncodedInExpectedSize(new SessionCommitMessage_V2());
+   }
+
+   @Test
+   public void testResetPacketsPassedByCopy() {
+      final SessionAcknowledgeMessage acknowledge = new SessionAcknowledgeMessage().reset(1, 2, false);
+      acknowledge.setChannelID(3);
+      final SessionAcknowledgeMessage received = acknowledge.passByReference();
+      assertNotSame(acknowledge, received);
+      acknowledge.reset(1, 4, false);
+      assertEquals(2, received.getMessageID());
+      assertEquals(3, received.getChannelID());
+      assertEquals(acknowledge.expectedEncodeSize(), received.getPacketSize());
+
+      final SessionConsumerFlowCreditMessage credits = new SessionConsumerFlowCreditMessage().reset(1, 1024);
+      final SessionConsumerFlowCreditMessage receivedCredits = credits.passByReference();
+      assertNotSame(credits, receivedCredits);
+      credits.reset(1, 10);
+      assertEquals(1024, receivedCredits.getCredits());
+   }
+
+   @Test
+   public void testPacketsPassedByReferenceEncodedByDefault() {
+      final SessionAcknowledgeMessage acknowledge = new SessionAcknowledgeMessage(1, 2, false);
+      acknowledge.setChannelID(3);
+
+      final Connection connection = Mockito.mock(Connection.class);
+      Mockito.doCallRealMethod().when(connection).write(any(Packet.class), anyBoolean());
+      connection.write(acknowledge.passByReference(), true);
+      final ArgumentCaptor<ActiveMQBuffer> written = ArgumentCaptor.forClass(ActiveMQBuffer.class);
+      Mockito.verify(connection).write(written.capture(), eq(true), eq(false));
+      assertEquals(acknowledge.expectedEncodeSize(), written.getValue().readableBytes());
+
+      final AtomicReference<Packet> received = new AtomicReference<>();
+      final BufferHandler handler = (connectionID, buffer) -> received.set(new ClientPacketDecoder().decode(buffer, null));
+      handler.packetReceived(1, acknowledge.passByReference());
+      final SessionAcknowledgeMessage decoded = (SessionAcknowledgeMessage) received.get();
+      assertEquals(2, decoded.getMessageID());
+      assertEquals(3, decoded.getChannelID());
+   }
+}
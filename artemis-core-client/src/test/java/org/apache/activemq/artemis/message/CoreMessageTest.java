@@ -18,12 +18,17 @@ package org.apache.activemq.artemis.message;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
+import java.util.Random;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -271,6 +276,47 @@ public class CoreMessageTest {
       }
    }
 
+   @Test
+   public void testCompressBody() {
+      final String text = BIGGER_TEXT.repeat(100);
+      CoreMessage message = new CoreMessage().initBuffer(text.length() * 2);
+      message.setType(Message.TEXT_TYPE);
+      message.putStringProperty("prop", "value");
+      message.getBodyBuffer().writeNullableSimpleString(SimpleString.of(text));
+      final int bodySize = message.getBodyBufferSize();
+
+      assertFalse(message.compressBody(bodySize + 1));
+      assertTrue(message.compressBody(bodySize));
+      assertTrue(message.getBodyBufferSize() < bodySize / 10);
+      assertEquals(Boolean.TRUE, message.getBooleanProperty(Message.HDR_LARGE_COMPRESSED));
+      assertEquals(bodySize, message.getLongProperty(Message.HDR_LARGE_BODY_SIZE));
+      assertFalse(message.compressBody(0));
+
+      // as a client receives it
+      ByteBuf buffer = Unpooled.buffer(message.getEncodeSize() * 2);
+      message.sendBuffer(buffer, 0);
+      CoreMessage received = new CoreMessage();
+      received.receiveBuffer(buffer);
+
+      assertEquals("value", received.getStringProperty("prop"));
+      assertEquals(message.getBodyBufferSize(), received.getBodyBufferSize());
+      assertEquals(text, received.getDataBuffer().readNullableSimpleString().toString());
+   }
+
+   @Test
+   public void testCompressBodyNotSmaller() {
+      final byte[] body = new byte[1024];
+      new Random(1).nextBytes(body);
+      CoreMessage message = new CoreMessage().initBuffer(body.length * 2);
+      message.getBodyBuffer().writeBytes(body);
+
+      assertFalse(message.compressBody(0));
+      assertFalse(message.containsProperty(Message.HDR_LARGE_COMPRESSED));
+      byte[] read = new byte[body.length];
+      message.getDataBuffer().readBytes(read);
+      assertArrayEquals(body, read);
+   }
+
    @Test
    public void testChangeBodySmallerString() {
       testChangeBodyString(SMALLER_TEXT);
@@ -401,6 +447,132 @@ public class CoreMessageTest {
       assertEquals(copy.getEncodeSize(), copy.getBuffer().capacity());
    }
 
+   @Test
+   public void testCopyOnWriteSharesTheBody() {
+      final CoreMessage msg = decodeMessage();
+      final CoreMessage copy = (CoreMessage) msg.copyOnWrite(2);
+      copy.setAddress("diverted");
+      copy.putStringProperty("newProperty", "newValue");
+
+      assertEquals(2, copy.getMessageID());
+      assertEquals(TEXT, TextMessageUtil.readBodyText(copy.getReadOnlyBodyBuffer()).toString());
+      assertEquals(msg.getBodyBufferSize(), copy.getBodyBufferSize());
+
+      // the copy is re-encoded without touching the original message
+      final CoreMessage received = resend(copy);
+      assertEquals("diverted", received.getAddress());
+      assertEquals("newValue", received.getStringProperty("newProperty"));
+      assertEquals(TEXT, TextMessageUtil.readBodyText(received.getReadOnlyBodyBuffer()).toString());
+
+      final CoreMessage original = resend(msg);
+      assertEquals(ADDRESS, original.getAddressSimpleString());
+      assertNull(original.getStringProperty("newProperty"));
+      assertEquals(TEXT, TextMessageUtil.readBodyText(original.getReadOnlyBodyBuffer()).toString());
+   }
+
+   @Test
+   public void testCopyOnWriteBodyChanges() {
+      final CoreMessage msg = decodeMessage();
+      final CoreMessage copy = (CoreMessage) msg.copyOnWrite(2);
+      final CoreMessage otherCopy = (CoreMessage) msg.copyOnWrite(3);
+
+      final ActiveMQBuffer copyBody = copy.getBodyBuffer();
+      copyBody.clear();
+      TextMessageUtil.writeBodyText(copyBody, SimpleString.of(BIGGER_TEXT));
+
+      final ActiveMQBuffer body = msg.getBodyBuffer();
+      body.clear();
+      TextMessageUtil.writeBodyText(body, SimpleString.of(SMALLER_TEXT));
+
+      assertEquals(BIGGER_TEXT, TextMessageUtil.readBodyText(resend(copy).getReadOnlyBodyBuffer()).toString());
+      assertEquals(SMALLER_TEXT, TextMessageUtil.readBodyText(resend(msg).getReadOnlyBodyBuffer()).toString());
+      assertEquals(TEXT, TextMessageUtil.readBodyText(resend(otherCopy).getReadOnlyBodyBuffer()).toString());
+   }
+
+   @Test
+   public void testCopyOnWriteMatchesCopy() {
+      final CoreMessage msg = decodeMessage();
+      final CoreMessage copy = (CoreMessage) msg.copy(2);
+      final CoreMessage view = (CoreMessage) msg.copyOnWrite(2);
+      for (CoreMessage message : new CoreMessage[] {copy, view}) {
+         message.setAddress("diverted");
+         message.setBrokerProperty(Message.HDR_ORIGINAL_ADDRESS, msg.getAddressSimpleString());
+      }
+      assertEquals(copy.getEncodeSize(), view.getEncodeSize());
+      assertEquals(copy.getPersistSize(), view.getPersistSize());
+      final ActiveMQBuffer copyRecord = ActiveMQBuffers.fixedBuffer(copy.getPersistSize());
+      final ActiveMQBuffer viewRecord = ActiveMQBuffers.fixedBuffer(view.getPersistSize());
+      copy.persist(copyRecord);
+      view.persist(viewRecord);
+      assertArrayEquals(copyRecord.toByteBuffer().array(), viewRecord.toByteBuffer().array());
+   }
+
+   @Test
+   public void testSendBufferSharingBody() {
+      final CoreMessage msg = decodeMessage();
+      final ByteBuf expected = Unpooled.buffer(msg.getEncodeSize());
+      msg.sendBuffer(expected, 0);
+
+      final ByteBuf rest = Unpooled.buffer();
+      final ByteBuf body = msg.sendBufferSharingBody(rest);
+      final ByteBuf otherBody = msg.sendBufferSharingBody(Unpooled.buffer());
+      assertTrue(body.isDirect());
+      assertSame(body.unwrap(), otherBody.unwrap());
+      assertEquals(expected, Unpooled.wrappedBuffer(body, rest));
+      // the message holds the copy too, until it changes
+      assertEquals(3, body.refCnt());
+      body.release();
+      otherBody.release();
+      assertEquals(1, body.unwrap().refCnt());
+
+      final ByteBuf sameBody = msg.sendBufferSharingBody(Unpooled.buffer());
+      assertSame(body.unwrap(), sameBody.unwrap());
+
+      msg.putStringProperty("newProperty", "newValue");
+      // still held by the delivery being written
+      assertEquals(1, sameBody.refCnt());
+      sameBody.release();
+      assertEquals(0, body.unwrap().refCnt());
+
+      final CoreMessage received = resendSharingBody(msg);
+      assertEquals("newValue", received.getStringProperty("newProperty"));
+      assertEquals(TEXT, TextMessageUtil.readBodyText(received.getReadOnlyBodyBuffer()).toString());
+
+      final ActiveMQBuffer msgBody = msg.getBodyBuffer();
+      msgBody.clear();
+      TextMessageUtil.writeBodyText(msgBody, SimpleString.of(BIGGER_TEXT));
+      final ByteBuf changedBody = msg.sendBufferSharingBody(Unpooled.buffer());
+      assertNotSame(body.unwrap(), changedBody.unwrap());
+      changedBody.release();
+      assertEquals(BIGGER_TEXT, TextMessageUtil.readBodyText(resendSharingBody(msg).getReadOnlyBodyBuffer()).toString());
+
+      final ByteBuf lastBody = msg.sendBufferSharingBody(Unpooled.buffer());
+      assertEquals(2, lastBody.refCnt());
+      msg.refUp();
+      msg.refDown();
+      assertEquals(1, lastBody.refCnt());
+      lastBody.release();
+      assertEquals(0, lastBody.unwrap().refCnt());
+   }
+
+   private static CoreMessage resendSharingBody(CoreMessage message) {
+      final ByteBuf rest = Unpooled.buffer();
+      final ByteBuf body = message.sendBufferSharingBody(rest);
+      final ByteBuf buffer = Unpooled.wrappedBuffer(body, rest);
+      final CoreMessage received = new CoreMessage();
+      received.receiveBuffer(buffer.copy());
+      buffer.release();
+      return received;
+   }
+
+   private static CoreMessage resend(CoreMessage message) {
+      final ByteBuf buffer = Unpooled.buffer(message.getEncodeSize());
+      message.sendBuffer(buffer, 0);
+      final CoreMessage received = new CoreMessage();
+      received.receiveBuffer(buffer);
+      return received;
+   }
+
    private void printVariable(String body, String encode) {
       System.out.println("// body = \"" + body + "\";");
       System.out.println("private final String STRING_ENCODE = \"" + encode + "\";");
@@ -17,12 +17,14 @@
 package org.apache.activemq.artemis.tests.uri;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.lang.invoke.MethodHandles;
 import java.net.URI;
 import java.util.List;
 
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.uri.ConnectorTransportConfigurationParser;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -74,4 +76,19 @@ public class ConnectorTransportConfigurationParserURITest {
       assertEquals("backupB", objects.get(2).getParams().get("host"));
       assertEquals("3", objects.get(2).getParams().get("port"));
    }
+
+   @Test
+   public void testParseUnixSocket() throws Exception {
+      ConnectorTransportConfigurationParser parser = new ConnectorTransportConfigurationParser(false);
+
+      List<TransportConfiguration> objects = parser.newObject(parser.expandURI("unix:///var/run/artemis.sock?tcpSendBufferSize=1024#tcp://backup:2"), "test");
+
+      assertEquals(2, objects.size());
+      assertEquals("/var/run/artemis.sock", objects.get(0).getParams().get(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME));
+      assertEquals("1024", objects.get(0).getParams().get(TransportConstants.TCP_SENDBUFFER_SIZE_PROPNAME));
+      assertNull(objects.get(0).getParams().get(TransportConstants.HOST_PROP_NAME));
+      assertNull(objects.get(0).getParams().get(TransportConstants.PORT_PROP_NAME));
+      assertEquals("backup", objects.get(1).getParams().get(TransportConstants.HOST_PROP_NAME));
+      assertNull(objects.get(1).getParams().get(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME));
+   }
 }
@@ -27,5 +27,6 @@ public class ConnectionFactoryParser extends URIFactory<ActiveMQConnectionFactor
       registerSchema(new UDPSchema());
       registerSchema(new JGroupsSchema());
       registerSchema(new InVMSchema());
+      registerSchema(new UnixSchema());
    }
 }
@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
@@ -120,6 +121,14 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
 
    private static final SimpleString ANNOTATION_AREA_PREFIX = SimpleString.of("m.");
 
+   /**
+    * The annotation symbols read for the {@code m.} properties of a filter, by property name: filters read the same
+    * few properties over and over, so the names aren't converted again for each message.
+    */
+   private static final Map<SimpleString, Symbol[]> FILTER_ANNOTATION_SYMBOLS = new ConcurrentHashMap<>();
+
+   private static final int MAX_FILTER_ANNOTATION_SYMBOLS = 1024;
+
    protected static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
    public static final SimpleString ADDRESS_PROPERTY = SimpleString.of("_AMQ_AD");
@@ -353,8 +362,7 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
    @Override
    public Object getObjectPropertyForFilter(SimpleString key) {
       if (key.startsWith(ANNOTATION_AREA_PREFIX)) {
-         key = key.subSeq(ANNOTATION_AREA_PREFIX.length(), key.length());
-         return getAnnotation(key);
+         return getFilterAnnotation(key);
       }
 
       Object value = getObjectProperty(key);
@@ -367,6 +375,19 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
       return value;
    }
 
+   private Object getFilterAnnotation(SimpleString key) {
+      Symbol[] symbols = FILTER_ANNOTATION_SYMBOLS.get(key);
+      if (symbols == null) {
+         final String annotation = key.subSeq(ANNOTATION_AREA_PREFIX.length(), key.length()).toString();
+         symbols = new Symbol[] {Symbol.getSymbol(AMQPMessageSupport.toAnnotationName(annotation)), Symbol.getSymbol(annotation)};
+         if (FILTER_ANNOTATION_SYMBOLS.size() < MAX_FILTER_ANNOTATION_SYMBOLS) {
+            FILTER_ANNOTATION_SYMBOLS.put(key, symbols);
+         }
+      }
+      final Object annotation = getMessageAnnotation(symbols[0]);
+      return annotation != null ? annotation : getMessageAnnotation(symbols[1]);
+   }
+
    /**
     * {@return a <em>copy</em> of this message's {@code Header} if one exists or {@code null} if none present; changes
     * to the returned {@code Header} instance do not affect the original message}
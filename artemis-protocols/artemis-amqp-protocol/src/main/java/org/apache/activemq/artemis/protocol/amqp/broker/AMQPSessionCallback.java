@@ -108,7 +108,7 @@ public class AMQPSessionCallback implements SessionCallback {
 
    private final boolean directDeliver;
 
-   private final CoreMessageObjectPools coreMessageObjectPools = new CoreMessageObjectPools();
+   private final CoreMessageObjectPools coreMessageObjectPools;
 
    private ProtonTransactionHandler transactionHandler;
 
@@ -123,6 +123,7 @@ public class AMQPSessionCallback implements SessionCallback {
       this.protonSPI = protonSPI;
       this.manager = manager;
       this.storageManager = manager.getServer().getStorageManager();
+      this.coreMessageObjectPools = new CoreMessageObjectPools(manager.getServer().getSharedSimpleStringPools());
       this.connection = connection;
       this.transportConnection = transportConnection;
       this.sessionExecutor = executor;
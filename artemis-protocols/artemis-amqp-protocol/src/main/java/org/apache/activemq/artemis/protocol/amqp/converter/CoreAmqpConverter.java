@@ -292,6 +292,9 @@ public class CoreAmqpConverter {
             } else if (key.equals(NATIVE_MESSAGE_ID)) {
                // skip..internal use only
                continue;
+            } else if (key.equals(Message.HDR_LARGE_COMPRESSED.toString())) {
+               // skip..the body is converted inflated
+               continue;
             } else if (key.endsWith(HDR_SCHEDULED_DELIVERY_TIME.toString())) {
                // skip..remove annotation from previous inbound transformation
                continue;
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.protocol.amqp.converter.coreWrapper;
 import java.util.Map;
 
 import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.protocol.amqp.converter.AMQPMessageSupport;
 import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.Symbol;
@@ -88,6 +89,10 @@ public class CoreBytesMessageWrapper extends CoreMessageWrapper {
    }
 
    public long getBodyLength() {
+      if (!message.isLargeMessage() && Boolean.TRUE.equals(message.getBooleanProperty(Message.HDR_LARGE_COMPRESSED))) {
+         // the body is read inflated
+         return message.getLongProperty(Message.HDR_LARGE_BODY_SIZE);
+      }
       return message.getBodyBufferSize();
    }
 
@@ -31,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.invoke.MethodHandles;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -387,6 +388,23 @@ public class TestConversions {
       assertEquals(embeddedMap, (Map<String, String>) result);
    }
 
+   @Test
+   public void testConvertFromCoreWithCompressedBody() throws Exception {
+      final byte[] bodyBytes = new byte[4096];
+      Arrays.fill(bodyBytes, (byte) 'a');
+
+      CoreMessage coreMessage = new CoreMessage().initBuffer(bodyBytes.length * 2);
+      coreMessage.setType(org.apache.activemq.artemis.api.core.Message.BYTES_TYPE);
+      coreMessage.getBodyBuffer().writeBytes(bodyBytes);
+      assertTrue(coreMessage.compressBody(0));
+
+      AMQPMessage newAMQP = CoreAmqpConverter.fromCore(coreMessage, null);
+      Data data = assertInstanceOf(Data.class, newAMQP.getBody());
+      assertArrayEquals(bodyBytes, data.getValue().getArray());
+      final ApplicationProperties applicationProperties = newAMQP.getApplicationProperties();
+      assertTrue(applicationProperties == null || !applicationProperties.getValue().containsKey(org.apache.activemq.artemis.api.core.Message.HDR_LARGE_COMPRESSED.toString()));
+   }
+
    private byte[] encodeObject(Object toEncode) {
       ByteBuf scratch = Unpooled.buffer();
       EncoderImpl encoder = TLSEncode.getEncoder();
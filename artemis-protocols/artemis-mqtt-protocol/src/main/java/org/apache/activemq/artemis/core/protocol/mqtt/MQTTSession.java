@@ -71,7 +71,7 @@ public class MQTTSession {
 
    private WildcardConfiguration wildcardConfiguration;
 
-   private CoreMessageObjectPools coreMessageObjectPools = new CoreMessageObjectPools();
+   private final CoreMessageObjectPools coreMessageObjectPools;
 
    private MQTTVersion version = null;
 
@@ -90,6 +90,7 @@ public class MQTTSession {
       this.wildcardConfiguration = wildcardConfiguration;
       this.connection = connection;
       this.sessionContext = sessionContext;
+      this.coreMessageObjectPools = new CoreMessageObjectPools(protocolHandler.getServer().getSharedSimpleStringPools());
 
       mqttConnectionManager = new MQTTConnectionManager(this);
       mqttPublishManager = new MQTTPublishManager(this, protocolManager.isCloseMqttConnectionOnPublishAuthorizationFailure());
@@ -170,7 +170,7 @@ public class OpenWireConnection extends AbstractRemotingConnection implements Se
 
    private final Map<SessionId, AMQSession> sessions = new ConcurrentHashMap<>();
 
-   private final CoreMessageObjectPools coreMessageObjectPools = new CoreMessageObjectPools();
+   private final CoreMessageObjectPools coreMessageObjectPools;
 
    private volatile ConnectionState state;
 
@@ -225,6 +225,7 @@ public class OpenWireConnection extends AbstractRemotingConnection implements Se
       super(connection, executor);
       this.server = server;
       this.operationContext = server.newOperationContext();
+      this.coreMessageObjectPools = new CoreMessageObjectPools(server.getSharedSimpleStringPools());
       this.protocolManager = openWireProtocolManager;
       this.inWireFormat = wf;
       this.outWireFormat = wf.copy();
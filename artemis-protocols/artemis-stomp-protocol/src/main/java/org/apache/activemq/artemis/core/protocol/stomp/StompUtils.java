@@ -145,7 +145,9 @@ public class StompUtils {
             name.equals(Message.HDR_PREFIX) ||
             name.equals(MessageUtil.TYPE_HEADER_NAME) ||
             name.equals(MessageUtil.CORRELATIONID_HEADER_NAME) ||
-            name.toString().equals(Stomp.Headers.Message.DESTINATION)) {
+            name.toString().equals(Stomp.Headers.Message.DESTINATION) ||
+            // the body of a regular message is sent inflated
+            name.equals(Message.HDR_LARGE_COMPRESSED) && !message.isLargeMessage()) {
             continue;
          }
 
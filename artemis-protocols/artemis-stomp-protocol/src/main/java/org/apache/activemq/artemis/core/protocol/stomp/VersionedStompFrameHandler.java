@@ -350,7 +350,8 @@ public abstract class VersionedStompFrameHandler {
    }
 
    private void populateFrameBodyFromMessage(StompFrame frame, ICoreMessage serverMessage) {
-      final ActiveMQBuffer buffer = serverMessage.getReadOnlyBodyBuffer();
+      // inflated if compressed
+      final ActiveMQBuffer buffer = serverMessage.getDataBuffer();
       final int bodyLength = buffer.readableBytes();
 
       if (bodyLength > 0) {
@@ -21,6 +21,9 @@ import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.DataConstants;
+
 /**
  * A filter performing a comparison of two objects
  */
@@ -31,9 +34,39 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
    boolean convertStringExpressions = false;
    private static final Set<Character> REGEXP_CONTROL_CHARS = new HashSet<>();
 
+   /**
+    * Returned by {@link #compareProperty(Filterable)} when the property has to be compared through
+    * {@link #compare(Comparable, Comparable)}.
+    */
+   private static final Object UNTYPED = new Object();
+
+   /**
+    * The property compared with a literal, read as it is stored by {@link #compareProperty(Filterable)}, or
+    * {@code null} if this isn't a {@code property <op> literal} comparison.
+    */
+   private final SimpleString propertyName;
+   private final Object literal;
+   private final SimpleString simpleLiteral;
+   private final boolean integralLiteral;
+   private final long longLiteral;
+   private final double doubleLiteral;
+
    public ComparisonExpression(Expression left, Expression right) {
       super(left, right);
       convertStringExpressions = CONVERT_STRING_EXPRESSIONS.get() != null;
+      final Object value = right instanceof ConstantExpression constant ? constant.getValue() : null;
+      if (!convertStringExpressions && left instanceof PropertyExpression property && right instanceof ConstantExpression &&
+         (value == null || value instanceof String || value instanceof Integer || value instanceof Long || value instanceof Double)) {
+         propertyName = property.getSimpleName();
+         literal = value;
+      } else {
+         propertyName = null;
+         literal = null;
+      }
+      simpleLiteral = literal instanceof String string ? SimpleString.of(string) : null;
+      integralLiteral = literal instanceof Integer || literal instanceof Long;
+      longLiteral = literal instanceof Number number ? number.longValue() : 0;
+      doubleLiteral = literal instanceof Number number ? number.doubleValue() : 0;
    }
 
    public static BooleanExpression createBetween(Expression value, Expression left, Expression right) {
@@ -208,6 +241,10 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
 
          @Override
          public Object evaluate(Filterable message) throws FilterException {
+            final Object result = compareProperty(message);
+            if (result != UNTYPED) {
+               return result;
+            }
             Object lv = left.evaluate(message);
             Object rv = right.evaluate(message);
 
@@ -229,6 +266,10 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
 
          @Override
          public boolean matches(Filterable message) throws FilterException {
+            final Object result = compareProperty(message);
+            if (result != UNTYPED) {
+               return result == Boolean.TRUE;
+            }
             Object lv = left.evaluate(message);
             Object rv = right.evaluate(message);
 
@@ -372,6 +413,10 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
 
    @Override
    public Object evaluate(Filterable message) throws FilterException {
+      final Object result = compareProperty(message);
+      if (result != UNTYPED) {
+         return result;
+      }
       Comparable<Comparable> lv = (Comparable) left.evaluate(message);
       if (lv == null) {
          return null;
@@ -383,6 +428,59 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
       return compare(lv, rv);
    }
 
+   /**
+    * Compares a property with a literal without boxing or converting the property, reading it through
+    * {@link Filterable#getRawProperty(SimpleString)} and the typed reads of {@link Filterable}. The result is the one of
+    * {@link #compare(Comparable, Comparable)}: two integral values are compared as {@code long}, a {@code float} property
+    * is compared with an integral literal as {@code float} and any other number as {@code double}.
+    *
+    * @return {@link Boolean#TRUE}, {@link Boolean#FALSE} or {@code null} for unknown, or {@link #UNTYPED} if this isn't
+    * a {@code property <op> literal} comparison or the type of the property needs the conversions of the interpreter
+    */
+   final Object compareProperty(Filterable message) throws FilterException {
+      final SimpleString name = propertyName;
+      if (name == null) {
+         return UNTYPED;
+      }
+      final Object literal = this.literal;
+      if (literal == null) {
+         // IS NULL
+         return message.getPropertyType(name) == DataConstants.NULL ? Boolean.TRUE : Boolean.FALSE;
+      }
+      final int comparison;
+      if (literal instanceof String string) {
+         final Object value = message.getRawProperty(name);
+         if (value == null) {
+            return null;
+         }
+         // only = compares strings, see checkLessThanOperand
+         final Class<?> type = value.getClass();
+         if (type == SimpleString.class) {
+            comparison = simpleLiteral.equals(value) ? 0 : 1;
+         } else if (type == String.class) {
+            comparison = string.equals(value) ? 0 : 1;
+         } else {
+            return UNTYPED;
+         }
+      } else {
+         final byte type = message.getPropertyType(name);
+         if (type == DataConstants.INT || type == DataConstants.LONG || type == DataConstants.SHORT || type == DataConstants.BYTE) {
+            final long longValue = message.getLongProperty(name);
+            comparison = integralLiteral ? Long.compare(longValue, longLiteral) : Double.compare((double) longValue, doubleLiteral);
+         } else if (type == DataConstants.DOUBLE) {
+            comparison = Double.compare(message.getDoubleProperty(name), doubleLiteral);
+         } else if (type == DataConstants.FLOAT) {
+            final float floatValue = (float) message.getDoubleProperty(name);
+            comparison = integralLiteral ? Float.compare(floatValue, (float) longLiteral) : Double.compare(floatValue, doubleLiteral);
+         } else if (type == DataConstants.NULL) {
+            return null;
+         } else {
+            return UNTYPED;
+         }
+      }
+      return asBoolean(comparison) ? Boolean.TRUE : Boolean.FALSE;
+   }
+
    protected Boolean compare(Comparable lv, Comparable rv) {
       Class<? extends Comparable> lc = lv.getClass();
       Class<? extends Comparable> rc = rv.getClass();
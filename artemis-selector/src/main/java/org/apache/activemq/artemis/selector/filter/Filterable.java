@@ -17,6 +17,8 @@
 package org.apache.activemq.artemis.selector.filter;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.DataConstants;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
 
 /**
  * A Filterable is the object being evaluated by the filters.  It provides access to filtered properties.
@@ -33,6 +35,40 @@ public interface Filterable {
     */
    Object getProperty(SimpleString name);
 
+   /**
+    * Extracts the named message property as it is stored, without converting it: unlike
+    * {@link #getProperty(SimpleString)}, a string can be returned as a {@link SimpleString}. The comparisons of a
+    * property with a literal read the property through it, so that matching a message doesn't allocate.
+    */
+   default Object getRawProperty(SimpleString name) {
+      return getProperty(name);
+   }
+
+   /**
+    * {@return the type of the named message property, as defined by {@link TypedProperties#getType(Object)}}
+    * <p>
+    * The comparisons of a property with a literal use it to read the numeric properties through {@link #getLongProperty(SimpleString)} and
+    * {@link #getDoubleProperty(SimpleString)}, without boxing them.
+    */
+   default byte getPropertyType(SimpleString name) {
+      return TypedProperties.getType(getRawProperty(name));
+   }
+
+   /**
+    * Reads a property of type {@link DataConstants#BYTE}, {@link DataConstants#SHORT}, {@link DataConstants#INT} or
+    * {@link DataConstants#LONG}.
+    */
+   default long getLongProperty(SimpleString name) {
+      return ((Number) getRawProperty(name)).longValue();
+   }
+
+   /**
+    * Reads a property of type {@link DataConstants#FLOAT} or {@link DataConstants#DOUBLE}.
+    */
+   default double getDoubleProperty(SimpleString name) {
+      return ((Number) getRawProperty(name)).doubleValue();
+   }
+
    /**
     * Used by the NoLocal filter.
     *
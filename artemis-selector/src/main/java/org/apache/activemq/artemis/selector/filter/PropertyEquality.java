@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * A {@code property = 'literal'} predicate that must hold for a selector to match, i.e. either the whole selector or
+ * one of the conjuncts of its top level {@code AND}.
+ * <p>
+ * A message can match the selector only if its property is a {@code String} equal to the literal, which allows the
+ * selectors of many subscriptions to be indexed by literal and discarded without being evaluated.
+ */
+public final class PropertyEquality {
+
+   private final SimpleString property;
+
+   private final String literal;
+
+   private final boolean exact;
+
+   private PropertyEquality(SimpleString property, String literal, boolean exact) {
+      this.property = property;
+      this.literal = literal;
+      this.exact = exact;
+   }
+
+   /**
+    * {@return the equality required by {@code expression}, or {@code null} if there is none}
+    */
+   public static PropertyEquality of(BooleanExpression expression) {
+      if (expression instanceof LogicExpression logic && "AND".equals(logic.getExpressionSymbol())) {
+         for (BooleanExpression conjunct : logic.expressions) {
+            final PropertyEquality equality = of(conjunct, false);
+            if (equality != null) {
+               return equality;
+            }
+         }
+         return null;
+      }
+      return of(expression, true);
+   }
+
+   private static PropertyEquality of(BooleanExpression expression, boolean exact) {
+      if (expression instanceof ComparisonExpression comparison && !comparison.convertStringExpressions && "=".equals(comparison.getExpressionSymbol()) && comparison.getLeft() instanceof PropertyExpression property && comparison.getRight() instanceof ConstantExpression constant && constant.getValue() instanceof String literal) {
+         return new PropertyEquality(SimpleString.of(property.getName()), literal, exact);
+      }
+      return null;
+   }
+
+   public SimpleString getProperty() {
+      return property;
+   }
+
+   public String getLiteral() {
+      return literal;
+   }
+
+   /**
+    * {@return true if the equality is the whole selector, i.e. a message whose property equals the literal matches
+    * the selector without any further evaluation}
+    */
+   public boolean isExact() {
+      return exact;
+   }
+
+   @Override
+   public String toString() {
+      return "PropertyEquality[" + property + " = '" + literal + "'" + (exact ? "" : " AND ...") + "]";
+   }
+}
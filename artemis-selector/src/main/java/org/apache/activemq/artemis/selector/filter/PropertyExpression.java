@@ -42,6 +42,10 @@ public class PropertyExpression implements Expression {
       return name.toString();
    }
 
+   public SimpleString getSimpleName() {
+      return name;
+   }
+
    @Override
    public String toString() {
       return name.toString();
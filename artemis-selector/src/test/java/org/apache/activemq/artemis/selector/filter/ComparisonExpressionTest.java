@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.MockMessage;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.apache.activemq.artemis.utils.DataConstants;
+import org.junit.jupiter.api.Test;
+
+public class ComparisonExpressionTest {
+
+   private static final String[] PREDICATES = {
+      "%s = 5", "%s = 5.0", "%s > 5", "%s >= 5.5", "%s < 5", "%s <= -3", "%s > 3000000000", "%s = 0.0",
+      "%s = 'x'", "%s <> 'x'", "%s = '5'", "%s IS NULL", "%s IS NOT NULL", "%s LIKE 'x%%'", "%s IN ('x', 'y')",
+      "%s BETWEEN 1 AND 5", "%s NOT BETWEEN 1 AND 5", "%s = TRUE", "%s + 1 > 3", "5 < %s"
+   };
+
+   private static final Object[] VALUES = {
+      null, (byte) 5, (short) -3, 5, 6, 3000000001L, 5L, 5.5f, 5.0f, Float.NaN, 5.5, -0.0, 0.0, Double.NaN, "x", "y", "5", true, false
+   };
+
+   private static final String[] PROPERTIES = {"a", "b", "c"};
+
+   /**
+    * Not a type compared with a literal without boxing it.
+    */
+   private static final Object UNTYPED_VALUE = new Object();
+
+   @Test
+   public void testTypedReadsMatchConvertedValues() throws Exception {
+      final Random random = new Random(0);
+      for (int i = 0; i < 2000; i++) {
+         final String text = randomSelector(random, 3);
+         final BooleanExpression selector = SelectorParser.parse(text);
+         for (int j = 0; j < 20; j++) {
+            // the strings are stored as SimpleString and converted to String by getProperty
+            final MockMessage typed = new MockMessage() {
+               @Override
+               public Object getProperty(SimpleString name) {
+                  final Object value = super.getProperty(name);
+                  return value instanceof SimpleString ? value.toString() : value;
+               }
+
+               @Override
+               public Object getRawProperty(SimpleString name) {
+                  return super.getProperty(name);
+               }
+            };
+            // every property is compared after being converted by the interpreter
+            final MockMessage converted = new MockMessage() {
+               @Override
+               public Object getRawProperty(SimpleString name) {
+                  return getProperty(name) == null ? null : UNTYPED_VALUE;
+               }
+
+               @Override
+               public byte getPropertyType(SimpleString name) {
+                  return getProperty(name) == null ? DataConstants.NULL : DataConstants.BOOLEAN;
+               }
+            };
+            for (String property : PROPERTIES) {
+               final Object value = VALUES[random.nextInt(VALUES.length)];
+               if (value != null) {
+                  typed.setObjectProperty(property, value instanceof String string ? SimpleString.of(string) : value);
+                  converted.setObjectProperty(property, value);
+               }
+            }
+            assertEquals(outcome(selector, converted, false), outcome(selector, typed, false), text);
+            assertEquals(outcome(selector, converted, true), outcome(selector, typed, true), text);
+         }
+      }
+   }
+
+   @Test
+   public void testComparisonsWithLiteralsDoNotConvertProperties() throws Exception {
+      final MockMessage message = new MockMessage() {
+         @Override
+         public Object getProperty(SimpleString name) {
+            throw new AssertionError("converted " + name);
+         }
+
+         @Override
+         public Object getRawProperty(SimpleString name) {
+            return super.getProperty(name);
+         }
+      };
+      message.setObjectProperty("a", 6L);
+      message.setObjectProperty("b", 2.5f);
+      message.setObjectProperty("c", SimpleString.of("x"));
+
+      assertTrue(SelectorParser.parse("a > 5 AND a <= 6 AND NOT (a = 7) AND b < 3 AND b >= 2.5 AND c = 'x' AND d IS NULL").matches(message));
+      assertFalse(SelectorParser.parse("c <> 'x' OR a BETWEEN 1 AND 5 OR b IS NULL").matches(message));
+   }
+
+   private static String randomSelector(Random random, int depth) {
+      if (depth == 0 || random.nextInt(3) == 0) {
+         final String predicate = PREDICATES[random.nextInt(PREDICATES.length)];
+         return String.format(predicate, PROPERTIES[random.nextInt(PROPERTIES.length)]);
+      }
+      return switch (random.nextInt(3)) {
+         case 0 -> "(" + randomSelector(random, depth - 1) + " AND " + randomSelector(random, depth - 1) + ")";
+         case 1 -> "(" + randomSelector(random, depth - 1) + " OR " + randomSelector(random, depth - 1) + ")";
+         default -> "NOT (" + randomSelector(random, depth - 1) + ")";
+      };
+   }
+
+   private static Object outcome(BooleanExpression expression, Filterable message, boolean matches) {
+      try {
+         return matches ? expression.matches(message) : expression.evaluate(message);
+      } catch (Exception e) {
+         return e.getClass();
+      }
+   }
+}
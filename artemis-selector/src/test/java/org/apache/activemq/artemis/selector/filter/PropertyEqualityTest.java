@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.junit.jupiter.api.Test;
+
+public class PropertyEqualityTest {
+
+   @Test
+   public void testExactEquality() throws Exception {
+      final PropertyEquality equality = PropertyEquality.of(SelectorParser.parse("color = 'red'"));
+      assertEquals(SimpleString.of("color"), equality.getProperty());
+      assertEquals("red", equality.getLiteral());
+      assertTrue(equality.isExact());
+   }
+
+   @Test
+   public void testEqualityConjunct() throws Exception {
+      final PropertyEquality equality = PropertyEquality.of(SelectorParser.parse("weight > 5 AND color = 'red' AND size = 'L'"));
+      assertEquals(SimpleString.of("color"), equality.getProperty());
+      assertEquals("red", equality.getLiteral());
+      assertFalse(equality.isExact());
+   }
+
+   @Test
+   public void testNoRequiredEquality() throws Exception {
+      assertNull(PropertyEquality.of(SelectorParser.parse("color = 'red' OR color = 'blue'")));
+      assertNull(PropertyEquality.of(SelectorParser.parse("NOT (color = 'red')")));
+      assertNull(PropertyEquality.of(SelectorParser.parse("color <> 'red'")));
+      assertNull(PropertyEquality.of(SelectorParser.parse("weight = 5")));
+      assertNull(PropertyEquality.of(SelectorParser.parse("'red' = color")));
+      assertNull(PropertyEquality.of(SelectorParser.parse("convert_string_expressions:color = 'red'")));
+   }
+}
@@ -629,6 +629,18 @@ public interface Configuration {
     */
    Configuration setPersistIDCache(boolean persist);
 
+   /**
+    * {@return the number of target queues from which a routed message is added to its queues in parallel, or -1 if
+    * messages are always added to their queues by the routing thread; default is {@link
+    * ActiveMQDefaultConfiguration#DEFAULT_PARALLEL_FAN_OUT_THRESHOLD}}
+    */
+   int getParallelFanOutThreshold();
+
+   /**
+    * Sets the number of target queues from which a routed message is added to its queues in parallel.
+    */
+   Configuration setParallelFanOutThreshold(int threshold);
+
    // Journal related attributes ------------------------------------------------------------
 
    /**
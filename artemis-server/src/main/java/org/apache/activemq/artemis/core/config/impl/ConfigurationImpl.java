@@ -218,6 +218,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean persistIDCache = ActiveMQDefaultConfiguration.isDefaultPersistIdCache();
 
+   private int parallelFanOutThreshold = ActiveMQDefaultConfiguration.getDefaultParallelFanOutThreshold();
+
    private List<String> incomingInterceptorClassNames = new ArrayList<>();
 
    private List<String> outgoingInterceptorClassNames = new ArrayList<>();
@@ -1764,6 +1766,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public int getParallelFanOutThreshold() {
+      return parallelFanOutThreshold;
+   }
+
+   @Override
+   public ConfigurationImpl setParallelFanOutThreshold(final int threshold) {
+      parallelFanOutThreshold = threshold;
+      return this;
+   }
+
    @Override
    public File getBindingsLocation() {
       return subFolder(getBindingsDirectory());
@@ -2936,6 +2949,7 @@ public class ConfigurationImpl implements Configuration, Serializable {
       result = prime * result + ((pagingDirectory == null) ? 0 : pagingDirectory.hashCode());
       result = prime * result + (persistDeliveryCountBeforeDelivery ? 1231 : 1237);
       result = prime * result + (persistIDCache ? 1231 : 1237);
+      result = prime * result + parallelFanOutThreshold;
       result = prime * result + (persistenceEnabled ? 1231 : 1237);
 //      result = prime * result + ((queueConfigurations == null) ? 0 : queueConfigurations.hashCode());
       result = prime * result + scheduledThreadPoolMaxSize;
@@ -3148,6 +3162,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
          return false;
       if (persistIDCache != other.persistIDCache)
          return false;
+      if (parallelFanOutThreshold != other.parallelFanOutThreshold)
+         return false;
       if (persistenceEnabled != other.persistenceEnabled)
          return false;
 //      if (queueConfigurations == null) {
@@ -400,6 +400,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String INITIAL_QUEUE_BUFFER_SIZE = "initial-queue-buffer-size";
 
+   private static final String DISPATCH_BATCH_SIZE = "dispatch-batch-size";
+
+   private static final String DISPATCH_WEIGHT = "dispatch-weight";
+
+   private static final String BODY_COMPRESSION_THRESHOLD = "body-compression-threshold";
+
    private static final String MQTT_SUBSCRIPTION_PERSISTENCE_ENABLED = "mqtt-subscription-persistence-enabled";
 
    private boolean validateAIO = false;
@@ -491,6 +497,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setPersistIDCache(getBoolean(e, "persist-id-cache", config.isPersistIDCache()));
 
+      config.setParallelFanOutThreshold(getInteger(e, "parallel-fan-out-threshold", config.getParallelFanOutThreshold(), MINUS_ONE_OR_GT_ZERO));
+
       config.setManagementAddress(SimpleString.of(getString(e, "management-address", config.getManagementAddress().toString(), NOT_NULL_OR_EMPTY)));
 
       config.setManagementNotificationAddress(SimpleString.of(getString(e, "management-notification-address", config.getManagementNotificationAddress().toString(), NOT_NULL_OR_EMPTY)));
@@ -1472,6 +1480,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setIDCacheSize(GE_ZERO.validate(ID_CACHE_SIZE, XMLUtil.parseInt(child)).intValue());
          } else if (INITIAL_QUEUE_BUFFER_SIZE.equalsIgnoreCase(name)) {
             addressSettings.setInitialQueueBufferSize(POSITIVE_POWER_OF_TWO.validate(INITIAL_QUEUE_BUFFER_SIZE, XMLUtil.parseInt(child)).intValue());
+         } else if (DISPATCH_BATCH_SIZE.equalsIgnoreCase(name)) {
+            addressSettings.setDispatchBatchSize(GT_ZERO.validate(DISPATCH_BATCH_SIZE, XMLUtil.parseInt(child)).intValue());
+         } else if (DISPATCH_WEIGHT.equalsIgnoreCase(name)) {
+            addressSettings.setDispatchWeight(GT_ZERO.validate(DISPATCH_WEIGHT, XMLUtil.parseInt(child)).intValue());
+         } else if (BODY_COMPRESSION_THRESHOLD.equalsIgnoreCase(name)) {
+            addressSettings.setBodyCompressionThreshold(MINUS_ONE_OR_GE_ZERO.validate(BODY_COMPRESSION_THRESHOLD, XMLUtil.parseInt(child)).intValue());
          }
       }
       return setting;
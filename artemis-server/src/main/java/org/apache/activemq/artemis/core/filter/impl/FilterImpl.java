@@ -29,8 +29,10 @@ import org.apache.activemq.artemis.core.server.federation.address.FederatedAddre
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.PropertyEquality;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
 import org.apache.activemq.artemis.utils.ByteUtil;
+import org.apache.activemq.artemis.utils.DataConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -62,6 +64,13 @@ public class FilterImpl implements Filter {
 
    private final BooleanExpression booleanExpression;
 
+   private final PropertyEquality requiredEquality;
+
+   /**
+    * Reused by {@link #match(Message)} while holding the lock of this filter, to not allocate a wrapper per message.
+    */
+   private final FilterableServerMessage filterableMessage = new FilterableServerMessage();
+
    /**
     * {@return null if {@code filterStr} is null or an empty String and a valid filter else}
     * @throws ActiveMQException if the string does not correspond to a valid filter
@@ -80,19 +89,64 @@ public class FilterImpl implements Filter {
       }
 
       BooleanExpression booleanExpression;
+      PropertyEquality requiredEquality;
       try {
          booleanExpression = SelectorParser.parse(filterStr.toString());
+         requiredEquality = PropertyEquality.of(booleanExpression);
       } catch (Throwable e) {
          ActiveMQServerLogger.LOGGER.invalidFilter(filterStr);
          logger.debug("Invalid filter", e);
          throw ActiveMQMessageBundle.BUNDLE.invalidFilter(filterStr, e);
       }
-      return new FilterImpl(filterStr, booleanExpression);
+      return new FilterImpl(filterStr, booleanExpression, requiredEquality);
    }
 
-   private FilterImpl(final SimpleString str, final BooleanExpression expression) {
+   private FilterImpl(final SimpleString str, final BooleanExpression expression, final PropertyEquality requiredEquality) {
       sfilterString = str;
       this.booleanExpression = expression;
+      this.requiredEquality = requiredEquality;
+   }
+
+   /**
+    * {@return the {@code property = 'literal'} predicate a message must satisfy to match this filter, or {@code null}
+    * if the filter has none}
+    */
+   public PropertyEquality getRequiredEquality() {
+      return requiredEquality;
+   }
+
+   /**
+    * {@return the value {@code property} has for this filter when evaluated against {@code message}}
+    * <p>
+    * Header fields (e.g. {@code AMQPriority}) are resolved as in a selector and {@code SimpleString} values are
+    * converted to {@code String}.
+    */
+   public static Object getFilterProperty(final Message message, final SimpleString property) {
+      Object result = getRawFilterProperty(message, property);
+      if (result != null) {
+         if (result.getClass() == SimpleString.class) {
+            result = result.toString();
+         }
+      }
+      return result;
+   }
+
+   /**
+    * As {@link #getFilterProperty(Message, SimpleString)}, but {@code SimpleString} values are returned as they are.
+    */
+   private static Object getRawFilterProperty(final Message message, final SimpleString property) {
+      Object result = null;
+      if (property.startsWith(FilterConstants.ACTIVEMQ_PREFIX)) {
+         result = getHeaderFieldValue(message, property);
+      }
+      if (property.startsWith(FederatedAddress.HDR_HOPS)) {
+         byte[] bytes = message.getExtraBytesProperty(FederatedAddress.HDR_HOPS);
+         result = bytes == null ? null : ByteUtil.bytesToInt(bytes);
+      }
+      if (result == null) {
+         result = message.getObjectPropertyForFilter(property);
+      }
+      return result;
    }
 
    // Filter implementation ---------------------------------------------------------------------
@@ -103,8 +157,13 @@ public class FilterImpl implements Filter {
    }
 
    @Override
-   public boolean match(final Message message) {
-      return match(new FilterableServerMessage(message));
+   public synchronized boolean match(final Message message) {
+      filterableMessage.message = message;
+      try {
+         return match(filterableMessage);
+      } finally {
+         filterableMessage.message = null;
+      }
    }
 
    @Override
@@ -193,6 +252,40 @@ public class FilterImpl implements Filter {
       }
    }
 
+   /**
+    * {@return true if {@code property} is neither a header field nor {@link FederatedAddress#HDR_HOPS}, i.e. its value
+    * is just the one of the message property}
+    */
+   private static boolean isMessageProperty(final SimpleString property) {
+      return !property.startsWith(FilterConstants.ACTIVEMQ_PREFIX) && !property.startsWith(FederatedAddress.HDR_HOPS);
+   }
+
+   /**
+    * {@return the type of the numeric header field {@code fieldName}, or {@link DataConstants#NULL} if it's not a
+    * numeric header field}
+    */
+   private static byte getNumericHeaderFieldType(final SimpleString fieldName) {
+      if (FilterConstants.ACTIVEMQ_PRIORITY.equals(fieldName) || FilterConstants.ACTIVEMQ_SIZE.equals(fieldName)) {
+         return DataConstants.INT;
+      } else if (FilterConstants.ACTIVEMQ_TIMESTAMP.equals(fieldName) || FilterConstants.ACTIVEMQ_EXPIRATION.equals(fieldName)) {
+         return DataConstants.LONG;
+      } else {
+         return DataConstants.NULL;
+      }
+   }
+
+   private static long getNumericHeaderFieldValue(final Message msg, final SimpleString fieldName) {
+      if (FilterConstants.ACTIVEMQ_PRIORITY.equals(fieldName)) {
+         return msg.getPriority();
+      } else if (FilterConstants.ACTIVEMQ_SIZE.equals(fieldName)) {
+         return msg.getEncodeSize();
+      } else if (FilterConstants.ACTIVEMQ_TIMESTAMP.equals(fieldName)) {
+         return msg.getTimestamp();
+      } else {
+         return msg.getExpiration();
+      }
+   }
+
    private static class FilterableMap implements Filterable {
 
       private final Map<String, String> map;
@@ -219,31 +312,44 @@ public class FilterImpl implements Filter {
 
    private static class FilterableServerMessage implements Filterable {
 
-      private final Message message;
+      private Message message;
 
-      private FilterableServerMessage(Message message) {
-         this.message = message;
+      @Override
+      public Object getProperty(SimpleString id) {
+         return getFilterProperty(message, id);
       }
 
       @Override
-      public Object getProperty(SimpleString id) {
-         Object result = null;
-         if (id.startsWith(FilterConstants.ACTIVEMQ_PREFIX)) {
-            result = getHeaderFieldValue(message, id);
+      public Object getRawProperty(SimpleString id) {
+         return getRawFilterProperty(message, id);
+      }
+
+      @Override
+      public byte getPropertyType(SimpleString id) {
+         if (isMessageProperty(id)) {
+            return message.getPropertyTypeForFilter(id);
          }
-         if (id.startsWith(FederatedAddress.HDR_HOPS)) {
-            byte[] bytes = message.getExtraBytesProperty(FederatedAddress.HDR_HOPS);
-            result = bytes == null ? null : ByteUtil.bytesToInt(bytes);
+         final byte type = getNumericHeaderFieldType(id);
+         return type != DataConstants.NULL ? type : Filterable.super.getPropertyType(id);
+      }
+
+      @Override
+      public long getLongProperty(SimpleString id) {
+         if (isMessageProperty(id)) {
+            return message.getLongPropertyForFilter(id);
          }
-         if (result == null) {
-            result = message.getObjectPropertyForFilter(id);
+         if (getNumericHeaderFieldType(id) != DataConstants.NULL) {
+            return getNumericHeaderFieldValue(message, id);
          }
-         if (result != null) {
-            if (result.getClass() == SimpleString.class) {
-               result = result.toString();
-            }
+         return Filterable.super.getLongProperty(id);
+      }
+
+      @Override
+      public double getDoubleProperty(SimpleString id) {
+         if (isMessageProperty(id)) {
+            return message.getDoublePropertyForFilter(id);
          }
-         return result;
+         return Filterable.super.getDoubleProperty(id);
       }
 
       @Override
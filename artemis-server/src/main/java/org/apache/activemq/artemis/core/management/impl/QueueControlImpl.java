@@ -49,6 +49,7 @@ import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Consumer;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.QueueOperationProgress;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
 import org.apache.activemq.artemis.core.server.impl.RefsOperation;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
@@ -712,6 +713,21 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       }
    }
 
+   @Override
+   public int getLastValueKeyCount() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getLastValueKeyCount(queue);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         return queue.getLastValueKeyCount();
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public int getConsumersBeforeDispatch() {
       if (AuditLogger.isBaseLoggingEnabled()) {
@@ -1537,6 +1553,46 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       }
    }
 
+   @Override
+   public String getRunningOperation() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getRunningOperation(queue);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         QueueOperationProgress progress = queue.getRunningOperation();
+         if (progress == null) {
+            return null;
+         }
+         return JsonLoader.createObjectBuilder()
+            .add("operation", progress.getOperation())
+            .add("startTime", progress.getStartTime())
+            .add("scanned", progress.getScanned())
+            .add("affected", progress.getAffected())
+            .add("cancelled", progress.isCancelled())
+            .build().toString();
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public boolean cancelRunningOperation() throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.cancelRunningOperation(queue);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         return queue.cancelRunningOperation();
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public boolean changeMessagePriority(final long messageID, final int newPriority) throws Exception {
       if (AuditLogger.isBaseLoggingEnabled()) {
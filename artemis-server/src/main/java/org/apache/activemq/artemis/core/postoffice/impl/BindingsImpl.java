@@ -94,6 +94,11 @@ public final class BindingsImpl implements Bindings {
 
    private volatile boolean hasLocal;
 
+   /**
+    * Built lazily by the first routing after the bindings have changed
+    */
+   private volatile FilterIndex filterIndex;
+
    public BindingsImpl(final SimpleString name, final GroupingHandler groupingHandler, StorageManager storageManager) {
       this.groupingHandler = groupingHandler;
       this.storageManager = storageManager;
@@ -407,8 +412,10 @@ public final class BindingsImpl implements Bindings {
          logger.trace("Routing message {} on binding={} current context::{}", message, this, context);
       }
 
+      final FilterIndex.Evaluation filterEvaluation = getFilterIndex(currentVersion).evaluate(message);
+
       routingNameBindingMap.forEachBindings((bindings, nextPosition) -> {
-         final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
+         final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context), filterEvaluation);
          if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
             context.setReusable(true, currentVersion);
          } else {
@@ -424,6 +431,16 @@ public final class BindingsImpl implements Bindings {
       });
    }
 
+   private FilterIndex getFilterIndex(final int currentVersion) {
+      FilterIndex index = filterIndex;
+      if (index == null || index.getVersion() != currentVersion) {
+         // concurrent routings could build it twice, which is harmless
+         index = FilterIndex.build(currentVersion, routingNameBindingMap);
+         filterIndex = index;
+      }
+      return index;
+   }
+
    @Override
    public String toString() {
       return "BindingsImpl [name=" + name + "]";
@@ -439,7 +456,8 @@ public final class BindingsImpl implements Bindings {
    private Binding getNextBinding(final Message message,
                                   final Binding[] bindings,
                                   final CopyOnWriteBindings.BindingIndex bindingIndex,
-                                  final MessageLoadBalancingType loadBalancingType) {
+                                  final MessageLoadBalancingType loadBalancingType,
+                                  final FilterIndex.Evaluation filterEvaluation) {
       int nextPosition = bindingIndex.getIndex();
 
       final int bindingsCount = bindings.length;
@@ -453,7 +471,7 @@ public final class BindingsImpl implements Bindings {
 
       for (int i = 0; i < bindingsCount; i++) {
          final Binding binding = bindings[nextPosition];
-         if (matchBinding(message, binding, loadBalancingType)) {
+         if (matchBinding(message, binding, loadBalancingType, filterEvaluation)) {
             // bindings.length == 1 ==> only a local queue so we don't check for matching consumers (it's an
             // unnecessary overhead)
             if (bindingsCount == 1 || (binding.isConnected() && (loadBalancingType.equals(MessageLoadBalancingType.STRICT) || binding.isHighAcceptPriority(message)))) {
@@ -483,7 +501,8 @@ public final class BindingsImpl implements Bindings {
 
    private static boolean matchBinding(final Message message,
                                        final Binding binding,
-                                       final MessageLoadBalancingType loadBalancingType) {
+                                       final MessageLoadBalancingType loadBalancingType,
+                                       final FilterIndex.Evaluation filterEvaluation) {
       if (loadBalancingType.equals(MessageLoadBalancingType.OFF) || loadBalancingType.equals(MessageLoadBalancingType.OFF_WITH_REDISTRIBUTION)) {
          if (!Objects.equals(message.getRoutingType(), RoutingType.MULTICAST) && binding instanceof RemoteQueueBinding) {
             return false;
@@ -496,10 +515,10 @@ public final class BindingsImpl implements Bindings {
 
       final Filter filter = binding.getFilter();
 
-      if (filter == null || filter.match(message)) {
+      if (filter == null) {
          return true;
       }
-      return false;
+      return filterEvaluation == null ? filter.match(message) : filterEvaluation.match(filter);
    }
 
    private void routeUsingStrictOrdering(final Message message,
@@ -518,7 +537,7 @@ public final class BindingsImpl implements Bindings {
 
          if (resp == null) {
             // ok let's find the next binding to propose
-            Binding theBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
+            Binding theBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context), null);
             if (theBinding == null) {
                return;
             }
@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import org.apache.activemq.artemis.utils.ByteUtil;
+
+import static io.netty.util.internal.MathUtil.findNextPositivePowerOfTwo;
+
+/**
+ * The storage of the duplicate IDs of a {@link org.apache.activemq.artemis.core.postoffice.DuplicateIDCache}: a FIFO
+ * ring of at most {@code capacity} IDs, indexed by an open addressing hash table.
+ * <p>
+ * The ring keeps the ID arrays as they are (with the journal record ID of each, if any) and the index is made of two
+ * parallel {@code int} arrays, holding the ring position and the hash of each ID: no object is allocated per ID or per
+ * lookup. The hashes stored in the index work as fingerprints on the lookup path: an ID missing from the cache is
+ * usually rejected by comparing the hashes alone, without touching any ID array.
+ * <p>
+ * Mutations are expected to be serialized by the owning cache, while lookups can run concurrently with them: they are
+ * optimistic and retry under a read lock if a mutation happened meanwhile.
+ */
+final class DuplicateIDTable {
+
+   private static final int MIN_INDEX_CAPACITY = 16;
+
+   private final int capacity;
+
+   private final int maxIndexCapacity;
+
+   private final boolean recordIDs;
+
+   private final StampedLock lock = new StampedLock();
+
+   private byte[][] ids;
+
+   private long[] records;
+
+   /**
+    * The number of ring slots in use: it grows up to {@link #capacity} and never shrinks, as {@code ids} can have
+    * {@code null} slots for the deleted IDs.
+    */
+   private int used;
+
+   /**
+    * The ring position of the next ID to add (and to evict, once the ring is full).
+    */
+   private int position;
+
+   /**
+    * The ring position + 1 of each ID in the index, 0 for a free index slot.
+    */
+   private int[] indexPositions;
+
+   private int[] indexHashes;
+
+   private int indexSize;
+
+   DuplicateIDTable(final int capacity, final boolean recordIDs) {
+      if (capacity <= 0) {
+         throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+      }
+      this.capacity = capacity;
+      this.recordIDs = recordIDs;
+      // the index keeps a load factor of 0.5 at most
+      this.maxIndexCapacity = findNextPositivePowerOfTwo(Math.max(MIN_INDEX_CAPACITY, capacity * 2));
+      allocate();
+   }
+
+   private void allocate() {
+      final int ringCapacity = Math.min(capacity, MIN_INDEX_CAPACITY);
+      ids = new byte[ringCapacity][];
+      records = recordIDs ? new long[ringCapacity] : null;
+      indexPositions = new int[MIN_INDEX_CAPACITY];
+      indexHashes = new int[MIN_INDEX_CAPACITY];
+      used = 0;
+      position = 0;
+      indexSize = 0;
+   }
+
+   private static int hash(final byte[] id) {
+      final int h = ByteUtil.hashCode(id);
+      return h ^ (h >>> 16);
+   }
+
+   /**
+    * {@return the ring position of {@code id}, or -1 if it's not in the table}
+    */
+   int indexOf(final byte[] id) {
+      final int hash = hash(id);
+      final long stamp = lock.tryOptimisticRead();
+      if (stamp != 0) {
+         final int index = probe(id, hash);
+         if (lock.validate(stamp)) {
+            return index;
+         }
+      }
+      final long readStamp = lock.readLock();
+      try {
+         return probe(id, hash);
+      } finally {
+         lock.unlockRead(readStamp);
+      }
+   }
+
+   boolean contains(final byte[] id) {
+      return indexOf(id) >= 0;
+   }
+
+   /**
+    * It can run concurrently with a mutation, hence it must not fail on inconsistent arrays: the result is discarded
+    * anyway if a mutation happened.
+    */
+   private int probe(final byte[] id, final int hash) {
+      final int[] positions = indexPositions;
+      final int[] hashes = indexHashes;
+      final byte[][] ids = this.ids;
+      if (positions.length != hashes.length) {
+         return -1;
+      }
+      final int mask = positions.length - 1;
+      int slot = hash & mask;
+      for (int i = 0; i <= mask; i++) {
+         final int position = positions[slot] - 1;
+         if (position < 0) {
+            return -1;
+         }
+         if (hashes[slot] == hash && position < ids.length) {
+            final byte[] candidate = ids[position];
+            if (candidate != null && (candidate == id || ByteUtil.equals(candidate, id))) {
+               return position;
+            }
+         }
+         slot = (slot + 1) & mask;
+      }
+      return -1;
+   }
+
+   /**
+    * {@return the ID the next {@link #add} will evict, or {@code null} if it won't evict any}
+    */
+   byte[] nextEvicted() {
+      return position < used ? ids[position] : null;
+   }
+
+   /**
+    * {@return the journal record ID of the ID the next {@link #add} will evict}
+    */
+   long nextEvictedRecordID() {
+      return records[position];
+   }
+
+   /**
+    * Adds {@code id} at the current position of the ring, evicting the ID previously there if the ring is full.
+    */
+   void add(final byte[] id, final long recordID) {
+      final long stamp = lock.writeLock();
+      try {
+         if (position < used) {
+            final byte[] evicted = ids[position];
+            if (evicted != null) {
+               removeFromIndex(evicted, position);
+            }
+         } else {
+            if (used == ids.length) {
+               growRing();
+            }
+            used++;
+         }
+         ids[position] = id;
+         if (recordIDs) {
+            records[position] = recordID;
+         }
+         addToIndex(id, position);
+         if (++position == capacity) {
+            position = 0;
+         }
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   /**
+    * Removes {@code id} from the table: its ring slot stays in use, but empty.
+    *
+    * @return the ring position of the removed ID, or -1 if it was not in the table
+    */
+   int remove(final byte[] id) {
+      final int position = indexOf(id);
+      if (position < 0) {
+         return -1;
+      }
+      final long stamp = lock.writeLock();
+      try {
+         removeFromIndex(ids[position], position);
+         ids[position] = null;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+      return position;
+   }
+
+   long recordIDAt(final int position) {
+      return records[position];
+   }
+
+   /**
+    * {@return the number of IDs in the table}
+    */
+   int size() {
+      return indexSize;
+   }
+
+   boolean isEmpty() {
+      return indexSize == 0;
+   }
+
+   void clear() {
+      final long stamp = lock.writeLock();
+      try {
+         allocate();
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   /**
+    * Iterates the IDs in ring order, starting from the ring slot 0.
+    */
+   void forEach(final IDConsumer consumer) {
+      for (int i = 0; i < used; i++) {
+         final byte[] id = ids[i];
+         if (id != null) {
+            consumer.accept(id, recordIDs ? records[i] : -1);
+         }
+      }
+   }
+
+   @FunctionalInterface
+   interface IDConsumer {
+
+      void accept(byte[] id, long recordID);
+   }
+
+   private void growRing() {
+      final int newLength = (int) Math.min(capacity, ids.length * 2L);
+      ids = Arrays.copyOf(ids, newLength);
+      if (recordIDs) {
+         records = Arrays.copyOf(records, newLength);
+      }
+   }
+
+   private void addToIndex(final byte[] id, final int position) {
+      final int hash = hash(id);
+      final int existing = probe(id, hash);
+      if (existing >= 0) {
+         // the same ID was added twice: the newer position wins, the older ring slot is just evicted later
+         replaceInIndex(hash, existing, position);
+         return;
+      }
+      if (indexSize + 1 > indexPositions.length / 2 && indexPositions.length < maxIndexCapacity) {
+         rehash(indexPositions.length * 2);
+      }
+      final int[] positions = indexPositions;
+      final int mask = positions.length - 1;
+      int slot = hash & mask;
+      while (positions[slot] != 0) {
+         slot = (slot + 1) & mask;
+      }
+      indexHashes[slot] = hash;
+      positions[slot] = position + 1;
+      indexSize++;
+   }
+
+   private void replaceInIndex(final int hash, final int oldPosition, final int newPosition) {
+      final int[] positions = indexPositions;
+      final int mask = positions.length - 1;
+      int slot = hash & mask;
+      while (positions[slot] != oldPosition + 1) {
+         slot = (slot + 1) & mask;
+      }
+      positions[slot] = newPosition + 1;
+   }
+
+   /**
+    * Removes the index entry of {@code id} if it points to {@code position}.
+    */
+   private void removeFromIndex(final byte[] id, final int position) {
+      final int[] positions = indexPositions;
+      final int[] hashes = indexHashes;
+      final int mask = positions.length - 1;
+      final int hash = hash(id);
+      int slot = hash & mask;
+      while (positions[slot] != position + 1) {
+         if (positions[slot] == 0) {
+            // the ID has been added again at a newer position
+            return;
+         }
+         slot = (slot + 1) & mask;
+      }
+      positions[slot] = 0;
+      indexSize--;
+      // backward shift the following entries of the probe chain, so lookups never stop on the freed slot
+      int deleteSlot = slot;
+      slot = (slot + 1) & mask;
+      while (positions[slot] != 0) {
+         final int hashSlot = hashes[slot] & mask;
+         if ((slot < hashSlot && (hashSlot <= deleteSlot || deleteSlot <= slot)) || (hashSlot <= deleteSlot && deleteSlot <= slot)) {
+            hashes[deleteSlot] = hashes[slot];
+            positions[deleteSlot] = positions[slot];
+            positions[slot] = 0;
+            deleteSlot = slot;
+         }
+         slot = (slot + 1) & mask;
+      }
+   }
+
+   private void rehash(final int newCapacity) {
+      final int[] oldPositions = indexPositions;
+      final int[] oldHashes = indexHashes;
+      final int[] positions = new int[newCapacity];
+      final int[] hashes = new int[newCapacity];
+      final int mask = newCapacity - 1;
+      for (int i = 0; i < oldPositions.length; i++) {
+         if (oldPositions[i] != 0) {
+            int slot = oldHashes[i] & mask;
+            while (positions[slot] != 0) {
+               slot = (slot + 1) & mask;
+            }
+            positions[slot] = oldPositions[i];
+            hashes[slot] = oldHashes[i];
+         }
+      }
+      indexHashes = hashes;
+      indexPositions = positions;
+   }
+}
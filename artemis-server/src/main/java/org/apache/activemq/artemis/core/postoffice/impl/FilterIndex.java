@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.selector.filter.PropertyEquality;
+
+/**
+ * Shares the evaluation of the filters of the bindings of an address across the bindings while routing a message.
+ * <p>
+ * Each distinct filter string gets a slot, so bindings with the same filter (e.g. many subscriptions using the same
+ * selector) evaluate it once per message. Filters requiring a {@code property = 'literal'} predicate are checked
+ * against the property value first: the value is read from the message once for all the filters on the same property
+ * and the filters whose literal differs are rejected without being evaluated, while a filter made of the equality
+ * only is accepted without being evaluated.
+ * <p>
+ * An index is immutable and built for a given version of the bindings: filters it doesn't know are simply evaluated.
+ */
+final class FilterIndex {
+
+   /**
+    * The minimum number of filtered bindings for the index to be worth it.
+    */
+   static final int MIN_FILTERED_BINDINGS = 8;
+
+   private static final byte UNKNOWN = 0;
+   private static final byte MATCH = 1;
+   private static final byte NO_MATCH = 2;
+
+   private static final Object NOT_READ = new Object();
+
+   private final int version;
+
+   private final boolean enabled;
+
+   private final IdentityHashMap<Filter, Integer> slots;
+
+   /**
+    * The index of the property of the required equality of each slot in {@link #properties}, or -1.
+    */
+   private final int[] slotProperties;
+
+   private final PropertyEquality[] slotEqualities;
+
+   private final SimpleString[] properties;
+
+   private FilterIndex(int version,
+                       boolean enabled,
+                       IdentityHashMap<Filter, Integer> slots,
+                       int[] slotProperties,
+                       PropertyEquality[] slotEqualities,
+                       SimpleString[] properties) {
+      this.version = version;
+      this.enabled = enabled;
+      this.slots = slots;
+      this.slotProperties = slotProperties;
+      this.slotEqualities = slotEqualities;
+      this.properties = properties;
+   }
+
+   static FilterIndex build(int version, CopyOnWriteBindings bindings) {
+      final IdentityHashMap<Filter, Integer> slots = new IdentityHashMap<>();
+      final Map<SimpleString, Integer> slotsByFilterString = new HashMap<>();
+      final Map<SimpleString, Integer> propertyIndexes = new HashMap<>();
+      final List<PropertyEquality> equalities = new ArrayList<>();
+      final int[] filteredBindings = new int[1];
+      bindings.forEachBindings((routingNameBindings, nextPosition) -> {
+         for (Binding binding : routingNameBindings) {
+            // other filter implementations are evaluated as they are: their filter string may mean something else
+            if (!(binding.getFilter() instanceof FilterImpl filter)) {
+               continue;
+            }
+            filteredBindings[0]++;
+            final Integer slot = slotsByFilterString.computeIfAbsent(filter.getFilterString(), filterString -> {
+               final PropertyEquality equality = filter.getRequiredEquality();
+               if (equality != null) {
+                  propertyIndexes.putIfAbsent(equality.getProperty(), propertyIndexes.size());
+               }
+               equalities.add(equality);
+               return equalities.size() - 1;
+            });
+            slots.put(filter, slot);
+         }
+      });
+      final int slotCount = equalities.size();
+      final int[] slotProperties = new int[slotCount];
+      final PropertyEquality[] slotEqualities = equalities.toArray(new PropertyEquality[slotCount]);
+      for (int i = 0; i < slotCount; i++) {
+         slotProperties[i] = slotEqualities[i] == null ? -1 : propertyIndexes.get(slotEqualities[i].getProperty());
+      }
+      final SimpleString[] properties = new SimpleString[propertyIndexes.size()];
+      propertyIndexes.forEach((property, index) -> properties[index] = property);
+      // sharing is only useful if there are enough filters, or if some of them are the same
+      final boolean enabled = filteredBindings[0] >= MIN_FILTERED_BINDINGS || slotCount < filteredBindings[0];
+      return new FilterIndex(version, enabled, slots, slotProperties, slotEqualities, properties);
+   }
+
+   int getVersion() {
+      return version;
+   }
+
+   /**
+    * {@return the evaluation of the indexed filters for {@code message}, or {@code null} if the filters should be
+    * evaluated one by one}
+    */
+   Evaluation evaluate(Message message) {
+      return enabled ? new Evaluation(message) : null;
+   }
+
+   /**
+    * The filter results for a single message: it is not thread safe and it is meant to be used for one routing only.
+    */
+   final class Evaluation {
+
+      private final Message message;
+
+      private final byte[] results;
+
+      private final Object[] values;
+
+      private Evaluation(Message message) {
+         this.message = message;
+         this.results = new byte[slotEqualities.length];
+         this.values = new Object[properties.length];
+         if (values.length > 0) {
+            Arrays.fill(values, NOT_READ);
+         }
+      }
+
+      boolean match(Filter filter) {
+         final Integer slot = slots.get(filter);
+         if (slot == null) {
+            return filter.match(message);
+         }
+         final byte result = results[slot];
+         if (result != UNKNOWN) {
+            return result == MATCH;
+         }
+         final boolean match = evaluate(filter, slot);
+         results[slot] = match ? MATCH : NO_MATCH;
+         return match;
+      }
+
+      private boolean evaluate(Filter filter, int slot) {
+         final int property = slotProperties[slot];
+         if (property >= 0) {
+            Object value = values[property];
+            if (value == NOT_READ) {
+               value = FilterImpl.getFilterProperty(message, properties[property]);
+               values[property] = value;
+            }
+            final PropertyEquality equality = slotEqualities[slot];
+            if (!(value instanceof String string) || !string.equals(equality.getLiteral())) {
+               return false;
+            }
+            if (equality.isExact()) {
+               return true;
+            }
+         }
+         return filter.match(message);
+      }
+   }
+}
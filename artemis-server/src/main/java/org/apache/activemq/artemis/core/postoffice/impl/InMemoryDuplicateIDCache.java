@@ -18,9 +18,6 @@ package org.apache.activemq.artemis.core.postoffice.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.IntFunction;
 
 import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
 import org.apache.activemq.artemis.api.core.Pair;
@@ -35,8 +32,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 
-import static org.apache.activemq.artemis.core.postoffice.impl.IntegerCache.boxedInts;
-
 /**
  * {@link InMemoryDuplicateIDCache} and {@link PersistentDuplicateIDCache} impls have been separated for performance and
  * memory footprint reasons.
@@ -49,15 +44,9 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-   private final Map<ByteArray, Integer> cache = new ConcurrentHashMap<>();
-
    private final SimpleString address;
 
-   private final List<ByteArray> ids;
-
-   private final IntFunction<Integer> cachedBoxedInts;
-
-   private int pos;
+   private final DuplicateIDTable ids;
 
    private final int cacheSize;
 
@@ -66,9 +55,7 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
 
       cacheSize = size;
 
-      ids = new ArrayList<>(size);
-
-      cachedBoxedInts = boxedInts(size);
+      ids = new DuplicateIDTable(size, false);
    }
 
    @Override
@@ -77,33 +64,16 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
    }
 
    @Override
-   public void deleteFromCache(byte[] duplicateID) {
-      deleteFromCache(new ByteArray(duplicateID));
-   }
-
-   private void deleteFromCache(final ByteArray duplicateID) {
+   public synchronized void deleteFromCache(final byte[] duplicateID) {
       if (logger.isTraceEnabled()) {
-         logger.trace("deleting id = {}", describeID(duplicateID.bytes));
+         logger.trace("deleting id = {}", describeID(duplicateID));
       }
 
-      Integer posUsed = cache.remove(duplicateID);
-
-      if (posUsed != null) {
-         ByteArray id;
-
-         synchronized (this) {
-            final int index = posUsed.intValue();
-            id = ids.get(index);
-
-            if (id.equals(duplicateID)) {
-               ids.set(index, null);
-               if (logger.isTraceEnabled()) {
-                  logger.trace("address = {} deleting id={}", address, describeID(duplicateID.bytes));
-               }
-            }
+      if (ids.remove(duplicateID) >= 0) {
+         if (logger.isTraceEnabled()) {
+            logger.trace("address = {} deleting id={}", address, describeID(duplicateID));
          }
       }
-
    }
 
    private static String describeID(byte[] duplicateID) {
@@ -112,15 +82,11 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
 
    @Override
    public boolean contains(final byte[] duplID) {
-      return contains(new ByteArray(duplID));
-   }
-
-   private boolean contains(final ByteArray id) {
-      boolean contains = cache.containsKey(id);
+      boolean contains = ids.contains(duplID);
 
       if (logger.isTraceEnabled()) {
          if (contains) {
-            logger.trace("address = {} found a duplicate {}", address, describeID(id.bytes));
+            logger.trace("address = {} found a duplicate {}", address, describeID(duplID));
          }
       }
       return contains;
@@ -138,81 +104,52 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
 
    @Override
    public synchronized boolean atomicVerify(final byte[] duplID, final Transaction tx) {
-      final ByteArray holder = new ByteArray(duplID);
-      if (contains(holder)) {
+      if (contains(duplID)) {
          if (tx != null) {
             tx.markAsRollbackOnly(new ActiveMQDuplicateIdException());
          }
          return false;
       }
-      addToCache(holder, tx, true);
+      addToCache(duplID, tx, true);
       return true;
    }
 
    @Override
-   public synchronized void addToCache(final byte[] duplID, final Transaction tx, boolean instantAdd) throws Exception {
-      addToCache(new ByteArray(duplID), tx, instantAdd);
-   }
-
-   private synchronized void addToCache(final ByteArray holder, final Transaction tx, boolean instantAdd) {
+   public synchronized void addToCache(final byte[] duplID, final Transaction tx, boolean instantAdd) {
       if (tx == null) {
-         addToCacheInMemory(holder);
+         addToCacheInMemory(duplID);
       } else {
          if (logger.isTraceEnabled()) {
-            logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address, describeID(holder.bytes), tx);
+            logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address, describeID(duplID), tx);
          }
 
          if (instantAdd) {
-            addToCacheInMemory(holder);
-            tx.addOperation(new AddDuplicateIDOperation(holder, false));
+            addToCacheInMemory(duplID);
+            tx.addOperation(new AddDuplicateIDOperation(duplID, false));
          } else {
             // For a tx, it's important that the entry is not added to the cache until commit
             // since if the client fails then resends them tx we don't want it to get rejected
-            tx.afterStore(new AddDuplicateIDOperation(holder, true));
+            tx.afterStore(new AddDuplicateIDOperation(duplID, true));
          }
       }
    }
 
    @Override
    public void load(final Transaction tx, final byte[] duplID) {
-      tx.addOperation(new AddDuplicateIDOperation(new ByteArray(duplID), true));
+      tx.addOperation(new AddDuplicateIDOperation(duplID, true));
    }
 
-   private synchronized void addToCacheInMemory(final ByteArray holder) {
+   private synchronized void addToCacheInMemory(final byte[] duplID) {
       if (logger.isTraceEnabled()) {
-         logger.trace("address = {} adding {}", address, describeID(holder.bytes));
-      }
-
-      cache.put(holder, cachedBoxedInts.apply(pos));
-
-      if (pos < ids.size()) {
-         // Need fast array style access here -hence ArrayList typing
-         final ByteArray id = ids.set(pos, holder);
-
+         logger.trace("address = {} adding {}", address, describeID(duplID));
          // The id here might be null if it was explicit deleted
-         if (id != null) {
-            if (logger.isTraceEnabled()) {
-               logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(id.bytes));
-            }
-
-            cache.remove(id);
-         }
-
-         if (logger.isTraceEnabled()) {
-            logger.trace("address = {} replacing old duplicateID by {}", address, describeID(holder.bytes));
+         final byte[] evicted = ids.nextEvicted();
+         if (evicted != null) {
+            logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(evicted));
          }
-
-      } else {
-         if (logger.isTraceEnabled()) {
-            logger.trace("address = {} adding new duplicateID {}", address, describeID(holder.bytes));
-         }
-
-         ids.add(holder);
       }
 
-      if (pos++ == cacheSize - 1) {
-         pos = 0;
-      }
+      ids.add(duplID, -1);
    }
 
    @Override
@@ -220,33 +157,24 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
       logger.debug("address = {} removing duplicate ID data", address);
 
       ids.clear();
-      cache.clear();
-      pos = 0;
    }
 
    @Override
    public synchronized List<Pair<byte[], Long>> getMap() {
-      final int idsSize = ids.size();
-      List<Pair<byte[], Long>> copy = new ArrayList<>(idsSize);
-      for (int i = 0; i < idsSize; i++) {
-         final ByteArray id = ids.get(i);
-         // in case the id has been removed
-         if (id != null) {
-            copy.add(new Pair<>(id.bytes, null));
-         }
-      }
+      List<Pair<byte[], Long>> copy = new ArrayList<>(ids.size());
+      ids.forEach((id, recordID) -> copy.add(new Pair<>(id, null)));
       return copy;
    }
 
    private final class AddDuplicateIDOperation extends TransactionOperationAbstract {
 
-      final ByteArray id;
+      final byte[] id;
 
       volatile boolean done;
 
       private final boolean afterCommit;
 
-      AddDuplicateIDOperation(final ByteArray id, boolean afterCommit) {
+      AddDuplicateIDOperation(final byte[] id, boolean afterCommit) {
          this.id = id;
          this.afterCommit = afterCommit;
       }
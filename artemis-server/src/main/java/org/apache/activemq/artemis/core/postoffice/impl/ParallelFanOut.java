@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.server.MessageReference;
+
+/**
+ * Adds the references of a message routed to many queues to their queues in parallel, on a dedicated fork-join pool.
+ * <p>
+ * The references are created, and stored if durable, by the routing thread as usual: only the {@code addTail} calls,
+ * which lock each queue and possibly deliver to its consumers, are split across the pool. The caller waits for all of
+ * them to complete, so the references of a message are all added before the next message is routed and the order of
+ * the messages on each queue is preserved.
+ */
+final class ParallelFanOut {
+
+   /**
+    * The minimum number of references added by a single task.
+    */
+   private static final int MIN_CHUNK_SIZE = 32;
+
+   private final int threshold;
+
+   private final ForkJoinPool pool;
+
+   ParallelFanOut(final int threshold) {
+      this.threshold = threshold;
+      final ClassLoader tccl = ParallelFanOut.class.getClassLoader();
+      this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+         final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+         thread.setName("activemq-fan-out-" + thread.getPoolIndex());
+         thread.setContextClassLoader(tccl);
+         return thread;
+      }, null, false);
+   }
+
+   /**
+    * {@return true if {@code count} references are enough for a parallel fan-out}
+    */
+   boolean isParallel(final int count) {
+      return count >= threshold;
+   }
+
+   /**
+    * Adds the references to their queues and waits for them to be added.
+    *
+    * @param skipAlreadyAcked whether the references already acknowledged must not be added
+    */
+   void addTails(final List<MessageReference> refs, final boolean direct, final boolean skipAlreadyAcked) {
+      final int chunkSize = Math.max(MIN_CHUNK_SIZE, refs.size() / (pool.getParallelism() * 4));
+      final AddTailTask task = new AddTailTask(refs, 0, refs.size(), chunkSize, direct, skipAlreadyAcked);
+      if (ForkJoinTask.getPool() == pool) {
+         task.invoke();
+         return;
+      }
+      try {
+         pool.invoke(task);
+      } catch (RejectedExecutionException e) {
+         // the pool is being stopped: none of the references has been added yet
+         addTails(refs, 0, refs.size(), direct, skipAlreadyAcked);
+      }
+   }
+
+   private static void addTails(final List<MessageReference> refs,
+                                final int from,
+                                final int to,
+                                final boolean direct,
+                                final boolean skipAlreadyAcked) {
+      for (int i = from; i < to; i++) {
+         final MessageReference ref = refs.get(i);
+         if (!skipAlreadyAcked || !ref.isAlreadyAcked()) {
+            ref.getQueue().addTail(ref, direct);
+         }
+      }
+   }
+
+   void stop() throws InterruptedException {
+      pool.shutdown();
+      pool.awaitTermination(10, TimeUnit.SECONDS);
+   }
+
+   private static final class AddTailTask extends RecursiveAction {
+
+      private final List<MessageReference> refs;
+
+      private final int from;
+
+      private final int to;
+
+      private final int chunkSize;
+
+      private final boolean direct;
+
+      private final boolean skipAlreadyAcked;
+
+      AddTailTask(final List<MessageReference> refs,
+                  final int from,
+                  final int to,
+                  final int chunkSize,
+                  final boolean direct,
+                  final boolean skipAlreadyAcked) {
+         this.refs = refs;
+         this.from = from;
+         this.to = to;
+         this.chunkSize = chunkSize;
+         this.direct = direct;
+         this.skipAlreadyAcked = skipAlreadyAcked;
+      }
+
+      @Override
+      protected void compute() {
+         if (to - from <= chunkSize) {
+            addTails(refs, from, to, direct, skipAlreadyAcked);
+            return;
+         }
+         final int middle = (from + to) >>> 1;
+         invokeAll(new AddTailTask(refs, from, middle, chunkSize, direct, skipAlreadyAcked),
+                   new AddTailTask(refs, middle, to, chunkSize, direct, skipAlreadyAcked));
+      }
+   }
+}
@@ -18,13 +18,9 @@ package org.apache.activemq.artemis.core.postoffice.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.IntFunction;
 
 import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
-import org.apache.activemq.artemis.api.core.ObjLongPair;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
@@ -39,8 +35,6 @@ import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 
 import static org.apache.activemq.artemis.api.core.ObjLongPair.NIL;
-import static org.apache.activemq.artemis.core.postoffice.impl.IntegerCache.boxedInts;
-
 /**
  * {@link InMemoryDuplicateIDCache} and {@link PersistentDuplicateIDCache} impls have been separated for performance and
  * memory footprint reasons.
@@ -53,15 +47,9 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-   private final Map<ByteArray, Integer> cache = new ConcurrentHashMap<>();
-
    private final SimpleString address;
 
-   private final List<ObjLongPair<ByteArray>> ids;
-
-   private final IntFunction<Integer> cachedBoxedInts;
-
-   private int pos;
+   private final DuplicateIDTable ids;
 
    private final int cacheSize;
 
@@ -72,16 +60,14 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
       cacheSize = size;
 
-      ids = new ArrayList<>(size);
-
-      cachedBoxedInts = boxedInts(size);
+      ids = new DuplicateIDTable(size, true);
 
       this.storageManager = storageManager;
    }
 
    @Override
    public synchronized void load(final List<Pair<byte[], Long>> ids) throws Exception {
-      if (!cache.isEmpty()) {
+      if (!this.ids.isEmpty()) {
          throw new IllegalStateException("load is valid only on empty cache");
       }
       // load only ids that fit this cache:
@@ -118,13 +104,8 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
             storageManager.deleteDuplicateIDTransactional(txID, id.getB());
             toNotBeAdded--;
          } else {
-            ByteArray bah = new ByteArray(id.getA());
-
-            ObjLongPair<ByteArray> pair = new ObjLongPair<>(bah, id.getB());
-
-            cache.put(bah, cachedBoxedInts.apply(this.ids.size()));
-
-            this.ids.add(pair);
+            // at most cacheSize ids get here: none is evicted
+            this.ids.add(id.getA(), id.getB());
             if (logger.isTraceEnabled()) {
                logger.trace("loading id = {}", describeID(id.getA(), id.getB()));
             }
@@ -135,41 +116,22 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
       if (txID != -1) {
          storageManager.commit(txID);
       }
-
-      pos = this.ids.size();
-
-      if (pos == cacheSize) {
-         pos = 0;
-      }
-
    }
 
    @Override
-   public void deleteFromCache(byte[] duplicateID) throws Exception {
-      deleteFromCache(new ByteArray(duplicateID));
-   }
-
-   private void deleteFromCache(final ByteArray duplicateID) throws Exception {
+   public synchronized void deleteFromCache(final byte[] duplicateID) throws Exception {
       if (logger.isTraceEnabled()) {
-         logger.trace("deleting id = {}", describeID(duplicateID.bytes));
+         logger.trace("deleting id = {}", describeID(duplicateID));
       }
 
-      final Integer posUsed = cache.remove(duplicateID);
+      final int posUsed = ids.remove(duplicateID);
 
-      if (posUsed != null) {
-         synchronized (this) {
-            final ObjLongPair<ByteArray> id = ids.get(posUsed.intValue());
-
-            if (id.getA().equals(duplicateID)) {
-               final long recordID = id.getB();
-               id.setA(null);
-               id.setB(NIL);
-               if (logger.isTraceEnabled()) {
-                  logger.trace("address = {} deleting id = {}", address, describeID(duplicateID.bytes, id.getB()));
-               }
-               storageManager.deleteDuplicateID(recordID);
-            }
+      if (posUsed >= 0) {
+         final long recordID = ids.recordIDAt(posUsed);
+         if (logger.isTraceEnabled()) {
+            logger.trace("address = {} deleting id = {}", address, describeID(duplicateID, recordID));
          }
+         storageManager.deleteDuplicateID(recordID);
       }
 
    }
@@ -184,14 +146,10 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
    @Override
    public boolean contains(final byte[] duplID) {
-      return contains(new ByteArray(duplID));
-   }
-
-   private boolean contains(final ByteArray duplID) {
-      final boolean contains = cache.containsKey(duplID);
+      final boolean contains = ids.contains(duplID);
       if (contains) {
          if (logger.isTraceEnabled()) {
-            logger.trace("address = {} found a duplicate {}", address, describeID(duplID.bytes));
+            logger.trace("address = {} found a duplicate {}", address, describeID(duplID));
          }
       }
 
@@ -210,152 +168,117 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
    @Override
    public synchronized boolean atomicVerify(final byte[] duplID, final Transaction tx) throws Exception {
-      final ByteArray holder = new ByteArray(duplID);
-      if (contains(holder)) {
+      if (contains(duplID)) {
          if (tx != null) {
             tx.markAsRollbackOnly(new ActiveMQDuplicateIdException());
          }
          return false;
       }
-      addToCache(holder, tx, true);
+      addToCache(duplID, tx, true);
       return true;
    }
 
    @Override
-   public synchronized void addToCache(final byte[] duplID, final Transaction tx, boolean instantAdd) throws Exception {
-      addToCache(new ByteArray(duplID), tx, instantAdd);
-   }
-
-   private synchronized void addToCache(final ByteArray holder,
-                                        final Transaction tx,
-                                        boolean instantAdd) throws Exception {
+   public synchronized void addToCache(final byte[] duplID,
+                                       final Transaction tx,
+                                       boolean instantAdd) throws Exception {
       final long recordID = storageManager.generateID();
       if (tx == null) {
-         storageManager.storeDuplicateID(address, holder.bytes, recordID);
+         storageManager.storeDuplicateID(address, duplID, recordID);
 
-         addToCacheInMemory(holder, recordID);
+         addToCacheInMemory(duplID, recordID);
       } else {
-         storageManager.storeDuplicateIDTransactional(tx.getID(), address, holder.bytes, recordID);
+         storageManager.storeDuplicateIDTransactional(tx.getID(), address, duplID, recordID);
 
          tx.setContainsPersistent();
 
          if (logger.isTraceEnabled()) {
             logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address,
-                          describeID(holder.bytes, recordID), tx);
+                          describeID(duplID, recordID), tx);
          }
 
          if (instantAdd) {
-            addToCacheInMemory(holder, recordID);
-            tx.addOperation(new AddDuplicateIDOperation(holder, recordID, false));
+            addToCacheInMemory(duplID, recordID);
+            tx.addOperation(new AddDuplicateIDOperation(duplID, recordID, false));
          } else {
             // For a tx, it's important that the entry is not added to the cache until commit
             // since if the client fails then resends them tx we don't want it to get rejected
-            tx.afterStore(new AddDuplicateIDOperation(holder, recordID, true));
+            tx.afterStore(new AddDuplicateIDOperation(duplID, recordID, true));
          }
       }
    }
 
    @Override
    public void load(final Transaction tx, final byte[] duplID) {
-      tx.addOperation(new AddDuplicateIDOperation(new ByteArray(duplID), tx.getID(), true));
+      tx.addOperation(new AddDuplicateIDOperation(duplID, tx.getID(), true));
    }
 
-   private synchronized void addToCacheInMemory(final ByteArray holder, final long recordID) {
-      Objects.requireNonNull(holder, "holder must be not null");
+   private synchronized void addToCacheInMemory(final byte[] duplID, final long recordID) {
+      Objects.requireNonNull(duplID, "duplID must be not null");
       if (recordID < 0) {
          throw new IllegalArgumentException("recordID must be >= 0");
       }
       if (logger.isTraceEnabled()) {
-         logger.trace("address = {} adding {}", address, describeID(holder.bytes, recordID));
+         logger.trace("address = {} adding {}", address, describeID(duplID, recordID));
       }
 
-      cache.put(holder, cachedBoxedInts.apply(pos));
-
-      ObjLongPair<ByteArray> id;
-
-      if (pos < ids.size()) {
-         // Need fast array style access here -hence ArrayList typing
-         id = ids.get(pos);
-
-         // The id here might be null if it was explicit deleted
-         if (id.getA() != null) {
-            if (logger.isTraceEnabled()) {
-               logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(id.getA().bytes, id.getB()));
-            }
-
-            cache.remove(id.getA());
-
-            assert id.getB() != NIL;
-            try {
-               storageManager.deleteDuplicateID(id.getB());
-            } catch (Exception e) {
-               ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
-            }
-         }
-
-         id.setA(holder);
-
-         id.setB(recordID);
-
+      // The evicted id here might be null if it was explicit deleted
+      final byte[] evicted = ids.nextEvicted();
+      if (evicted != null) {
+         final long evictedRecordID = ids.nextEvictedRecordID();
          if (logger.isTraceEnabled()) {
-            logger.trace("address = {} replacing old duplicateID by {}", address, describeID(id.getA().bytes, id.getB()));
+            logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(evicted, evictedRecordID));
          }
 
-      } else {
-         id = new ObjLongPair<>(holder, recordID);
-
-         if (logger.isTraceEnabled()) {
-            logger.trace("address = {} adding new duplicateID {}", address, describeID(id.getA().bytes, id.getB()));
+         assert evictedRecordID != NIL;
+         try {
+            storageManager.deleteDuplicateID(evictedRecordID);
+         } catch (Exception e) {
+            ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
          }
-
-         ids.add(id);
-
       }
 
-      if (pos++ == cacheSize - 1) {
-         pos = 0;
-      }
+      ids.add(duplID, recordID);
    }
 
    @Override
    public synchronized void clear() throws Exception {
       logger.debug("address = {} removing duplicate ID data", address);
-      final int idsSize = ids.size();
-      if (idsSize > 0) {
-         long tx = storageManager.generateID();
-         for (int i = 0; i < idsSize; i++) {
-            final ObjLongPair<ByteArray> id = ids.get(i);
-            if (id.getA() != null) {
-               assert id.getB() != NIL;
-               storageManager.deleteDuplicateIDTransactional(tx, id.getB());
+      if (!ids.isEmpty()) {
+         final long tx = storageManager.generateID();
+         final Exception[] failure = new Exception[1];
+         ids.forEach((id, recordID) -> {
+            assert recordID != NIL;
+            if (failure[0] == null) {
+               try {
+                  storageManager.deleteDuplicateIDTransactional(tx, recordID);
+               } catch (Exception e) {
+                  failure[0] = e;
+               }
             }
+         });
+         if (failure[0] != null) {
+            throw failure[0];
          }
          storageManager.commit(tx);
       }
 
       ids.clear();
-      cache.clear();
-      pos = 0;
    }
 
    @Override
    public synchronized List<Pair<byte[], Long>> getMap() {
-      final int idsSize = ids.size();
-      List<Pair<byte[], Long>> copy = new ArrayList<>(idsSize);
-      for (int i = 0; i < idsSize; i++) {
-         final ObjLongPair<ByteArray> id = ids.get(i);
-         // in case the pair has been removed
-         if (id.getA() != null) {
-            assert id.getB() != NIL;
-            copy.add(new Pair<>(id.getA().bytes, id.getB()));
-         }
-      }
+      List<Pair<byte[], Long>> copy = new ArrayList<>(ids.size());
+      ids.forEach((id, recordID) -> {
+         assert recordID != NIL;
+         copy.add(new Pair<>(id, recordID));
+      });
       return copy;
    }
 
    private final class AddDuplicateIDOperation extends TransactionOperationAbstract {
 
-      final ByteArray holder;
+      final byte[] duplID;
 
       final long recordID;
 
@@ -363,15 +286,15 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
       private final boolean afterCommit;
 
-      AddDuplicateIDOperation(final ByteArray holder, final long recordID, boolean afterCommit) {
-         this.holder = holder;
+      AddDuplicateIDOperation(final byte[] duplID, final long recordID, boolean afterCommit) {
+         this.duplID = duplID;
          this.recordID = recordID;
          this.afterCommit = afterCommit;
       }
 
       private void process() {
          if (!done) {
-            addToCacheInMemory(holder, recordID);
+            addToCacheInMemory(duplID, recordID);
 
             done = true;
          }
@@ -387,7 +310,7 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
       @Override
       public void beforeRollback(Transaction tx) throws Exception {
          if (!afterCommit) {
-            deleteFromCache(holder);
+            deleteFromCache(duplID);
          }
       }
 
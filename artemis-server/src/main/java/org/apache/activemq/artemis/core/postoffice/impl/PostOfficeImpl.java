@@ -135,6 +135,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
    private volatile boolean started;
 
+   private volatile ParallelFanOut parallelFanOut;
+
    private final ManagementService managementService;
 
    private ExpiryReaper expiryReaperRunnable;
@@ -215,6 +217,11 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       // This is to avoid thread leakages where the Reaper would run beyond the life cycle of the
       // PostOffice
       started = true;
+
+      final int parallelFanOutThreshold = server.getConfiguration().getParallelFanOutThreshold();
+      if (parallelFanOutThreshold > 0) {
+         parallelFanOut = new ParallelFanOut(parallelFanOutThreshold);
+      }
    }
 
    @Override
@@ -232,6 +239,11 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       addressManager.clear();
 
       queueInfos.clear();
+
+      if (parallelFanOut != null) {
+         parallelFanOut.stop();
+         parallelFanOut = null;
+      }
    }
 
    @Override
@@ -1243,6 +1255,10 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             finalStatus = status;
             try {
                if (context.getQueueCount() > 0) {
+                  if (settings != null && addressInfo != null && !addressInfo.isInternal()) {
+                     // once the diverts, their transformers and the plugins before routing have read the body as sent
+                     applyBodyCompression(message, settings);
+                  }
                   processRoute(message, context, direct);
                } else {
                   if (message.isLargeMessage()) {
@@ -1356,6 +1372,13 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       return status;
    }
 
+   private static void applyBodyCompression(Message message, AddressSettings settings) {
+      final int threshold = settings.getBodyCompressionThreshold();
+      if (threshold >= 0 && message instanceof CoreMessage coreMessage && coreMessage.compressBody(threshold)) {
+         logger.trace("Compressed the body of message {}", message);
+      }
+   }
+
    protected static void applyExpiryDelay(Message message, AddressSettings settings) {
       long expirationOverride = settings.getExpiryDelay();
 
@@ -1714,10 +1737,12 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
 
 
+      final ParallelFanOut fanOut = parallelFanOut != null && parallelFanOut.isParallel(refs.size()) ? parallelFanOut : null;
+
       if (tx != null) {
-         tx.addOperation(new AddOperation(refs));
+         tx.addOperation(new AddOperation(refs, fanOut));
       } else if (!containsDurables) {
-         processReferences(refs, direct);
+         processReferences(refs, direct, fanOut);
       } else {
          // This will use the same thread if there are no pending operations
          // avoiding a context switch on this case
@@ -1729,7 +1754,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
             @Override
             public void done() {
-               processReferences(refs, direct);
+               processReferences(refs, direct, fanOut);
             }
          });
       }
@@ -1739,6 +1764,14 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       refs.forEach((ref) -> processReference(ref, direct));
    }
 
+   private static void processReferences(List<MessageReference> refs, boolean direct, ParallelFanOut fanOut) {
+      if (fanOut == null) {
+         processReferences(refs, direct);
+      } else {
+         fanOut.addTails(refs, direct, false);
+      }
+   }
+
    public static void processReference(MessageReference ref, boolean direct) {
       ref.getQueue().addTail(ref, direct);
    }
@@ -2101,12 +2134,23 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       private final List<MessageReference> refs;
 
+      private final ParallelFanOut fanOut;
+
       AddOperation(final List<MessageReference> refs) {
+         this(refs, null);
+      }
+
+      AddOperation(final List<MessageReference> refs, final ParallelFanOut fanOut) {
          this.refs = refs;
+         this.fanOut = fanOut;
       }
 
       @Override
       public void afterCommit(final Transaction tx) {
+         if (fanOut != null) {
+            fanOut.addTails(refs, false, true);
+            return;
+         }
          for (MessageReference ref : refs) {
             if (!ref.isAlreadyAcked()) {
                ref.getQueue().addTail(ref, false);
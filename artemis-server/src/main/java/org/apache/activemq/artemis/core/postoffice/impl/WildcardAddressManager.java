@@ -16,6 +16,11 @@
  */
 package org.apache.activemq.artemis.core.postoffice.impl;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.config.WildcardConfiguration;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
@@ -30,8 +35,26 @@ import org.apache.activemq.artemis.core.transaction.Transaction;
  */
 public class WildcardAddressManager extends SimpleAddressManager {
 
+   /**
+    * The maximum number of routing addresses known to match no wildcard binding.
+    */
+   public static final int UNMATCHED_ADDRESSES_CACHE_SIZE = 10_000;
+
    private final AddressMap<Bindings> addressMap = new AddressMap<>(wildcardConfiguration.getAnyWordsString(), wildcardConfiguration.getSingleWordString(), wildcardConfiguration.getDelimiter());
 
+   /**
+    * Routing addresses without bindings that matched no wildcard binding, with the {@link #wildcardVersion} of the
+    * lookup: the entry is stale once a wildcard binding has been added since then. Addresses that matched are already
+    * recorded in the mappings, so this spares the walk of the address map to publishers of unbound addresses.
+    */
+   private final ConcurrentMap<SimpleString, Long> unmatchedAddresses = new ConcurrentHashMap<>();
+
+   private final AtomicLong wildcardVersion = new AtomicLong();
+
+   private final LongAdder routingLookups = new LongAdder();
+
+   private final LongAdder routingLookupWalks = new LongAdder();
+
    public WildcardAddressManager(final BindingsFactory bindingsFactory,
                                  final WildcardConfiguration wildcardConfiguration,
                                  final StorageManager storageManager,
@@ -51,9 +74,18 @@ public class WildcardAddressManager extends SimpleAddressManager {
    public Bindings getBindingsForRoutingAddress(final SimpleString address) throws Exception {
       assert !isAWildcardAddress(address);
 
+      routingLookups.increment();
+
       Bindings bindings = super.getBindingsForRoutingAddress(address);
 
       if (bindings == null) {
+         final long version = wildcardVersion.get();
+         final Long unmatchedVersion = unmatchedAddresses.get(address);
+         if (unmatchedVersion != null && unmatchedVersion == version) {
+            return null;
+         }
+
+         routingLookupWalks.increment();
 
          final Bindings[] lazyCreateResult = new Bindings[1];
 
@@ -77,6 +109,13 @@ public class WildcardAddressManager extends SimpleAddressManager {
          if (bindings != null) {
             // record such that any new wildcard bindings can join
             addressMap.put(address, bindings);
+            unmatchedAddresses.remove(address);
+         } else {
+            if (unmatchedVersion == null && unmatchedAddresses.size() >= UNMATCHED_ADDRESSES_CACHE_SIZE) {
+               // a coarse eviction is enough: publishers of unbound addresses will fill it again
+               unmatchedAddresses.clear();
+            }
+            unmatchedAddresses.put(address, version);
          }
       }
       return bindings;
@@ -96,8 +135,9 @@ public class WildcardAddressManager extends SimpleAddressManager {
       final SimpleString address = binding.getAddress();
       final Bindings bindingsForRoutingAddress = mappings.get(binding.getAddress());
 
-      if (isAWildcardAddress(address)) {
+      final boolean wildcard = isAWildcardAddress(address);
 
+      if (wildcard) {
          addressMap.visitMatching(address, bindings -> {
             // this wildcard binding needs to be added to matching addresses
             bindings.addBinding(binding);
@@ -116,6 +156,12 @@ public class WildcardAddressManager extends SimpleAddressManager {
       if (bindingsForANewAddress) {
          addressMap.put(address, bindingsForRoutingAddress);
       }
+
+      if (wildcard) {
+         // only once the binding can be found in the address map: a lookup that read the previous version may have
+         // walked the map before, and its unmatched entry must be stale
+         wildcardVersion.incrementAndGet();
+      }
       return bindingsForANewAddress;
    }
 
@@ -146,6 +192,31 @@ public class WildcardAddressManager extends SimpleAddressManager {
    public void clear() {
       super.clear();
       addressMap.reset();
+      unmatchedAddresses.clear();
+      wildcardVersion.incrementAndGet();
+   }
+
+   /**
+    * {@return the number of lookups of the bindings for a routing address}
+    */
+   public long getRoutingLookupCount() {
+      return routingLookups.sum();
+   }
+
+   /**
+    * {@return the number of lookups of the bindings for a routing address that had to walk the address map, i.e. that
+    * were not resolved by the mappings or by the addresses known to match no wildcard binding}
+    */
+   public long getRoutingLookupWalkCount() {
+      return routingLookupWalks.sum();
+   }
+
+   /**
+    * {@return the ratio of the lookups resolved without walking the address map}
+    */
+   public double getRoutingLookupHitRate() {
+      final long lookups = routingLookups.sum();
+      return lookups == 0 ? 0 : (double) (lookups - routingLookupWalks.sum()) / lookups;
    }
 
    public AddressMap<Bindings> getAddressMap() {
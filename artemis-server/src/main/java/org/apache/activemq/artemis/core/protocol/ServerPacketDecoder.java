@@ -19,6 +19,8 @@ package org.apache.activemq.artemis.core.protocol;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
+import org.apache.activemq.artemis.core.persistence.SharedSimpleStringPools;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
@@ -100,6 +102,11 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
    private final StorageManager storageManager;
 
    public ServerPacketDecoder(StorageManager storageManager) {
+      this(storageManager, null);
+   }
+
+   public ServerPacketDecoder(StorageManager storageManager, SharedSimpleStringPools sharedPools) {
+      super(new CoreMessageObjectPools(sharedPools));
       assert storageManager != null;
       this.storageManager = storageManager;
    }
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
+import org.apache.activemq.artemis.core.persistence.SharedSimpleStringPools;
 import org.apache.activemq.artemis.core.protocol.core.Channel;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ServerSessionPacketHandler;
@@ -48,16 +49,18 @@ public final class CoreSessionCallback implements SessionCallback {
 
    private ServerSessionPacketHandler handler;
 
-   private CoreMessageObjectPools coreMessageObjectPools = new CoreMessageObjectPools();
+   private final CoreMessageObjectPools coreMessageObjectPools;
 
    public CoreSessionCallback(String name,
                               ProtocolManager protocolManager,
                               Channel channel,
-                              RemotingConnection connection) {
+                              RemotingConnection connection,
+                              SharedSimpleStringPools sharedPools) {
       this.name = name;
       this.protocolManager = protocolManager;
       this.channel = channel;
       this.connection = connection;
+      this.coreMessageObjectPools = new CoreMessageObjectPools(sharedPools);
    }
 
    public CoreSessionCallback setSessionHandler(ServerSessionPacketHandler handler) {
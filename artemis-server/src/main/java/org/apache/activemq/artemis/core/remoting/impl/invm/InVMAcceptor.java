@@ -75,6 +75,8 @@ public final class InVMAcceptor extends AbstractAcceptor {
 
    private final boolean directDeliver;
 
+   private final boolean passByReference;
+
    public InVMAcceptor(final String name,
                        final ClusterConnection clusterConnection,
                        final Map<String, Object> configuration,
@@ -103,6 +105,8 @@ public final class InVMAcceptor extends AbstractAcceptor {
       enableBufferPooling = ConfigurationHelper.getBooleanProperty(TransportConstants.BUFFER_POOLING, TransportConstants.DEFAULT_BUFFER_POOLING, configuration);
 
       directDeliver = ConfigurationHelper.getBooleanProperty(TransportConstants.DIRECT_DELIVER, TransportConstants.DEFAULT_DIRECT_DELIVER, configuration);
+
+      passByReference = ConfigurationHelper.getBooleanProperty(TransportConstants.PASS_BY_REFERENCE, TransportConstants.DEFAULT_PASS_BY_REFERENCE, configuration);
    }
 
    @Override
@@ -221,6 +225,10 @@ public final class InVMAcceptor extends AbstractAcceptor {
       return executorFactory;
    }
 
+   public boolean isPassByReference() {
+      return passByReference;
+   }
+
    public void connect(final String connectionID,
                        final BufferHandler remoteHandler,
                        final InVMConnector connector,
@@ -234,6 +242,7 @@ public final class InVMAcceptor extends AbstractAcceptor {
       InVMConnection inVMConnection = new InVMConnection(id, connectionID, remoteHandler, connectionListener, clientExecutor, defaultActiveMQPrincipal);
       inVMConnection.setEnableBufferPooling(enableBufferPooling);
       inVMConnection.setDirectDeliver(directDeliver);
+      inVMConnection.setPassByReference(passByReference || connector.isPassByReference());
 
       connectionListener.connectionCreated(this, inVMConnection, protocolMap.get(ActiveMQClient.DEFAULT_CORE_PROTOCOL));
    }
@@ -29,6 +29,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.security.ActiveMQPrincipal;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
@@ -72,6 +73,8 @@ public class InVMConnection implements Connection {
 
    private boolean directDeliver = TransportConstants.DEFAULT_DIRECT_DELIVER;
 
+   private boolean passByReference = TransportConstants.DEFAULT_PASS_BY_REFERENCE;
+
    public InVMConnection(final int serverID,
                          final BufferHandler handler,
                          final BaseConnectionLifeCycleListener listener,
@@ -111,6 +114,15 @@ public class InVMConnection implements Connection {
       this.bufferPoolingEnabled = enableBufferPooling;
    }
 
+   public void setPassByReference(boolean passByReference) {
+      this.passByReference = passByReference;
+   }
+
+   @Override
+   public boolean isPassingByReference() {
+      return passByReference;
+   }
+
    @Override
    public void forceClose() {
       // no op
@@ -238,21 +250,55 @@ public class InVMConnection implements Connection {
          });
 
          if (flush && flushEnabled) {
-            final CountDownLatch latch = new CountDownLatch(1);
-            executor.execute(latch::countDown);
+            awaitWrites();
+         }
+      } catch (RejectedExecutionException e) {
+         // Ignore - this can happen if server/client is shutdown and another request comes in
+      }
+
+   }
 
-            try {
-               if (!latch.await(10, TimeUnit.SECONDS)) {
-                  ActiveMQServerLogger.LOGGER.timedOutFlushingInvmChannel();
+   @Override
+   public void write(final Packet packet, final boolean flush) {
+      try {
+         executor.execute(new Runnable() {
+            @Override
+            public void run() {
+               try {
+                  if (!closed) {
+                     logger.trace("{}::Sending inVM packet by reference", InVMConnection.this);
+
+                     handler.packetReceived(id, packet);
+                  }
+               } catch (Exception e) {
+                  ActiveMQServerLogger.LOGGER.errorWritingToInvmConnector(this, e);
+                  throw new IllegalStateException("Failed to write to handler on connector " + this, e);
                }
-            } catch (InterruptedException e) {
-               throw new ActiveMQInterruptedException(e);
             }
+         });
+
+         if (flush && flushEnabled) {
+            awaitWrites();
          }
       } catch (RejectedExecutionException e) {
          // Ignore - this can happen if server/client is shutdown and another request comes in
       }
+   }
+
+   /**
+    * Waits for the writes already executed.
+    */
+   private void awaitWrites() {
+      final CountDownLatch latch = new CountDownLatch(1);
+      executor.execute(latch::countDown);
 
+      try {
+         if (!latch.await(10, TimeUnit.SECONDS)) {
+            ActiveMQServerLogger.LOGGER.timedOutFlushingInvmChannel();
+         }
+      } catch (InterruptedException e) {
+         throw new ActiveMQInterruptedException(e);
+      }
    }
 
    @Override
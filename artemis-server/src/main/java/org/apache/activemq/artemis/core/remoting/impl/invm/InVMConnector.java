@@ -102,6 +102,8 @@ public class InVMConnector extends AbstractConnector {
 
    private final boolean bufferPoolingEnabled;
 
+   private final boolean passByReference;
+
    private static ExecutorService executorService;
 
    public static synchronized void resetThreadPool() {
@@ -142,6 +144,8 @@ public class InVMConnector extends AbstractConnector {
 
       bufferPoolingEnabled = ConfigurationHelper.getBooleanProperty(TransportConstants.BUFFER_POOLING, TransportConstants.DEFAULT_BUFFER_POOLING, configuration);
 
+      passByReference = ConfigurationHelper.getBooleanProperty(TransportConstants.PASS_BY_REFERENCE, TransportConstants.DEFAULT_PASS_BY_REFERENCE, configuration);
+
       this.handler = handler;
 
       this.closeExecutor = closeExecutor;
@@ -214,6 +218,10 @@ public class InVMConnector extends AbstractConnector {
       return handler;
    }
 
+   public boolean isPassByReference() {
+      return passByReference;
+   }
+
    public void disconnect(final String connectionID) {
       if (!started) {
          return;
@@ -233,6 +241,7 @@ public class InVMConnector extends AbstractConnector {
       // No acceptor on a client connection
       InVMConnection inVMConnection = new InVMConnection(id, handler, listener, serverExecutor);
       inVMConnection.setEnableBufferPooling(bufferPoolingEnabled);
+      inVMConnection.setPassByReference(passByReference || acceptor.isPassByReference());
 
       listener.connectionCreated(null, inVMConnection, protocolManager);
       return inVMConnection;
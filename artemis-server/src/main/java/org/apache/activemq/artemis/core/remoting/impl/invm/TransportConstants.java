@@ -34,6 +34,15 @@ public final class TransportConstants {
 
    public static final String DIRECT_DELIVER = "directDeliver";
 
+   /**
+    * Whether the packets of the core protocol are passed by reference between the client and the broker rather than
+    * encoded, for the packets which support it (e.g. to send and receive messages). It applies to the connections of
+    * the acceptor or connector it is set on.
+    */
+   public static final String PASS_BY_REFERENCE = "passByReference";
+
+   public static final boolean DEFAULT_PASS_BY_REFERENCE = false;
+
    private TransportConstants() {
       // Utility class
    }
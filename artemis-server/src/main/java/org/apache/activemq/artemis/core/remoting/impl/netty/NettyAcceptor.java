@@ -52,16 +52,19 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
+import io.netty.channel.kqueue.KQueueServerDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueServerSocketChannel;
 import io.netty.channel.local.LocalAddress;
 import io.netty.channel.local.LocalServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.ResourceLeakDetector;
@@ -154,6 +157,8 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private final int port;
 
+   private final String unixSocketPath;
+
    private final String keyStoreProvider;
 
    private final String keyStoreType;
@@ -233,6 +238,8 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private final long batchDelay;
 
+   private final int writeCoalescingThreshold;
+
    private final boolean directDeliver;
 
    private final boolean httpUpgradeEnabled;
@@ -294,6 +301,7 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       host = ConfigurationHelper.getStringProperty(TransportConstants.HOST_PROP_NAME, TransportConstants.DEFAULT_HOST, configuration);
       port = ConfigurationHelper.getIntProperty(TransportConstants.PORT_PROP_NAME, TransportConstants.DEFAULT_PORT, configuration);
+      unixSocketPath = ConfigurationHelper.getStringProperty(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME, TransportConstants.DEFAULT_UNIX_SOCKET_PATH, configuration);
       if (sslEnabled) {
          Pair<String, String> keyStoreCompat = SSLSupport.getValidProviderAndType(ConfigurationHelper.getStringProperty(TransportConstants.KEYSTORE_PROVIDER_PROP_NAME, TransportConstants.DEFAULT_KEYSTORE_PROVIDER, configuration),
                                                                                   ConfigurationHelper.getStringProperty(TransportConstants.KEYSTORE_TYPE_PROP_NAME, TransportConstants.DEFAULT_KEYSTORE_TYPE, configuration));
@@ -381,6 +389,8 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       batchDelay = ConfigurationHelper.getLongProperty(TransportConstants.BATCH_DELAY, TransportConstants.DEFAULT_BATCH_DELAY, configuration);
 
+      writeCoalescingThreshold = ConfigurationHelper.getIntProperty(TransportConstants.WRITE_COALESCING_THRESHOLD, TransportConstants.DEFAULT_WRITE_COALESCING_THRESHOLD, configuration);
+
       directDeliver = ConfigurationHelper.getBooleanProperty(TransportConstants.DIRECT_DELIVER, TransportConstants.DEFAULT_DIRECT_DELIVER, configuration);
 
       httpUpgradeEnabled = ConfigurationHelper.getBooleanProperty(TransportConstants.HTTP_UPGRADE_ENABLED_PROP_NAME, TransportConstants.DEFAULT_HTTP_UPGRADE_ENABLED, configuration);
@@ -434,18 +444,22 @@ public class NettyAcceptor extends AbstractAcceptor {
             remotingThreads = Runtime.getRuntime().availableProcessors() * 3;
          }
 
-         if (useEpoll && CheckDependencies.isEpollAvailable()) {
-            channelClazz = EpollServerSocketChannel.class;
+         // only the native transports support Unix domain sockets
+         final boolean unixSocket = unixSocketPath != null;
+         if ((useEpoll || unixSocket) && CheckDependencies.isEpollAvailable()) {
+            channelClazz = unixSocket ? EpollServerDomainSocketChannel.class : EpollServerSocketChannel.class;
             eventLoopGroup = new EpollEventLoopGroup(remotingThreads, AccessController.doPrivileged((PrivilegedAction<ActiveMQThreadFactory>) () -> new ActiveMQThreadFactory("activemq-netty-threads", true, ClientSessionFactoryImpl.class.getClassLoader())));
             acceptorType = EPOLL_ACCEPTOR_TYPE;
 
             logger.debug("Acceptor using native epoll");
-         } else if (useKQueue && CheckDependencies.isKQueueAvailable()) {
-            channelClazz = KQueueServerSocketChannel.class;
+         } else if ((useKQueue || unixSocket) && CheckDependencies.isKQueueAvailable()) {
+            channelClazz = unixSocket ? KQueueServerDomainSocketChannel.class : KQueueServerSocketChannel.class;
             eventLoopGroup = new KQueueEventLoopGroup(remotingThreads, AccessController.doPrivileged((PrivilegedAction<ActiveMQThreadFactory>) () -> new ActiveMQThreadFactory("activemq-netty-threads", true, ClientSessionFactoryImpl.class.getClassLoader())));
             acceptorType = KQUEUE_ACCEPTOR_TYPE;
 
             logger.debug("Acceptor using native kqueue");
+         } else if (unixSocket) {
+            throw new IllegalStateException("Unix domain socket " + unixSocketPath + " requires the native epoll or kqueue transport");
          } else {
             channelClazz = NioServerSocketChannel.class;
             eventLoopGroup = new NioEventLoopGroup(remotingThreads, AccessController.doPrivileged((PrivilegedAction<ActiveMQThreadFactory>) () -> new ActiveMQThreadFactory("activemq-netty-threads", true, ClientSessionFactoryImpl.class.getClassLoader())));
@@ -476,6 +490,9 @@ public class NettyAcceptor extends AbstractAcceptor {
                   throw e;
                }
             }
+            if (writeCoalescingThreshold > 0) {
+               pipeline.addLast(new WriteCoalescingHandler(writeCoalescingThreshold));
+            }
             pipeline.addLast(protocolHandler.getProtocolDecoder());
          }
 
@@ -493,7 +510,9 @@ public class NettyAcceptor extends AbstractAcceptor {
       bootstrap.childHandler(factory);
 
       // Bind
-      bootstrap.childOption(ChannelOption.TCP_NODELAY, tcpNoDelay);
+      if (unixSocketPath == null) {
+         bootstrap.childOption(ChannelOption.TCP_NODELAY, tcpNoDelay);
+      }
       if (tcpReceiveBufferSize != -1) {
          bootstrap.childOption(ChannelOption.SO_RCVBUF, tcpReceiveBufferSize);
       }
@@ -507,9 +526,11 @@ public class NettyAcceptor extends AbstractAcceptor {
       if (backlog != -1) {
          bootstrap.option(ChannelOption.SO_BACKLOG, backlog);
       }
-      bootstrap.option(ChannelOption.SO_REUSEADDR, true);
-      bootstrap.childOption(ChannelOption.SO_REUSEADDR, true);
-      bootstrap.childOption(ChannelOption.SO_KEEPALIVE, true);
+      if (unixSocketPath == null) {
+         bootstrap.option(ChannelOption.SO_REUSEADDR, true);
+         bootstrap.childOption(ChannelOption.SO_REUSEADDR, true);
+         bootstrap.childOption(ChannelOption.SO_KEEPALIVE, true);
+      }
       channelGroup = new DefaultChannelGroup("activemq-accepted-channels", GlobalEventExecutor.INSTANCE);
 
       serverChannelGroup = new DefaultChannelGroup("activemq-acceptor-channels", GlobalEventExecutor.INSTANCE);
@@ -527,11 +548,18 @@ public class NettyAcceptor extends AbstractAcceptor {
             props.putSimpleStringProperty(SimpleString.of("factory"), SimpleString.of(NettyAcceptorFactory.class.getName()));
             props.putSimpleStringProperty(SimpleString.of("host"), SimpleString.of(host));
             props.putIntProperty(SimpleString.of("port"), actualPort);
+            if (unixSocketPath != null) {
+               props.putSimpleStringProperty(SimpleString.of(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME), SimpleString.of(unixSocketPath));
+            }
             Notification notification = new Notification(null, CoreNotificationType.ACCEPTOR_STARTED, props);
             notificationService.sendNotification(notification);
          }
 
-         ActiveMQServerLogger.LOGGER.startedAcceptor(acceptorType, host, actualPort, protocolsString);
+         if (unixSocketPath != null) {
+            ActiveMQServerLogger.LOGGER.startedUnixSocketAcceptor(acceptorType, unixSocketPath, protocolsString);
+         } else {
+            ActiveMQServerLogger.LOGGER.startedAcceptor(acceptorType, host, actualPort, protocolsString);
+         }
       }
 
       if (batchDelay > 0) {
@@ -703,6 +731,14 @@ public class NettyAcceptor extends AbstractAcceptor {
    }
 
    private void startServerChannels() {
+      if (unixSocketPath != null) {
+         try {
+            serverChannelGroup.add(bootstrap.bind(new DomainSocketAddress(unixSocketPath)).syncUninterruptibly().channel());
+         } catch (Exception e) {
+            throw ActiveMQMessageBundle.BUNDLE.failedToBind(getName(), unixSocketPath, e);
+         }
+         return;
+      }
       String[] hosts = TransportConfiguration.splitHosts(host);
       for (String h : hosts) {
          SocketAddress address;
@@ -49,6 +49,7 @@ import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.config.Configuration;
 import org.apache.activemq.artemis.core.config.ConfigurationUtils;
 import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.impl.CoreProtocolManagerFactory;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptor;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
@@ -758,6 +759,22 @@ public class RemotingServiceImpl implements RemotingService, ServerConnectionLif
             logger.trace("ConnectionID = {} was already closed, so ignoring packet", connectionID);
          }
       }
+
+      @Override
+      public void packetReceived(final Object connectionID, final Packet packet) {
+         ConnectionEntry conn = connections.get(connectionID);
+
+         if (conn != null) {
+            try {
+               conn.connection.packetReceived(connectionID, packet);
+            } catch (RuntimeException e) {
+               ActiveMQServerLogger.LOGGER.disconnectCritical("Error handling packet", e);
+               conn.connection.fail(new ActiveMQException(e.getMessage()));
+            }
+         } else {
+            logger.trace("ConnectionID = {} was already closed, so ignoring packet", connectionID);
+         }
+      }
    }
 
    private final class FailureCheckAndFlushThread extends Thread {
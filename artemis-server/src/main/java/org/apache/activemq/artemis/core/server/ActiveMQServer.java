@@ -42,6 +42,7 @@ import org.apache.activemq.artemis.core.journal.RecordInfo;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
+import org.apache.activemq.artemis.core.persistence.SharedSimpleStringPools;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
@@ -443,6 +444,11 @@ public interface ActiveMQServer extends ServiceComponent {
 
    MetricsManager getMetricsManager();
 
+   /**
+    * {@return the pools of the addresses and of the property keys shared by the connections of this server}
+    */
+   SharedSimpleStringPools getSharedSimpleStringPools();
+
    List<ServerSession> getSessions(String connectionID);
 
    /**
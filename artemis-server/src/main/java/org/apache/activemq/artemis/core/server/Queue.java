@@ -137,6 +137,14 @@ public interface Queue extends Bindable, CriticalComponent {
 
    SimpleString getLastValueKey();
 
+   /**
+    * {@return the number of distinct last value keys currently tracked, always {@code 0} unless this is a last value
+    * queue}
+    */
+   default int getLastValueKeyCount() {
+      return 0;
+   }
+
    boolean isNonDestructive();
 
    void setNonDestructive(boolean nonDestructive);
@@ -386,6 +394,24 @@ public interface Queue extends Bindable, CriticalComponent {
 
    int retryMessages(Filter filter) throws Exception;
 
+   /**
+    * {@return the bulk management operation (remove, move, expire... messages matching a filter) currently iterating
+    * this queue, or {@code null} if there is none}
+    */
+   default QueueOperationProgress getRunningOperation() {
+      return null;
+   }
+
+   /**
+    * Cancels the bulk management operation currently iterating this queue, if any. The operation stops at the end of
+    * its current chunk, keeping whatever it already did.
+    *
+    * @return {@code true} if there was an operation to cancel
+    */
+   default boolean cancelRunningOperation() {
+      return false;
+   }
+
    default int retryMessages(Filter filter, Integer expectedHits) throws Exception {
       return retryMessages(filter);
    }
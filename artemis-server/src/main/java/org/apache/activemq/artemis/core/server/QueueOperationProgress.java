@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server;
+
+/**
+ * Tracks a bulk management operation (remove, move, expire, retry... messages matching a filter) while it iterates a
+ * {@link Queue}. The operation runs in bounded chunks, releasing the queue lock in between, and checks for
+ * cancellation before each chunk.
+ */
+public final class QueueOperationProgress {
+
+   private final String operation;
+
+   private final long startTime;
+
+   private volatile long scanned;
+
+   private volatile int affected;
+
+   private volatile boolean cancelled;
+
+   public QueueOperationProgress(String operation) {
+      this.operation = operation;
+      this.startTime = System.currentTimeMillis();
+   }
+
+   public String getOperation() {
+      return operation;
+   }
+
+   public long getStartTime() {
+      return startTime;
+   }
+
+   /**
+    * {@return how many references were visited so far}
+    */
+   public long getScanned() {
+      return scanned;
+   }
+
+   /**
+    * {@return how many references matched the filter and were acted upon so far}
+    */
+   public int getAffected() {
+      return affected;
+   }
+
+   public void update(long scanned, int affected) {
+      this.scanned = scanned;
+      this.affected = affected;
+   }
+
+   /**
+    * Requests the operation to stop at the end of the chunk being processed. Whatever was already done is kept.
+    */
+   public void cancel() {
+      cancelled = true;
+   }
+
+   public boolean isCancelled() {
+      return cancelled;
+   }
+
+   @Override
+   public String toString() {
+      return "QueueOperationProgress[operation=" + operation + ", startTime=" + startTime + ", scanned=" + scanned + ", affected=" + affected + ", cancelled=" + cancelled + "]";
+   }
+}
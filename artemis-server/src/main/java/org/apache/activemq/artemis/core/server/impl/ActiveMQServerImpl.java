@@ -98,6 +98,7 @@ import org.apache.activemq.artemis.core.persistence.AddressBindingInfo;
 import org.apache.activemq.artemis.core.persistence.GroupingInfo;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.persistence.QueueBindingInfo;
+import org.apache.activemq.artemis.core.persistence.SharedSimpleStringPools;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.persistence.config.AbstractPersistedAddressSetting;
 import org.apache.activemq.artemis.core.persistence.config.PersistedBridgeConfiguration;
@@ -324,6 +325,8 @@ public class ActiveMQServerImpl implements ActiveMQServer {
 
    private volatile MetricsManager metricsManager;
 
+   private final SharedSimpleStringPools sharedSimpleStringPools = new SharedSimpleStringPools();
+
    private volatile ActiveMQServerControlImpl messagingServerControl;
 
    private volatile ClusterManager clusterManager;
@@ -1762,6 +1765,11 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       return metricsManager;
    }
 
+   @Override
+   public SharedSimpleStringPools getSharedSimpleStringPools() {
+      return sharedSimpleStringPools;
+   }
+
    @Override
    public Version getVersion() {
       return version;
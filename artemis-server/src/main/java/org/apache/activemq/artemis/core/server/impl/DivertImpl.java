@@ -113,8 +113,9 @@ public class DivertImpl implements Divert {
             long id = storageManager.generateID();
 
             // We must make a copy of the message, otherwise things like returning credits to the page won't work
-            // properly on ack, since the original address will be overwritten
-            copy = message.copy(id);
+            // properly on ack, since the original address will be overwritten. The copy shares the body with the
+            // original message, unless the transformer writes it.
+            copy = message.copyOnWrite(id);
 
             logger.trace("Divert {} copied message {}", uniqueName, copy);
 
@@ -17,9 +17,7 @@
 package org.apache.activemq.artemis.core.server.impl;
 
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
@@ -39,6 +37,7 @@ import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.SimpleStringHashMap;
 
 /**
  * A queue that will discard messages if a newer message with the same
@@ -47,11 +46,14 @@ import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
  * <p>
  * This is useful for example, for stock prices, where you're only interested in the latest value for a particular
  * stock
+ * <p>
+ * The last values are tracked on an open addressing map that is only ever accessed while holding the queue lock.
  */
 @SuppressWarnings("ALL")
 public class LastValueQueue extends QueueImpl {
 
-   private final Map<SimpleString, MessageReference> map = new ConcurrentHashMap<>();
+   // guarded by this
+   private final SimpleStringHashMap<MessageReference> map = new SimpleStringHashMap<>();
 
    public LastValueQueue(final QueueConfiguration queueConfiguration,
                          final Filter filter,
@@ -93,14 +95,14 @@ public class LastValueQueue extends QueueImpl {
       addHead(ref, scheduling);
    }
 
-   private void trackLastValue(MessageReference ref) {
+   private synchronized void trackLastValue(MessageReference ref) {
       final SimpleString lastValueProperty = ref.getLastValueProperty();
       if (lastValueProperty != null) {
          map.put(lastValueProperty, ref);
       }
    }
 
-   private void trackLastValueIfAbsent(MessageReference ref) {
+   private synchronized void trackLastValueIfAbsent(MessageReference ref) {
       final SimpleString lastValueProperty = ref.getLastValueProperty();
       if (lastValueProperty != null) {
          map.putIfAbsent(lastValueProperty, ref);
@@ -188,10 +190,7 @@ public class LastValueQueue extends QueueImpl {
    private synchronized void removeIfCurrent(MessageReference ref) {
       SimpleString lastValueProp = ref.getLastValueProperty();
       if (lastValueProp != null) {
-         MessageReference current = map.get(lastValueProp);
-         if (current == ref) {
-            map.remove(lastValueProp);
-         }
+         map.remove(lastValueProp, ref);
       }
    }
 
@@ -212,32 +211,7 @@ public class LastValueQueue extends QueueImpl {
    }
 
    @Override
-   public int hashCode() {
-      final int prime = 31;
-      int result = super.hashCode();
-      result = prime * result + ((map == null) ? 0 : map.hashCode());
-      return result;
-   }
-
-   @Override
-   public boolean equals(Object obj) {
-      if (this == obj) {
-         return true;
-      }
-      if (!super.equals(obj)) {
-         return false;
-      }
-      if (!(obj instanceof LastValueQueue)) {
-         return false;
-      }
-      LastValueQueue other = (LastValueQueue) obj;
-      if (map == null) {
-         if (other.map != null) {
-            return false;
-         }
-      } else if (!map.equals(other.map)) {
-         return false;
-      }
-      return true;
+   public synchronized int getLastValueKeyCount() {
+      return map.size();
    }
 }
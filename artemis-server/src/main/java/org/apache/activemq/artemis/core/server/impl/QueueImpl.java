@@ -85,6 +85,7 @@ import org.apache.activemq.artemis.core.server.HandleStatus;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.QueueFactory;
+import org.apache.activemq.artemis.core.server.QueueOperationProgress;
 import org.apache.activemq.artemis.core.server.RoutingContext;
 import org.apache.activemq.artemis.core.server.RoutingContext.MirrorOption;
 import org.apache.activemq.artemis.core.server.ScheduledDeliveryHandler;
@@ -146,6 +147,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    private static final AtomicLongFieldUpdater<QueueImpl> dispatchStartTimeUpdater = AtomicLongFieldUpdater.newUpdater(QueueImpl.class, "dispatchStartTime");
    private static final AtomicLongFieldUpdater<QueueImpl> consumerRemovedTimestampUpdater = AtomicLongFieldUpdater.newUpdater(QueueImpl.class, "consumerRemovedTimestamp");
    private static final AtomicReferenceFieldUpdater<QueueImpl, Filter> filterUpdater = AtomicReferenceFieldUpdater.newUpdater(QueueImpl.class, Filter.class, "filter");
+   @SuppressWarnings("rawtypes")
+   private static final AtomicReferenceFieldUpdater<QueueImpl, MpscUnboundedArrayQueue> intermediateMessageReferencesUpdater = AtomicReferenceFieldUpdater.newUpdater(QueueImpl.class, MpscUnboundedArrayQueue.class, "intermediateMessageReferences");
 
    public static final int NUM_PRIORITIES = 10;
 
@@ -198,8 +201,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    private volatile boolean hasUnMatchedPending = false;
 
    // Messages will first enter intermediateMessageReferences before they are added to messageReferences. This is to
-   // avoid locking the queue on the producer
-   private final MpscUnboundedArrayQueue<MessageReference> intermediateMessageReferences;
+   // avoid locking the queue on the producer. It is only allocated when the first message is added, as its chunks are
+   // initialQueueBufferSize references long and a broker can have many queues never receiving any message.
+   private volatile MpscUnboundedArrayQueue<MessageReference> intermediateMessageReferences;
 
    // This is where messages are stored
    protected final PriorityLinkedList<MessageReference> messageReferences = new PriorityLinkedListImpl<>(QueueImpl.NUM_PRIORITIES, MessageReferenceImpl.getSequenceComparator());
@@ -300,6 +304,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private final AtomicLong queueSequence = new AtomicLong(0);
 
+   private volatile QueueOperationProgress runningOperation;
+
    private ScheduledFuture slowConsumerReaperFuture;
 
    private SlowConsumerReaperRunnable slowConsumerReaperRunnable;
@@ -348,7 +354,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          out.println("consumer: " + holder.consumer.debug());
       }
 
-      out.println("Intermediate reference size is " + intermediateMessageReferences.size());
+      out.println("Intermediate reference size is " + intermediateMessageReferencesSize());
 
       boolean foundRef = false;
 
@@ -451,7 +457,22 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       this.initialQueueBufferSize = this.cachedAddressSettings.getInitialQueueBufferSize() == null
          ? ActiveMQDefaultConfiguration.INITIAL_QUEUE_BUFFER_SIZE
          : this.cachedAddressSettings.getInitialQueueBufferSize();
-      this.intermediateMessageReferences = new MpscUnboundedArrayQueue<>(initialQueueBufferSize);
+   }
+
+   private MpscUnboundedArrayQueue<MessageReference> intermediateMessageReferences() {
+      MpscUnboundedArrayQueue<MessageReference> intermediate = intermediateMessageReferences;
+      if (intermediate == null) {
+         intermediate = new MpscUnboundedArrayQueue<>(initialQueueBufferSize);
+         if (!intermediateMessageReferencesUpdater.compareAndSet(this, null, intermediate)) {
+            intermediate = intermediateMessageReferences;
+         }
+      }
+      return intermediate;
+   }
+
+   private int intermediateMessageReferencesSize() {
+      final MpscUnboundedArrayQueue<MessageReference> intermediate = intermediateMessageReferences;
+      return intermediate == null ? 0 : intermediate.size();
    }
 
    // Bindable implementation -------------------------------------------------------------------------------------
@@ -837,7 +858,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    @Override
    public void addHead(final MessageReference ref, boolean scheduling) {
       if (logger.isTraceEnabled()) {
-         logger.trace("AddHead, size = {}, intermediate size = {}, references size = {}\nreference={}", queueMemorySize, intermediateMessageReferences.size(), messageReferences.size(), ref);
+         logger.trace("AddHead, size = {}, intermediate size = {}, references size = {}\nreference={}", queueMemorySize, intermediateMessageReferencesSize(), messageReferences.size(), ref);
       }
 
       try (ArtemisCloseable metric = measureCritical(CRITICAL_PATH_ADD_HEAD)) {
@@ -862,7 +883,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    @Override
    public void addSorted(final MessageReference ref, boolean scheduling) {
       if (logger.isTraceEnabled()) {
-         logger.trace("addSorted, size = {}, intermediate size = {}, references size = {}\nreference={}", queueMemorySize, intermediateMessageReferences.size(), messageReferences.size(), ref);
+         logger.trace("addSorted, size = {}, intermediate size = {}, references size = {}\nreference={}", queueMemorySize, intermediateMessageReferencesSize(), messageReferences.size(), ref);
       }
 
       try (ArtemisCloseable metric = measureCritical(CRITICAL_PATH_ADD_HEAD)) {
@@ -967,7 +988,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    @Override
    public void flushOnIntermediate(Runnable runnable) {
-      intermediateMessageReferences.add(new MessageReferenceImpl() {
+      intermediateMessageReferences().add(new MessageReferenceImpl() {
          @Override
          public boolean skipDelivery() {
             runnable.run();
@@ -997,7 +1018,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                // We don't recompute it on every delivery since executing isEmpty is expensive for a ConcurrentQueue
 
                if (deliveriesInTransit.getCount() == 0 && getExecutor().isFlushed() &&
-                  intermediateMessageReferences.isEmpty() && messageReferences.isEmpty() &&
+                  intermediateMessageReferencesSize() == 0 && messageReferences.isEmpty() &&
                   pageIterator != null && !pageIterator.hasNext() &&
                   pageSubscription != null && !pageSubscription.isPaging()) {
                   // We must block on the executor to ensure any async deliveries have completed or we might get out of order
@@ -1020,7 +1041,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          // We only add queueMemorySize if not being delivered directly
          queueMemorySize.addSize(ref.getMessageMemoryEstimate());
 
-         intermediateMessageReferences.add(ref);
+         intermediateMessageReferences().add(ref);
 
          directDeliver = false;
 
@@ -1993,7 +2014,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    @Override
    public int deleteMatchingReferences(final int flushLimit, final Filter filter1, AckReason ackReason) throws Exception {
-      return iterQueue(flushLimit, filter1, createDeleteMatchingAction(ackReason));
+      return iterQueue("removeMessages", flushLimit, filter1, createDeleteMatchingAction(ackReason));
    }
 
    QueueIterateAction createDeleteMatchingAction(AckReason ackReason) {
@@ -2010,89 +2031,139 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    /**
     * This is a generic method for any method interacting on the Queue to move or delete messages Instead of duplicate
     * the feature we created an abstract class where you pass the logic for each message.
+    * <p>
+    * The in-memory references are visited in chunks of {@code flushLimit} references. Each chunk is committed and the
+    * queue lock is released before the next one, so deliveries are not frozen while large queues are iterated. Only
+    * references already in the queue when the iteration started are acted upon: references added (or re-added by the
+    * action itself) afterwards are skipped. The progress is exposed through {@link #getRunningOperation()} and the
+    * iteration stops at the next chunk once cancelled. A {@code flushLimit} that isn't positive stands for
+    * {@link #DEFAULT_FLUSH_LIMIT}.
     */
-   private int iterQueue(final int flushLimit,
+   private int iterQueue(final String operation,
+                         final int flushLimit,
                          final Filter filter1,
                          QueueIterateAction messageAction) throws Exception {
+      final int chunkSize = flushLimit > 0 ? flushLimit : DEFAULT_FLUSH_LIMIT;
       int count = 0;
       int txCount = 0;
+      long scanned = 0;
       // This is to avoid scheduling depaging while iterQueue is happening
       // this should minimize the use of the paged executor.
       depagePending = true;
 
       depageLock.lock();
 
+      final QueueOperationProgress progress = new QueueOperationProgress(operation);
+      runningOperation = progress;
+
       try {
          Transaction tx = new TransactionImpl(storageManager);
 
+         final long lastSequence;
+         final LinkedListIterator<MessageReference> iter;
+
          synchronized (this) {
             // ensure all messages are moved from intermediateMessageReferences so that they can be seen by the iterator
             doInternalPoll();
 
-            try (LinkedListIterator<MessageReference> iter = iterator()) {
+            lastSequence = queueSequence.get();
 
-               while (iter.hasNext() && !messageAction.expectedHitsReached(count)) {
-                  MessageReference ref = iter.next();
+            iter = iterator();
+         }
+
+         try (iter) {
+            boolean hasNext = true;
 
-                  if (filter1 == null || filter1.match(ref.getMessage())) {
-                     if (messageAction.actMessage(tx, ref)) {
-                        iter.remove();
-                        refRemoved(ref);
+            while (hasNext && !progress.isCancelled()) {
+               synchronized (this) {
+                  int chunk = 0;
+
+                  while (chunk < chunkSize && (hasNext = iter.hasNext())) {
+                     MessageReference ref = iter.next();
+                     chunk++;
+
+                     if (ref.getSequence() > lastSequence) {
+                        continue;
                      }
-                     txCount++;
-                     count++;
-                  }
-               }
 
-               if (txCount > 0) {
-                  tx.commit();
+                     if (filter1 == null || filter1.match(ref.getMessage())) {
+                        if (messageAction.actMessage(tx, ref)) {
+                           iter.remove();
+                           refRemoved(ref);
+                           messageAction.afterRemoval(ref);
+                        }
+                        txCount++;
+                        count++;
 
-                  tx = new TransactionImpl(storageManager);
+                        if (messageAction.expectedHitsReached(count)) {
+                           hasNext = false;
+                           break;
+                        }
+                     }
+                  }
 
-                  txCount = 0;
-               }
+                  scanned += chunk;
 
-               if (messageAction.expectedHitsReached(count)) {
-                  return count;
-               }
+                  if (txCount > 0) {
+                     tx.commit();
 
-               List<MessageReference> cancelled = scheduledDeliveryHandler.cancel(ref -> filter1 == null ? true : filter1.match(ref.getMessage()));
-               for (MessageReference messageReference : cancelled) {
-                  messageAction.actMessage(tx, messageReference);
-                  count++;
-                  txCount++;
-                  if (messageAction.expectedHitsReached(count)) {
-                     break;
+                     tx = new TransactionImpl(storageManager);
+
+                     txCount = 0;
                   }
                }
 
-               if (txCount > 0) {
-                  tx.commit();
-                  tx = new TransactionImpl(storageManager);
-                  txCount = 0;
+               progress.update(scanned, count);
+            }
+         }
+
+         if (messageAction.expectedHitsReached(count) || progress.isCancelled() || messageAction.isMemoryOnly()) {
+            return count;
+         }
+
+         synchronized (this) {
+            List<MessageReference> cancelled = scheduledDeliveryHandler.cancel(ref -> filter1 == null ? true : filter1.match(ref.getMessage()));
+            for (MessageReference messageReference : cancelled) {
+               if (messageAction.actMessage(tx, messageReference)) {
+                  messageAction.afterRemoval(messageReference);
                }
+               count++;
+               txCount++;
+               if (messageAction.expectedHitsReached(count)) {
+                  break;
+               }
+            }
+
+            if (txCount > 0) {
+               tx.commit();
+               tx = new TransactionImpl(storageManager);
+               txCount = 0;
             }
          }
 
          if (pageIterator != null) {
-            while (pageIterator.hasNext() && !messageAction.expectedHitsReached(count)) {
+            while (pageIterator.hasNext() && !messageAction.expectedHitsReached(count) && !progress.isCancelled()) {
                PagedReference reference = pageIterator.next();
                pageIterator.remove();
+               scanned++;
 
                if (filter1 == null || filter1.match(reference.getMessage())) {
                   count++;
                   txCount++;
                   if (!messageAction.actMessage(tx, reference)) {
                      addTail(reference, false);
+                  } else {
+                     messageAction.afterRemoval(reference);
                   }
                } else {
                   addTail(reference, false);
                }
 
-               if (txCount > 0 && txCount % flushLimit == 0) {
+               if (txCount > 0 && txCount % chunkSize == 0) {
                   tx.commit();
                   tx = new TransactionImpl(storageManager);
                   txCount = 0;
+                  progress.update(scanned, count);
                }
             }
          }
@@ -2107,6 +2178,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
          return count;
       } finally {
+         progress.update(scanned, count);
+         runningOperation = null;
          depageLock.unlock();
          // to resume flow of depages, just in case
          // as we disabled depaging during the execution of this method
@@ -2115,6 +2188,21 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   @Override
+   public QueueOperationProgress getRunningOperation() {
+      return runningOperation;
+   }
+
+   @Override
+   public boolean cancelRunningOperation() {
+      final QueueOperationProgress progress = runningOperation;
+      if (progress == null) {
+         return false;
+      }
+      progress.cancel();
+      return true;
+   }
+
    @Override
    public void destroyPaging() throws Exception {
       // it could be null on embedded or certain unit tests
@@ -2234,32 +2322,24 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    @Override
-   public synchronized int expireReferences(final Filter filter) throws Exception {
+   public int expireReferences(final Filter filter) throws Exception {
       if (isExpiryDisabled()) {
          return 0;
       }
 
-      Transaction tx = new TransactionImpl(storageManager);
-
-      int count = 0;
-
-      try (LinkedListIterator<MessageReference> iter = iterator()) {
-
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next();
-            if (filter == null || filter.match(ref.getMessage())) {
-               incDelivering(ref);
-               expire(tx, ref, null, true);
-               iter.remove();
-               refRemoved(ref);
-               count++;
-            }
+      return iterQueue("expireMessages", DEFAULT_FLUSH_LIMIT, filter, new QueueIterateAction() {
+         @Override
+         public boolean actMessage(Transaction tx, MessageReference ref) throws Exception {
+            incDelivering(ref);
+            expire(tx, ref, null, true);
+            return true;
          }
 
-         tx.commit();
-
-         return count;
-      }
+         @Override
+         public boolean isMemoryOnly() {
+            return true;
+         }
+      });
    }
 
    @Override
@@ -2431,9 +2511,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    @Override
-   public synchronized int sendMessagesToDeadLetterAddress(Filter filter) throws Exception {
+   public int sendMessagesToDeadLetterAddress(Filter filter) throws Exception {
 
-      return iterQueue(DEFAULT_FLUSH_LIMIT, filter, new QueueIterateAction() {
+      return iterQueue("sendMessagesToDeadLetterAddress", DEFAULT_FLUSH_LIMIT, filter, new QueueIterateAction() {
 
          @Override
          public boolean actMessage(Transaction tx, MessageReference ref) throws Exception {
@@ -2493,7 +2573,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       final Integer expectedHits = messageCount > 0 ? messageCount : null;
       final DuplicateIDCache targetDuplicateCache = postOffice.getDuplicateIDCache(toAddress);
 
-      return iterQueue(flushLimit, filter, new QueueIterateAction(expectedHits) {
+      return iterQueue("moveMessages", flushLimit, filter, new QueueIterateAction(expectedHits) {
          @Override
          public boolean actMessage(Transaction tx, MessageReference ref) throws Exception {
             boolean ignored = false;
@@ -2521,7 +2601,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    public int moveReferencesBetweenSnFQueues(final SimpleString queueSuffix) throws Exception {
-      return iterQueue(DEFAULT_FLUSH_LIMIT, null, new QueueIterateAction() {
+      return iterQueue("moveMessagesBetweenSnFQueues", DEFAULT_FLUSH_LIMIT, null, new QueueIterateAction() {
          @Override
          public boolean actMessage(Transaction tx, MessageReference ref) throws Exception {
             return moveBetweenSnFQueues(queueSuffix, tx, ref, null);
@@ -2549,8 +2629,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
-   public synchronized int rerouteMessages(final SimpleString queueName, final Filter filter) throws Exception {
-      return iterQueue(DEFAULT_FLUSH_LIMIT, filter, new QueueIterateAction() {
+   public int rerouteMessages(final SimpleString queueName, final Filter filter) throws Exception {
+      return iterQueue("rerouteMessages", DEFAULT_FLUSH_LIMIT, filter, new QueueIterateAction() {
          @Override
          public boolean actMessage(Transaction tx, MessageReference ref) throws Exception {
             RoutingContext routingContext = new RoutingContextImpl(tx);
@@ -2575,7 +2655,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       final HashMap<String, Long> queues = new HashMap<>();
 
-      return iterQueue(DEFAULT_FLUSH_LIMIT, filter, new QueueIterateAction(expectedHits) {
+      return iterQueue("retryMessages", DEFAULT_FLUSH_LIMIT, filter, new QueueIterateAction(expectedHits) {
 
          @Override
          public boolean actMessage(Transaction tx, MessageReference ref) throws Exception {
@@ -2637,21 +2717,25 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    @Override
-   public synchronized int changeReferencesPriority(final Filter filter, final byte newPriority) throws Exception {
-      try (LinkedListIterator<MessageReference> iter = iterator()) {
-         int count = 0;
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next();
-            if (filter == null || filter.match(ref.getMessage())) {
-               count++;
-               iter.remove();
-               refRemoved(ref);
-               ref.getMessage().setPriority(newPriority);
-               addTail(ref, false);
-            }
+   public int changeReferencesPriority(final Filter filter, final byte newPriority) throws Exception {
+      return iterQueue("changeMessagesPriority", DEFAULT_FLUSH_LIMIT, filter, new QueueIterateAction() {
+         @Override
+         public boolean actMessage(Transaction tx, MessageReference ref) throws Exception {
+            return true;
          }
-         return count;
-      }
+
+         @Override
+         public void afterRemoval(MessageReference ref) {
+            ref.getMessage().setPriority(newPriority);
+            addTail(ref, false);
+         }
+
+         @Override
+         public boolean isMemoryOnly() {
+            // the priority is only changed in memory, so paged messages would lose it on restart
+            return true;
+         }
+      });
    }
 
    @Override
@@ -2822,10 +2906,15 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    synchronized void doInternalPoll() {
 
+      final MpscUnboundedArrayQueue<MessageReference> intermediate = intermediateMessageReferences;
+      if (intermediate == null) {
+         return;
+      }
+
       int added = 0;
       MessageReference ref;
 
-      while ((ref = intermediateMessageReferences.poll()) != null) {
+      while ((ref = intermediate.poll()) != null) {
          if (ref.skipDelivery()) {
             continue;
          }
@@ -2875,6 +2964,16 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   /**
+    * {@return how many messages a single delivery run may handle before yielding, i.e. the dispatch batch size scaled by
+    * the dispatch weight of the matching address settings}
+    */
+   public int getDispatchQuantum() {
+      final AddressSettings settings = cachedAddressSettings;
+      final long quantum = (long) settings.getDispatchBatchSize() * settings.getDispatchWeight();
+      return (int) Math.max(1, Math.min(Integer.MAX_VALUE, quantum));
+   }
+
    /**
     * This method will deliver as many messages as possible until all consumers are busy or there
     * are no more matching or available messages.
@@ -2897,11 +2996,16 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       int handled = 0;
 
+      final int maxDeliveries = getDispatchQuantum();
+
       long timeout = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DELIVERY_TIMEOUT);
       consumers.reset();
       while (true) {
-         if (handled == MAX_DELIVERIES_IN_LOOP || System.nanoTime() - timeout > 0) {
-            // Schedule another one - we do this to prevent a single thread getting caught up in this loop for too long
+         if (handled >= maxDeliveries || System.nanoTime() - timeout > 0) {
+            // Schedule another one - we do this to prevent a single thread getting caught up in this loop for too long.
+            // Yielding hands the thread back to the pool once this run is done, so the next run of this queue waits
+            // behind the executors of the other queues already waiting for a thread instead of following right away.
+            getExecutor().yield();
             deliverAsync(true);
             return false;
          }
@@ -3115,7 +3219,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          // where we don't look for deliveringMetrics..
          // this would give users a chance to switch to older protection mode.
          return queueMemorySize.getSize() < pageSubscription.getPagingStore().getMaxSize() &&
-            intermediateMessageReferences.size() + messageReferences.size() < MAX_DEPAGE_NUM;
+            intermediateMessageReferencesSize() + messageReferences.size() < MAX_DEPAGE_NUM;
       } else {
 
          /*
@@ -3268,7 +3372,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
             if (logger.isDebugEnabled()) {
                logger.debug("Queue Memory Size after depage on queue={} is {} with maxSize = {}. Depaged {} messages, pendingDelivery={}, intermediateMessageReferences= {}, queueDelivering={}",
-                            queueConfiguration.getName(), queueMemorySize.getSize(), maxSize, depaged, messageReferences.size(), intermediateMessageReferences.size(), deliveringMetrics.getMessageCount());
+                            queueConfiguration.getName(), queueMemorySize.getSize(), maxSize, depaged, messageReferences.size(), intermediateMessageReferencesSize(), deliveringMetrics.getMessageCount());
             }
          }
 
@@ -4205,6 +4309,20 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
        */
       public abstract boolean actMessage(Transaction tx, MessageReference ref) throws Exception;
 
+      /**
+       * Called once a reference for which {@link #actMessage(Transaction, MessageReference)} returned true is no longer
+       * held by the queue.
+       */
+      public void afterRemoval(MessageReference ref) {
+      }
+
+      /**
+       * {@return true to act upon the references in memory only, leaving the scheduled and paged references alone}
+       */
+      public boolean isMemoryOnly() {
+         return false;
+      }
+
       public boolean expectedHitsReached(int currentHits) {
          return expectedHits != null && currentHits >= expectedHits.intValue();
       }
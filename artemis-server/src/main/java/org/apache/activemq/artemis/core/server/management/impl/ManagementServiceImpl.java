@@ -83,8 +83,10 @@ import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounterManager;
 import org.apache.activemq.artemis.core.messagecounter.impl.MessageCounterManagerImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
+import org.apache.activemq.artemis.core.persistence.SharedSimpleStringPools;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
+import org.apache.activemq.artemis.core.postoffice.impl.WildcardAddressManager;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
 import org.apache.activemq.artemis.core.security.CheckType;
 import org.apache.activemq.artemis.core.security.Role;
@@ -259,6 +261,13 @@ public class ManagementServiceImpl implements ManagementService {
             builder.build(BrokerMetricNames.AUTHENTICATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthenticationFailureCount(), ActiveMQServerControl.AUTHENTICATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationSuccessCount(), ActiveMQServerControl.AUTHORIZATION_SUCCESS_COUNT, Arrays.asList(Tag.of("result", "success")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationFailureCount(), ActiveMQServerControl.AUTHORIZATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
+            if (postOffice.getAddressManager() instanceof WildcardAddressManager addressManager) {
+               builder.build(BrokerMetricNames.ROUTING_LOOKUP_COUNT, addressManager, metrics -> (double) (addressManager.getRoutingLookupCount() - addressManager.getRoutingLookupWalkCount()), "Number of lookups of the bindings for a routing address resolved without walking the wildcard address map", Arrays.asList(Tag.of("result", "hit")));
+               builder.build(BrokerMetricNames.ROUTING_LOOKUP_COUNT, addressManager, metrics -> (double) addressManager.getRoutingLookupWalkCount(), "Number of lookups of the bindings for a routing address that walked the wildcard address map", Arrays.asList(Tag.of("result", "miss")));
+            }
+            SharedSimpleStringPools stringPools = messagingServer.getSharedSimpleStringPools();
+            builder.build(BrokerMetricNames.STRING_POOL_LOOKUP_COUNT, stringPools, metrics -> (double) stringPools.getHitCount(), "Number of lookups of an address or property key in the shared string pools that returned a pooled string", Arrays.asList(Tag.of("result", "hit")));
+            builder.build(BrokerMetricNames.STRING_POOL_LOOKUP_COUNT, stringPools, metrics -> (double) stringPools.getMissCount(), "Number of lookups of an address or property key in the shared string pools that created a new string", Arrays.asList(Tag.of("result", "miss")));
          });
       }
    }
@@ -29,4 +29,6 @@ public class BrokerMetricNames {
    public static final String ACTIVE = "active";
    public static final String AUTHENTICATION_COUNT = "authentication.count";
    public static final String AUTHORIZATION_COUNT = "authorization.count";
+   public static final String ROUTING_LOOKUP_COUNT = "routing.lookup.count";
+   public static final String STRING_POOL_LOOKUP_COUNT = "string.pool.lookup.count";
 }
@@ -62,6 +62,12 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
    private final Map<String, Match<T>> exactMatches = new HashMap<>();
    private final Map<String, Match<T>> literalMatches = new HashMap<>();
 
+   /**
+    * the wildcard matches again, indexed by their leading literal words to only check the ones that can apply to a
+    * given match
+    */
+   private final WildcardMatchTrie<T> wildcardMatchTrie;
+
    /**
     * Certain values cannot be removed after installed. This is because we read a few records from the main config.
     * JBoss AS deployer may remove them on undeploy, while we don't want to accept that since this could cause issues on
@@ -120,6 +126,7 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
    public HierarchicalObjectRepository(final WildcardConfiguration wildcardConfiguration, final MatchModifier matchModifier, final String literalMatchMarkers) {
       this.wildcardConfiguration = wildcardConfiguration == null ? DEFAULT_WILDCARD_CONFIGURATION : wildcardConfiguration;
       this.matchComparator = new MatchComparator(this.wildcardConfiguration);
+      this.wildcardMatchTrie = new WildcardMatchTrie<>(this.wildcardConfiguration);
       this.matchModifier = matchModifier;
       if (literalMatchMarkers != null) {
          this.checkLiteral = true;
@@ -200,23 +207,21 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
       modifiedMatch = matchModifier.modify(modifiedMatch);
       lock.writeLock().lock();
       try {
-         // an exact match (i.e. one without wildcards) won't impact any other matches so no need to clear the cache
-         if (wildcardConfiguration.isWild(modifiedMatch)) {
-            clearCache();
-         } else if (modifiedMatch != null && cache.containsKey(modifiedMatch)) {
-            cache.remove(modifiedMatch);
-         }
-
+         Match.verify(modifiedMatch, wildcardConfiguration);
          if (immutableMatch) {
             immutables.add(modifiedMatch);
          }
-         Match.verify(modifiedMatch, wildcardConfiguration);
          Match<T> match1 = new Match<>(modifiedMatch, value, wildcardConfiguration, literal);
          if (literal) {
+            cache.remove(modifiedMatch);
             literalMatches.put(modifiedMatch, match1);
          } else if (wildcardConfiguration.isWild(modifiedMatch)) {
+            invalidateCache(match1);
             wildcardMatches.put(modifiedMatch, match1);
+            wildcardMatchTrie.add(match1);
          } else {
+            // an exact match (i.e. one without wildcards) won't impact any other matches
+            cache.remove(modifiedMatch);
             exactMatches.put(modifiedMatch, match1);
          }
       } finally {
@@ -303,15 +308,14 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
          if (immutables.contains(modMatch)) {
             logger.debug("Cannot remove match {} since it came from a main config", modMatch);
          } else {
-            /*
-             * Clear the cache before removing the match, but only if the match used wildcards. This will force any
-             * thread at {@link #getMatch(String)} to get the lock to recompute.
-             */
             if (wildcardConfiguration.isWild(modMatch)) {
-               clearCache();
-               wildcardMatches.remove(modMatch);
+               Match<T> removed = wildcardMatches.remove(modMatch);
+               if (removed != null) {
+                  invalidateCache(removed);
+                  wildcardMatchTrie.remove(modMatch);
+               }
             } else {
-               clearCache();
+               cache.remove(modMatch);
                exactMatches.remove(modMatch);
                literalMatches.remove(modMatch);
             }
@@ -393,8 +397,18 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
       cache.clear();
    }
 
+   /**
+    * Removes the cached values of the matches affected by adding or removing {@code wildcardMatch}, i.e. the ones it
+    * applies to: the values cached for any other match stay valid.
+    */
+   private void invalidateCache(final Match<T> wildcardMatch) {
+      final String prefix = wildcardMatchTrie.literalPrefix(wildcardMatch.getMatch());
+      cache.keySet().removeIf(key -> key.startsWith(prefix) && wildcardMatch.getPattern().matcher(key).matches());
+   }
+
    private void clearMatches() {
       wildcardMatches.clear();
+      wildcardMatchTrie.clear();
       exactMatches.clear();
       literalMatches.clear();
    }
@@ -424,10 +438,15 @@ public class HierarchicalObjectRepository<T> implements HierarchicalRepository<T
          matches.add(literalMatch);
       }
 
-      wildcardMatches.values().stream().
-         filter(m -> m.getPattern().matcher(match).matches()).
-         sorted((m1, m2) -> matchComparator.compare(m1.getMatch(), m2.getMatch())).
-         forEach(m -> matches.add(m));
+      int nonWildcardMatches = matches.size();
+      wildcardMatchTrie.forEachCandidate(match, m -> {
+         if (m.getPattern().matcher(match).matches()) {
+            matches.add(m);
+         }
+      });
+      if (matches.size() - nonWildcardMatches > 1) {
+         matches.subList(nonWildcardMatches, matches.size()).sort((m1, m2) -> matchComparator.compare(m1.getMatch(), m2.getMatch()));
+      }
 
       return matches;
    }
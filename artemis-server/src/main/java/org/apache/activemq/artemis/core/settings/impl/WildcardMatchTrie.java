@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.settings.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+
+/**
+ * Indexes the wildcard matches of a {@link HierarchicalObjectRepository} by their leading literal words, i.e. the words
+ * before the first one containing a wildcard (e.g. {@code news.europe} for {@code news.europe.*}).
+ * <p>
+ * A match can only apply to the addresses starting with its leading literal words, hence looking up an address just
+ * walks the trie along the words of the address: the matches found on the way are the only candidates, which still
+ * have to be checked against their {@link Match#getPattern() pattern}.
+ * <p>
+ * It is not thread-safe: it is guarded by the lock of the owning repository.
+ */
+final class WildcardMatchTrie<T> {
+
+   /**
+    * The characters making a word not literal for {@link Match#createPattern}, which only escapes the dots and the
+    * dollars.
+    */
+   private static final String REGEX_CHARACTERS = "\\^|?*+()[]{}";
+
+   private final char delimiter;
+
+   private final char singleWord;
+
+   private final char anyWords;
+
+   private final Node<T> root = new Node<>();
+
+   WildcardMatchTrie(final WildcardConfiguration wildcardConfiguration) {
+      this.delimiter = wildcardConfiguration.getDelimiter();
+      this.singleWord = wildcardConfiguration.getSingleWord();
+      this.anyWords = wildcardConfiguration.getAnyWords();
+   }
+
+   /**
+    * Adds {@code match}, replacing the one with the same match string, if any.
+    */
+   void add(final Match<T> match) {
+      final String string = match.getMatch();
+      Node<T> node = root;
+      int start = 0;
+      int end;
+      while ((end = string.indexOf(delimiter, start)) >= 0) {
+         final String word = string.substring(start, end);
+         if (!isLiteral(word)) {
+            break;
+         }
+         node = node.children.computeIfAbsent(word, w -> new Node<>());
+         start = end + 1;
+      }
+      node.matches.put(string, match);
+   }
+
+   /**
+    * {@return the leading literal words of {@code match}, without the trailing delimiter: any string matched by
+    * {@code match} starts with it}
+    */
+   String literalPrefix(final String match) {
+      int prefixEnd = 0;
+      int start = 0;
+      int end;
+      while ((end = match.indexOf(delimiter, start)) >= 0 && isLiteral(match.substring(start, end))) {
+         prefixEnd = end;
+         start = end + 1;
+      }
+      return match.substring(0, prefixEnd);
+   }
+
+   /**
+    * Removes the match with the match string {@code match}, if any.
+    */
+   void remove(final String match) {
+      remove(root, match, 0);
+   }
+
+   /**
+    * {@return true if {@code node} has become empty}
+    */
+   private boolean remove(final Node<T> node, final String match, final int start) {
+      final int end = match.indexOf(delimiter, start);
+      final Node<T> child;
+      if (end < 0 || (child = node.children.get(match.substring(start, end))) == null) {
+         node.matches.remove(match);
+      } else if (remove(child, match, end + 1)) {
+         node.children.remove(match.substring(start, end));
+      }
+      return node.isEmpty();
+   }
+
+   void clear() {
+      root.children.clear();
+      root.matches.clear();
+   }
+
+   /**
+    * Passes to {@code consumer} the matches that can apply to {@code address}.
+    */
+   void forEachCandidate(final String address, final Consumer<Match<T>> consumer) {
+      Node<T> node = root;
+      int start = 0;
+      while (node != null) {
+         node.matches.values().forEach(consumer);
+         if (start > address.length() || node.children.isEmpty()) {
+            return;
+         }
+         int end = address.indexOf(delimiter, start);
+         if (end < 0) {
+            end = address.length();
+         }
+         node = node.children.get(address.substring(start, end));
+         start = end + 1;
+      }
+   }
+
+   private boolean isLiteral(final String word) {
+      for (int i = 0; i < word.length(); i++) {
+         final char c = word.charAt(i);
+         if (c == singleWord || c == anyWords || REGEX_CHARACTERS.indexOf(c) >= 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static final class Node<T> {
+
+      final Map<String, Node<T>> children = new HashMap<>();
+
+      final Map<String, Match<T>> matches = new HashMap<>();
+
+      boolean isEmpty() {
+         return children.isEmpty() && matches.isEmpty();
+      }
+   }
+}
@@ -22,6 +22,7 @@ import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.uri.schemas.acceptor.InVMAcceptorTransportConfigurationSchema;
 import org.apache.activemq.artemis.uri.schemas.acceptor.TCPAcceptorTransportConfigurationSchema;
+import org.apache.activemq.artemis.uri.schemas.acceptor.UnixAcceptorTransportConfigurationSchema;
 import org.apache.activemq.artemis.utils.uri.URIFactory;
 
 public class AcceptorTransportConfigurationParser extends URIFactory<List<TransportConfiguration>, String> {
@@ -29,5 +30,6 @@ public class AcceptorTransportConfigurationParser extends URIFactory<List<Transp
    public AcceptorTransportConfigurationParser() {
       registerSchema(new TCPAcceptorTransportConfigurationSchema(TransportConstants.ALLOWABLE_ACCEPTOR_KEYS));
       registerSchema(new InVMAcceptorTransportConfigurationSchema());
+      registerSchema(new UnixAcceptorTransportConfigurationSchema(TransportConstants.ALLOWABLE_ACCEPTOR_KEYS));
    }
 }
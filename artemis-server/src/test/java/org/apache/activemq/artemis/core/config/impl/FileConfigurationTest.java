@@ -211,6 +211,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertEquals(25000, configInstance.getAddressQueueScanPeriod());
       assertEquals(127, configInstance.getIDCacheSize());
       assertTrue(configInstance.isPersistIDCache());
+      assertEquals(500, configInstance.getParallelFanOutThreshold());
       assertEquals(Integer.valueOf(777), configInstance.getJournalDeviceBlockSize());
       assertTrue(configInstance.isPersistDeliveryCountBeforeDelivery());
       assertEquals("pagingdir", configInstance.getPagingDirectory());
@@ -551,6 +552,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(configInstance.getAddressSettings().get("a1").isEnableIngressTimestamp());
       assertNull(configInstance.getAddressSettings().get("a1").getIDCacheSize());
       assertNull(configInstance.getAddressSettings().get("a1").getInitialQueueBufferSize());
+      assertEquals(AddressSettings.DEFAULT_DISPATCH_BATCH_SIZE, configInstance.getAddressSettings().get("a1").getDispatchBatchSize());
+      assertEquals(AddressSettings.DEFAULT_DISPATCH_WEIGHT, configInstance.getAddressSettings().get("a1").getDispatchWeight());
+      assertEquals(AddressSettings.DEFAULT_BODY_COMPRESSION_THRESHOLD, configInstance.getAddressSettings().get("a1").getBodyCompressionThreshold());
 
       assertEquals("a2.1", configInstance.getAddressSettings().get("a2").getDeadLetterAddress().toString());
       assertTrue(configInstance.getAddressSettings().get("a2").isAutoCreateDeadLetterResources());
@@ -594,6 +598,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertFalse(configInstance.getAddressSettings().get("a2").isEnableIngressTimestamp());
       assertEquals(Integer.valueOf(500), configInstance.getAddressSettings().get("a2").getIDCacheSize());
       assertEquals(Integer.valueOf(128), configInstance.getAddressSettings().get("a2").getInitialQueueBufferSize());
+      assertEquals(100, configInstance.getAddressSettings().get("a2").getDispatchBatchSize());
+      assertEquals(4, configInstance.getAddressSettings().get("a2").getDispatchWeight());
+      assertEquals(1024, configInstance.getAddressSettings().get("a2").getBodyCompressionThreshold());
 
       assertEquals(111, configInstance.getMirrorAckManagerQueueAttempts());
       assertTrue(configInstance.isMirrorAckManagerWarnUnacked());
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.filter.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -29,6 +30,7 @@ import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.selector.filter.Filterable;
 import org.apache.activemq.artemis.utils.RandomUtil;
 import org.apache.activemq.artemis.utils.SilentTestCase;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +52,48 @@ public class FilterTest extends SilentTestCase {
       message = new CoreMessage().initBuffer(1024).setMessageID(1);
    }
 
+   @Test
+   public void testTypedReadsMatchObjectReads() throws Exception {
+      message.putByteProperty(SimpleString.of("b"), (byte) 7);
+      message.putShortProperty(SimpleString.of("s"), (short) -2);
+      message.putIntProperty(SimpleString.of("i"), 10);
+      message.putLongProperty(SimpleString.of("l"), 3_000_000_000L);
+      message.putFloatProperty(SimpleString.of("f"), 2.5f);
+      message.putDoubleProperty(SimpleString.of("d"), 0.1);
+      message.putStringProperty(SimpleString.of("str"), SimpleString.of("10"));
+      message.putBooleanProperty(SimpleString.of("bool"), true);
+      message.putObjectProperty(SimpleString.of("nil"), null);
+      message.setTimestamp(1000L);
+      message.setPriority((byte) 6);
+
+      // only reads the properties as objects, like the interpreted selectors
+      final Message current = message;
+      final Filterable objectReads = new Filterable() {
+         @Override
+         public <T> T getBodyAs(Class<T> type) {
+            return null;
+         }
+
+         @Override
+         public Object getProperty(SimpleString name) {
+            return FilterImpl.getFilterProperty(current, name);
+         }
+
+         @Override
+         public Object getLocalConnectionId() {
+            return null;
+         }
+      };
+
+      for (String property : new String[] {"b", "s", "i", "l", "f", "d", "str", "bool", "nil", "missing", "AMQTimestamp", "AMQPriority", "AMQSize", "AMQExpiration"}) {
+         for (String predicate : new String[] {"%s = 10", "%s > 2", "%s <= 2.5", "%s = 0.1", "%s < 3000000000", "%s = '10'", "%s IS NULL", "%s IS NOT NULL", "NOT (%s >= 7)"}) {
+            final String selector = String.format(predicate, property);
+            filter = FilterImpl.createFilter(selector);
+            assertEquals(filter.match(objectReads), filter.match(message), selector);
+         }
+      }
+   }
+
    @Test
    public void testNewlineMatch() throws Exception {
       filter = FilterImpl.createFilter(SimpleString.of("fooprop LIKE '%1234%'"));
@@ -39,6 +39,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class PriorityLinkedListTest {
@@ -912,6 +913,54 @@ public final class PriorityLinkedListTest {
       assertEquals(b, iter.next());
    }
 
+   @Test
+   public void testPollAfterLevelsEmptied() {
+      list.addTail(a, 9);
+      list.addTail(b, 5);
+      list.addTail(c, 0);
+
+      LinkedListIterator<Wibble> iter = list.iterator();
+      assertTrue(iter.hasNext());
+      assertEquals(a, iter.next());
+      iter.remove();
+      iter.close();
+
+      assertEquals(b, list.poll());
+      list.addTail(d, 7);
+      assertEquals(d, list.poll());
+      assertEquals(c, list.poll());
+      assertNull(list.poll());
+      assertTrue(list.isEmpty());
+
+      list.addTail(e, 3);
+      assertEquals(e, list.poll());
+   }
+
+   @Test
+   public void testMaxPriorities() {
+      PriorityLinkedListImpl<Wibble> wideList = new PriorityLinkedListImpl<>(PriorityLinkedListImpl.MAX_PRIORITIES);
+      wideList.addTail(a, 0);
+      wideList.addTail(b, PriorityLinkedListImpl.MAX_PRIORITIES - 1);
+      wideList.addTail(c, 31);
+
+      LinkedListIterator<Wibble> iter = wideList.iterator();
+      assertTrue(iter.hasNext());
+      assertEquals(b, iter.next());
+      assertTrue(iter.hasNext());
+      assertEquals(c, iter.next());
+      assertTrue(iter.hasNext());
+      assertEquals(a, iter.next());
+      assertFalse(iter.hasNext());
+      iter.close();
+
+      assertEquals(b, wideList.poll());
+      assertEquals(c, wideList.poll());
+      assertEquals(a, wideList.poll());
+      assertNull(wideList.poll());
+
+      assertThrows(IllegalArgumentException.class, () -> new PriorityLinkedListImpl<Wibble>(PriorityLinkedListImpl.MAX_PRIORITIES + 1));
+   }
+
    @Test
    public void testPeek() {
       assertNull(list.peek());
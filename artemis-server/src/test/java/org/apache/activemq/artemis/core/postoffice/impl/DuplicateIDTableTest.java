@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DuplicateIDTableTest {
+
+   private static byte[] id(int value) {
+      return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+   }
+
+   @Test
+   public void testEvictsInFifoOrder() {
+      final DuplicateIDTable table = new DuplicateIDTable(3, true);
+      for (int i = 0; i < 3; i++) {
+         assertNull(table.nextEvicted());
+         table.add(id(i), 100 + i);
+      }
+      assertEquals(3, table.size());
+      assertArrayEquals(id(0), table.nextEvicted());
+      assertEquals(100, table.nextEvictedRecordID());
+
+      table.add(id(3), 103);
+      assertFalse(table.contains(id(0)));
+      assertTrue(table.contains(id(1)));
+      assertTrue(table.contains(id(3)));
+      assertEquals(3, table.size());
+
+      final List<Long> records = new ArrayList<>();
+      table.forEach((id, recordID) -> records.add(recordID));
+      assertEquals(List.of(103L, 101L, 102L), records);
+   }
+
+   @Test
+   public void testRemoveLeavesAnEmptySlot() {
+      final DuplicateIDTable table = new DuplicateIDTable(2, true);
+      table.add(id(0), 10);
+      table.add(id(1), 11);
+      final int position = table.remove(id(0));
+      assertEquals(0, position);
+      assertEquals(10, table.recordIDAt(position));
+      assertEquals(-1, table.remove(id(0)));
+      assertFalse(table.contains(id(0)));
+      assertEquals(1, table.size());
+      // the empty slot is the next one to be "evicted"
+      assertNull(table.nextEvicted());
+      table.add(id(2), 12);
+      assertTrue(table.contains(id(1)));
+      assertTrue(table.contains(id(2)));
+   }
+
+   @Test
+   public void testSameIDAddedTwice() {
+      final DuplicateIDTable table = new DuplicateIDTable(3, false);
+      table.add(id(0), -1);
+      table.add(id(0), -1);
+      table.add(id(1), -1);
+      // evicting the older copy keeps the newer one
+      table.add(id(2), -1);
+      assertTrue(table.contains(id(0)));
+      table.add(id(3), -1);
+      assertFalse(table.contains(id(0)));
+      assertEquals(3, table.size());
+   }
+
+   @Test
+   public void testMatchesFifoModel() {
+      final Random random = new Random(0);
+      for (int capacity : new int[] {1, 7, 100, 1000}) {
+         final DuplicateIDTable table = new DuplicateIDTable(capacity, false);
+         final byte[][] model = new byte[capacity][];
+         int used = 0;
+         int position = 0;
+         for (int i = 0; i < 20_000; i++) {
+            final int value = random.nextInt(capacity * 3);
+            if (random.nextInt(10) == 0) {
+               final boolean expected = indexOf(model, used, value) >= 0;
+               assertEquals(expected, table.remove(id(value)) >= 0);
+               int index;
+               while ((index = indexOf(model, used, value)) >= 0) {
+                  model[index] = null;
+               }
+            } else if (indexOf(model, used, value) < 0) {
+               table.add(id(value), -1);
+               model[position] = id(value);
+               used = Math.max(used, position + 1);
+               position = (position + 1) % capacity;
+            }
+            final int probe = random.nextInt(capacity * 3);
+            assertEquals(indexOf(model, used, probe) >= 0, table.contains(id(probe)));
+         }
+         int size = 0;
+         for (int i = 0; i < used; i++) {
+            if (model[i] != null) {
+               size++;
+            }
+         }
+         assertEquals(size, table.size());
+      }
+   }
+
+   private static int indexOf(byte[][] model, int used, int value) {
+      final byte[] id = id(value);
+      for (int i = 0; i < used; i++) {
+         if (model[i] != null && Arrays.equals(model[i], id)) {
+            return i;
+         }
+      }
+      return -1;
+   }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.junit.jupiter.api.Test;
+
+public class MessageReferenceImplTest {
+
+   @Test
+   public void testDefaults() {
+      MessageReferenceImpl ref = new MessageReferenceImpl(new CoreMessage(1, 100), null);
+
+      assertEquals(0, ref.getScheduledDeliveryTime());
+      assertEquals(0, ref.getPersistedCount());
+      assertFalse(ref.hasConsumerId());
+      assertNull(ref.getProtocolData(String.class));
+   }
+
+   @Test
+   public void testState() {
+      MessageReferenceImpl ref = new MessageReferenceImpl(new CoreMessage(1, 100), null);
+
+      ref.setScheduledDeliveryTime(1000);
+      ref.setDeliveryCount(3);
+      ref.setConsumerId(7);
+      ref.setProtocolData(String.class, "data");
+
+      assertEquals(1000, ref.getScheduledDeliveryTime());
+      assertEquals(3, ref.getDeliveryCount());
+      assertEquals(3, ref.getPersistedCount());
+      assertTrue(ref.hasConsumerId());
+      assertEquals(7, ref.getConsumerId());
+      assertEquals("data", ref.getProtocolData(String.class));
+
+      ref.emptyConsumerID();
+      assertFalse(ref.hasConsumerId());
+      assertThrows(IllegalStateException.class, ref::getConsumerId);
+
+      ref.setScheduledDeliveryTime(0);
+      assertEquals(0, ref.getScheduledDeliveryTime());
+   }
+
+   @Test
+   public void testOnDelivery() {
+      MessageReferenceImpl ref = new MessageReferenceImpl(new CoreMessage(1, 100), null);
+      AtomicInteger calls = new AtomicInteger();
+
+      ref.onDelivery(r -> {
+         assertSame(ref, r);
+         calls.incrementAndGet();
+      });
+      ref.run();
+      ref.run();
+
+      assertEquals(1, calls.get());
+   }
+
+   @Test
+   public void testCopy() {
+      MessageReferenceImpl ref = new MessageReferenceImpl(new CoreMessage(1, 100), null);
+      ref.setScheduledDeliveryTime(1000);
+      ref.setDeliveryCount(2);
+      ref.setConsumerId(7);
+      ref.setSequence(10);
+
+      MessageReferenceImpl copy = (MessageReferenceImpl) ref.copy(null);
+
+      assertSame(ref.getMessage(), copy.getMessage());
+      assertEquals(1000, copy.getScheduledDeliveryTime());
+      assertEquals(2, copy.getDeliveryCount());
+      assertEquals(10, copy.getSequence());
+      assertFalse(copy.hasConsumerId());
+   }
+}
@@ -62,6 +62,9 @@ public class AddressSettingsTest extends ServerTestBase {
       assertEquals(ActiveMQDefaultConfiguration.getDefaultPurgeOnNoConsumers(), addressSettings.isDefaultPurgeOnNoConsumers());
       assertEquals(Integer.valueOf(ActiveMQDefaultConfiguration.getDefaultMaxQueueConsumers()), addressSettings.getDefaultMaxConsumers());
       assertEquals(AddressSettings.DEFAULT_NO_EXPIRY, addressSettings.isNoExpiry());
+      assertEquals(AddressSettings.DEFAULT_DISPATCH_BATCH_SIZE, addressSettings.getDispatchBatchSize());
+      assertEquals(AddressSettings.DEFAULT_DISPATCH_WEIGHT, addressSettings.getDispatchWeight());
+      assertEquals(AddressSettings.DEFAULT_BODY_COMPRESSION_THRESHOLD, addressSettings.getBodyCompressionThreshold());
    }
 
    @Test
@@ -102,6 +105,9 @@ public class AddressSettingsTest extends ServerTestBase {
       addressSettingsToMerge.setMaxExpiryDelay(777L);
       addressSettingsToMerge.setIDCacheSize(5);
       addressSettingsToMerge.setInitialQueueBufferSize(256);
+      addressSettingsToMerge.setDispatchBatchSize(100);
+      addressSettingsToMerge.setDispatchWeight(3);
+      addressSettingsToMerge.setBodyCompressionThreshold(2048);
       addressSettingsToMerge.setNoExpiry(true);
 
       if (copy) {
@@ -125,6 +131,9 @@ public class AddressSettingsTest extends ServerTestBase {
       assertEquals(Long.valueOf(777), addressSettings.getMaxExpiryDelay());
       assertEquals(Integer.valueOf(5), addressSettings.getIDCacheSize());
       assertEquals(Integer.valueOf(256), addressSettings.getInitialQueueBufferSize());
+      assertEquals(100, addressSettings.getDispatchBatchSize());
+      assertEquals(3, addressSettings.getDispatchWeight());
+      assertEquals(2048, addressSettings.getBodyCompressionThreshold());
       assertTrue(addressSettings.isNoExpiry());
    }
 
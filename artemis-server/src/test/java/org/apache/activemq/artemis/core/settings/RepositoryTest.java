@@ -113,6 +113,47 @@ public class RepositoryTest extends ServerTestBase {
       assertEquals("leaf", repo.getMatch("b"));
    }
 
+   @Test
+   public void testWildcardChangesOnlyInvalidateMatchingCacheEntries() {
+      HierarchicalObjectRepository<String> repo = new HierarchicalObjectRepository<>();
+
+      repo.addMatch("#", "root");
+      assertEquals("root", repo.getMatch("a.b"));
+      assertEquals("root", repo.getMatch("c.d"));
+      assertEquals(2, repo.getCacheSize());
+
+      repo.addMatch("a.*", "a");
+      assertEquals(1, repo.getCacheSize());
+      assertEquals("a", repo.getMatch("a.b"));
+      assertEquals("root", repo.getMatch("c.d"));
+
+      repo.removeMatch("a.*");
+      assertEquals(1, repo.getCacheSize());
+      assertEquals("root", repo.getMatch("a.b"));
+
+      repo.addMatch("c.d", "leaf");
+      assertEquals(1, repo.getCacheSize());
+      assertEquals("leaf", repo.getMatch("c.d"));
+   }
+
+   @Test
+   public void testWildcardsWithinWords() {
+      HierarchicalRepository<String> repo = new HierarchicalObjectRepository<>();
+      repo.addMatch("a.b*.c", "b*");
+      repo.addMatch("a.b.#", "b.#");
+      repo.addMatch("*.b.c", "*.b.c");
+
+      assertEquals("b*", repo.getMatch("a.bee.c"));
+      assertEquals("b.#", repo.getMatch("a.b"));
+      assertEquals("b.#", repo.getMatch("a.b.c.d"));
+      assertEquals("*.b.c", repo.getMatch("x.b.c"));
+      assertNull(repo.getMatch("a.c"));
+
+      repo.removeMatch("a.b.#");
+      assertNull(repo.getMatch("a.b"));
+      assertEquals("*.b.c", repo.getMatch("a.b.c"));
+   }
+
    @Test
    public void testMultipleMatchesHasRightOrder() {
       HierarchicalRepository<String> repository = new HierarchicalObjectRepository<>();
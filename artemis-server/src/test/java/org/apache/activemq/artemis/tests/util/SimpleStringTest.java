@@ -16,16 +16,20 @@
  */
 package org.apache.activemq.artemis.tests.util;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
+import org.apache.activemq.artemis.core.persistence.SharedSimpleStringPools;
 import org.apache.activemq.artemis.utils.DataConstants;
 import org.apache.activemq.artemis.utils.RandomUtil;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -100,6 +104,23 @@ public class SimpleStringTest {
       assertEquals(str, s2.toString());
    }
 
+   @Test
+   public void testStringOfLatin1AndOtherChars() throws Exception {
+      for (int length = 0; length < 20; length++) {
+         // a Latin-1 string, then the same one with a non Latin-1 char in each position
+         for (int other = -1; other < length; other++) {
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+               chars[i] = i == other ? '\u0141' : (char) (i % 2 == 0 ? 'a' + i : 0xE0 + i);
+            }
+            final String string = new String(chars);
+            final SimpleString simpleString = createSimpleString(string);
+            assertArrayEquals(string.getBytes(StandardCharsets.UTF_16LE), simpleString.getData(), string);
+            assertEquals(string, createSimpleString(simpleString.getData()).toString());
+         }
+      }
+   }
+
    @Test
    public void testStartsWith() throws Exception {
       SimpleString s1 = createSimpleString("abcdefghi");
@@ -452,6 +473,53 @@ public class SimpleStringTest {
       }
    }
 
+   @Test
+   public void testSimpleStringPoolsHitCount() {
+      final SimpleString s = createSimpleString("pooled");
+      final ByteBuf bb = Unpooled.buffer(s.sizeof(), s.sizeof());
+      SimpleString.writeSimpleString(bb, s);
+      final SimpleString.ByteBufSimpleStringPool byteBufPool = new SimpleString.ByteBufSimpleStringPool(SimpleString.ByteBufSimpleStringPool.DEFAULT_POOL_CAPACITY, SimpleString.ByteBufSimpleStringPool.DEFAULT_MAX_LENGTH, true);
+      byteBufPool.getOrCreate(bb.resetReaderIndex());
+      byteBufPool.getOrCreate(bb.resetReaderIndex());
+      byteBufPool.getOrCreate(bb.resetReaderIndex());
+      assertEquals(2, byteBufPool.getHitCount());
+      assertEquals(1, byteBufPool.getMissCount());
+
+      final SimpleString.StringSimpleStringPool stringPool = new SimpleString.StringSimpleStringPool(SimpleString.StringSimpleStringPool.DEFAULT_POOL_CAPACITY, true);
+      stringPool.getOrCreate("pooled");
+      stringPool.getOrCreate("pooled");
+      assertEquals(1, stringPool.getHitCount());
+      assertEquals(1, stringPool.getMissCount());
+
+      final SimpleString.StringSimpleStringPool uncountedPool = new SimpleString.StringSimpleStringPool();
+      assertSame(uncountedPool.getOrCreate("pooled"), uncountedPool.getOrCreate("pooled"));
+      assertEquals(0, uncountedPool.getHitCount());
+      assertEquals(0, uncountedPool.getMissCount());
+   }
+
+   @Test
+   public void testSharedSimpleStringPools() {
+      final SharedSimpleStringPools sharedPools = new SharedSimpleStringPools();
+      final CoreMessageObjectPools pools1 = new CoreMessageObjectPools(sharedPools);
+      final CoreMessageObjectPools pools2 = new CoreMessageObjectPools(sharedPools);
+
+      final SimpleString address = createSimpleString("a.fairly.long.address::and.its.fully.qualified.queue.name");
+      final ByteBuf bb = Unpooled.buffer(address.sizeof(), address.sizeof());
+      SimpleString.writeSimpleString(bb, address);
+      final SimpleString pooled = pools1.getAddressDecoderPool().getOrCreate(bb.resetReaderIndex());
+      assertEquals(address, pooled);
+      assertSame(pooled, pools2.getAddressDecoderPool().getOrCreate(bb.resetReaderIndex()));
+      assertSame(pools1.getPropertiesDecoderPools().getPropertyKeysPool(), pools2.getPropertiesDecoderPools().getPropertyKeysPool());
+      assertNotSame(pools1.getPropertiesDecoderPools().getPropertyValuesPool(), pools2.getPropertiesDecoderPools().getPropertyValuesPool());
+
+      assertSame(pools1.getAddressStringSimpleStringPool().getOrCreate("address"), pools2.getAddressStringSimpleStringPool().getOrCreate("address"));
+      assertSame(pools1.getPropertiesStringSimpleStringPools().getPropertyKeysPool(), pools2.getPropertiesStringSimpleStringPools().getPropertyKeysPool());
+      assertNotSame(pools1.getGroupIdStringSimpleStringPool(), pools2.getGroupIdStringSimpleStringPool());
+
+      assertEquals(2, sharedPools.getHitCount());
+      assertEquals(2, sharedPools.getMissCount());
+   }
+
    protected SimpleString createSimpleString(String string) {
       return SimpleString.of(string);
    }
@@ -23,6 +23,7 @@ import java.util.List;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.config.ConfigurationUtils;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptor;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptorFactory;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.utils.ConfigurationHelper;
 import org.junit.jupiter.api.Test;
@@ -69,4 +70,14 @@ public class AcceptorParserTest {
          assertEquals("Consumer.*.>;2", config.getExtraParams().get("virtualTopicConsumerWildcards"));
       }
    }
+
+   @Test
+   public void testUnixSocketAcceptor() {
+      List<TransportConfiguration> configs = ConfigurationUtils.parseAcceptorURI("test", "unix:///var/run/artemis.sock?protocols=CORE,AMQP");
+
+      assertEquals(1, configs.size());
+      assertEquals(NettyAcceptorFactory.class.getName(), configs.get(0).getFactoryClassName());
+      assertEquals("/var/run/artemis.sock", configs.get(0).getParams().get(TransportConstants.UNIX_SOCKET_PATH_PROP_NAME));
+      assertEquals("CORE,AMQP", configs.get(0).getParams().get(TransportConstants.PROTOCOLS_PROP_NAME));
+   }
 }
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.DivertConfiguration;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.transformer.Transformer;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.qpid.jms.JmsConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BodyCompressionTest extends ActiveMQTestBase {
+
+   private static final SimpleString QUEUE = SimpleString.of("compressed.queue");
+
+   private static final int THRESHOLD = 1024;
+
+   private static final String TEXT = "<order><item>compressible</item></order>".repeat(500);
+
+   private ActiveMQServer server;
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      server = createServer(true, true);
+      server.getConfiguration().addAddressSetting("compressed.#", new AddressSettings().setBodyCompressionThreshold(THRESHOLD));
+      server.start();
+      server.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST));
+   }
+
+   private void send(String... texts) throws Exception {
+      ConnectionFactory factory = new ActiveMQConnectionFactory("tcp://localhost:61616");
+      try (Connection connection = factory.createConnection()) {
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+         MessageProducer producer = session.createProducer(session.createQueue(QUEUE.toString()));
+         for (String text : texts) {
+            producer.send(session.createTextMessage(text));
+         }
+      }
+   }
+
+   private void receive(ConnectionFactory factory, String... texts) throws Exception {
+      receive(factory, QUEUE, texts);
+   }
+
+   private void receive(ConnectionFactory factory, SimpleString queue, String... texts) throws Exception {
+      try (Connection connection = factory.createConnection()) {
+         connection.start();
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+         MessageConsumer consumer = session.createConsumer(session.createQueue(queue.toString()));
+         for (String text : texts) {
+            TextMessage message = assertInstanceOf(TextMessage.class, consumer.receive(5000));
+            assertEquals(text, message.getText());
+         }
+      }
+   }
+
+   @Test
+   public void testBodiesOverThresholdCompressed() throws Exception {
+      send(TEXT, "small");
+
+      Queue queue = server.locateQueue(QUEUE);
+      assertEquals(2, queue.getMessageCount());
+      try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
+         Message compressed = iterator.next().getMessage();
+         assertEquals(Boolean.TRUE, compressed.getBooleanProperty(Message.HDR_LARGE_COMPRESSED));
+         assertTrue(compressed.getPersistentSize() < TEXT.length() / 10, "persistent size " + compressed.getPersistentSize());
+         assertFalse(iterator.next().getMessage().containsProperty(Message.HDR_LARGE_COMPRESSED));
+      }
+
+      receive(new ActiveMQConnectionFactory("tcp://localhost:61616"), TEXT, "small");
+   }
+
+   @Test
+   public void testCompressedBodiesSurviveRestart() throws Exception {
+      send(TEXT);
+
+      server.stop();
+      server.start();
+
+      Queue queue = server.locateQueue(QUEUE);
+      assertNotNull(queue);
+      assertEquals(1, queue.getMessageCount());
+
+      receive(new ActiveMQConnectionFactory("tcp://localhost:61616"), TEXT);
+   }
+
+   @Test
+   public void testCompressedBodiesInflatedForAmqp() throws Exception {
+      send(TEXT, "small");
+
+      receive(new JmsConnectionFactory("amqp://localhost:61616"), TEXT, "small");
+   }
+
+   @Test
+   public void testTransformingDivertReadsBodyAsSent() throws Exception {
+      final SimpleString target = SimpleString.of("plain.target");
+      server.createQueue(QueueConfiguration.of(target).setRoutingType(RoutingType.ANYCAST));
+
+      final AtomicReference<String> transformed = new AtomicReference<>();
+      final Transformer transformer = message -> {
+         transformed.set(message.toCore().getReadOnlyBodyBuffer().readNullableSimpleString().toString());
+         return message.putBooleanProperty("transformed", true);
+      };
+      server.getServiceRegistry().addDivertTransformer("divert", transformer);
+      server.deployDivert(new DivertConfiguration().setName("divert").setAddress(QUEUE.toString()).setForwardingAddress(target.toString()).setExclusive(false));
+
+      send(TEXT);
+
+      assertEquals(TEXT, transformed.get());
+      try (LinkedListIterator<MessageReference> iterator = server.locateQueue(QUEUE).browserIterator()) {
+         assertEquals(Boolean.TRUE, iterator.next().getMessage().getBooleanProperty(Message.HDR_LARGE_COMPRESSED));
+      }
+      try (LinkedListIterator<MessageReference> iterator = server.locateQueue(target).browserIterator()) {
+         final Message diverted = iterator.next().getMessage();
+         assertEquals(Boolean.TRUE, diverted.getBooleanProperty("transformed"));
+         assertFalse(diverted.containsProperty(Message.HDR_LARGE_COMPRESSED));
+      }
+
+      receive(new ActiveMQConnectionFactory("tcp://localhost:61616"), QUEUE, TEXT);
+      receive(new ActiveMQConnectionFactory("tcp://localhost:61616"), target, TEXT);
+   }
+}
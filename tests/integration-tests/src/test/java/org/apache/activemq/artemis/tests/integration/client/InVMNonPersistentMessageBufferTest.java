@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.tests.integration.client;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -29,6 +30,7 @@ import org.apache.activemq.artemis.api.core.client.ClientProducer;
 import org.apache.activemq.artemis.api.core.client.ClientSession;
 import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
 import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
@@ -109,6 +111,38 @@ public class InVMNonPersistentMessageBufferTest extends ActiveMQTestBase {
       }
    }
 
+   @Test
+   public void testSendToManyQueues() throws Exception {
+      final String multicastAddress = "multicast";
+      final int numQueues = 5;
+      for (int i = 0; i < numQueues; i++) {
+         session.createQueue(QueueConfiguration.of("queue" + i).setAddress(multicastAddress).setRoutingType(RoutingType.MULTICAST));
+      }
+
+      // large enough for its body to be shared by its deliveries
+      final byte[] body = RandomUtil.randomBytes(SessionReceiveMessage.SHARED_BODY_MIN_SIZE * 4);
+      for (int i = 0; i < 2; i++) {
+         ClientMessage message = session.createMessage(false);
+         message.putIntProperty("i", i);
+         message.getBodyBuffer().writeBytes(body);
+         session.createProducer(multicastAddress).send(message);
+      }
+
+      for (int i = 0; i < numQueues; i++) {
+         try (ClientConsumer queueConsumer = session.createConsumer("queue" + i)) {
+            for (int j = 0; j < 2; j++) {
+               ClientMessage received = queueConsumer.receive(5000);
+               assertNotNull(received);
+               assertEquals(j, received.getIntProperty("i"));
+               byte[] receivedBody = new byte[received.getBodySize()];
+               received.getBodyBuffer().readBytes(receivedBody);
+               assertArrayEquals(body, receivedBody);
+               received.acknowledge();
+            }
+         }
+      }
+   }
+
    @Test
    public void testSendMessageResetSendAgainDifferentBody() throws Exception {
       ClientMessage message = session.createMessage(false);
@@ -46,6 +46,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -74,6 +76,7 @@ import org.apache.activemq.artemis.api.jms.ActiveMQJMSClient;
 import org.apache.activemq.artemis.api.jms.JMSFactoryType;
 import org.apache.activemq.artemis.core.config.Configuration;
 import org.apache.activemq.artemis.core.config.DivertConfiguration;
+import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.management.impl.QueueControlImpl;
 import org.apache.activemq.artemis.core.management.impl.view.ConsumerField;
 import org.apache.activemq.artemis.core.messagecounter.impl.MessageCounterManagerImpl;
@@ -88,6 +91,7 @@ import org.apache.activemq.artemis.core.server.impl.QueueImplTestAccessor;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.impl.XidImpl;
 import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.activemq.artemis.selector.filter.Filterable;
 import org.apache.activemq.artemis.json.JsonArray;
 import org.apache.activemq.artemis.json.JsonObject;
 import org.apache.activemq.artemis.tests.extensions.parameterized.ParameterizedTestExtension;
@@ -3056,6 +3060,124 @@ public class QueueControlTest extends ManagementTestBase {
       session.deleteQueue(queue);
    }
 
+   @TestTemplate
+   public void testCancelRunningOperation() throws Exception {
+      SimpleString address = RandomUtil.randomUUIDSimpleString();
+      SimpleString queue = RandomUtil.randomUUIDSimpleString();
+      final int messageCount = 1000;
+      final int flushLimit = 100;
+
+      session.createQueue(QueueConfiguration.of(queue).setAddress(address).setDurable(durable));
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < messageCount; i++) {
+         producer.send(session.createMessage(durable));
+      }
+
+      QueueControl queueControl = createManagementControl(address, queue);
+      Wait.assertEquals((long) messageCount, () -> getMessageCount(queueControl));
+      assertNull(queueControl.getRunningOperation());
+      assertFalse(queueControl.cancelRunningOperation());
+
+      Queue serverQueue = server.locateQueue(queue);
+      AtomicInteger matches = new AtomicInteger();
+      AtomicReference<String> runningOperation = new AtomicReference<>();
+      Filter cancellingFilter = new Filter() {
+         @Override
+         public boolean match(Message message) {
+            // cancel half way through the second chunk: the chunk is completed and the operation stops there
+            if (matches.incrementAndGet() == flushLimit + flushLimit / 2) {
+               try {
+                  runningOperation.set(queueControl.getRunningOperation());
+                  assertTrue(queueControl.cancelRunningOperation());
+               } catch (Exception e) {
+                  throw new RuntimeException(e);
+               }
+            }
+            return true;
+         }
+
+         @Override
+         public boolean match(Map<String, String> map) {
+            return true;
+         }
+
+         @Override
+         public boolean match(Filterable filterable) {
+            return true;
+         }
+
+         @Override
+         public SimpleString getFilterString() {
+            return null;
+         }
+      };
+
+      assertEquals(flushLimit * 2, serverQueue.deleteMatchingReferences(flushLimit, cancellingFilter));
+      Wait.assertEquals((long) messageCount - flushLimit * 2, () -> getMessageCount(queueControl));
+
+      JsonObject progress = JsonUtil.readJsonObject(runningOperation.get());
+      assertEquals("removeMessages", progress.getString("operation"));
+      assertEquals(flushLimit, progress.getJsonNumber("scanned").longValue());
+      assertEquals(flushLimit, progress.getInt("affected"));
+      assertFalse(progress.getBoolean("cancelled"));
+
+      assertNull(queueControl.getRunningOperation());
+      assertEquals(messageCount - flushLimit * 2, queueControl.removeAllMessages());
+      session.deleteQueue(queue);
+   }
+
+   @TestTemplate
+   public void testRemoveMessagesWithoutPositiveFlushLimit() throws Exception {
+      SimpleString address = RandomUtil.randomUUIDSimpleString();
+      SimpleString queue = RandomUtil.randomUUIDSimpleString();
+
+      session.createQueue(QueueConfiguration.of(queue).setAddress(address).setDurable(durable));
+      ClientProducer producer = session.createProducer(address);
+
+      QueueControl queueControl = createManagementControl(address, queue);
+
+      for (int flushLimit : new int[]{0, -1}) {
+         for (int i = 0; i < 10; i++) {
+            producer.send(session.createMessage(durable));
+         }
+         Wait.assertEquals(10L, () -> getMessageCount(queueControl));
+
+         assertEquals(10, queueControl.removeMessages(flushLimit, null));
+         Wait.assertEquals(0L, () -> getMessageCount(queueControl));
+      }
+
+      session.deleteQueue(queue);
+   }
+
+   @TestTemplate
+   public void testExpireAndChangePriorityLeaveScheduledMessages() throws Exception {
+      SimpleString address = RandomUtil.randomUUIDSimpleString();
+      SimpleString queue = RandomUtil.randomUUIDSimpleString();
+
+      session.createQueue(QueueConfiguration.of(queue).setAddress(address).setDurable(durable));
+      ClientProducer producer = session.createProducer(address);
+
+      QueueControl queueControl = createManagementControl(address, queue);
+
+      for (int i = 0; i < 2; i++) {
+         producer.send(session.createMessage(durable));
+         ClientMessage scheduled = session.createMessage(durable);
+         scheduled.putLongProperty(Message.HDR_SCHEDULED_DELIVERY_TIME, System.currentTimeMillis() + 60_000);
+         producer.send(scheduled);
+      }
+      Wait.assertEquals(4L, () -> getMessageCount(queueControl));
+      assertEquals(2, queueControl.getScheduledCount());
+
+      assertEquals(2, queueControl.changeMessagesPriority(null, 9));
+      assertEquals(2, queueControl.getScheduledCount());
+
+      assertEquals(2, queueControl.expireMessages(null));
+      Wait.assertEquals(2L, () -> getMessageCount(queueControl));
+      assertEquals(2, queueControl.getScheduledCount());
+
+      session.deleteQueue(queue);
+   }
+
    @TestTemplate
    public void testRemoveMessagesWithLimit() throws Exception {
       SimpleString key = SimpleString.of("key");
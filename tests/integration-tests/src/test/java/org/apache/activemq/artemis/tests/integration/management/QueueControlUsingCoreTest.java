@@ -150,7 +150,17 @@ public class QueueControlUsingCoreTest extends QueueControlTest {
 
          @Override
          public int changeMessagesPriority(final String filter, final int newPriority) throws Exception {
-            return (Integer) proxy.invokeOperation("changeMessagesPriority", filter, newPriority);
+            return (Integer) proxy.invokeOperation(Integer.class, "changeMessagesPriority", filter, newPriority);
+         }
+
+         @Override
+         public String getRunningOperation() {
+            return (String) proxy.retrieveAttributeValue("runningOperation");
+         }
+
+         @Override
+         public boolean cancelRunningOperation() throws Exception {
+            return (Boolean) proxy.invokeOperation("cancelRunningOperation");
          }
 
          @Override
@@ -253,6 +263,11 @@ public class QueueControlUsingCoreTest extends QueueControlTest {
             return (String) proxy.retrieveAttributeValue("lastValueKey");
          }
 
+         @Override
+         public int getLastValueKeyCount() {
+            return (Integer) proxy.retrieveAttributeValue("lastValueKeyCount", Integer.class);
+         }
+
          @Override
          public boolean isInternalQueue() {
             return (boolean) proxy.retrieveAttributeValue("internalQueue");
@@ -135,6 +135,26 @@ public class MetricsPluginTest extends ActiveMQTestBase {
               .filter(metric -> metric.name.startsWith("artemis"))
               .collect(Collectors.toList());
 
+      // the routing lookups depend on the internal addresses the broker has routed to so far
+      List<List<Tag>> routingLookupTags = artemisMetrics.stream()
+              .filter(metric -> metric.name.equals("artemis.routing.lookup.count"))
+              .map(metric -> metric.tags)
+              .collect(Collectors.toList());
+      assertThat(routingLookupTags, containsInAnyOrder(
+              Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "hit")),
+              Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "miss"))));
+      artemisMetrics.removeIf(metric -> metric.name.equals("artemis.routing.lookup.count"));
+
+      // so do the lookups of the shared string pools
+      List<List<Tag>> stringPoolLookupTags = artemisMetrics.stream()
+              .filter(metric -> metric.name.equals("artemis.string.pool.lookup.count"))
+              .map(metric -> metric.tags)
+              .collect(Collectors.toList());
+      assertThat(stringPoolLookupTags, containsInAnyOrder(
+              Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "hit")),
+              Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "miss"))));
+      artemisMetrics.removeIf(metric -> metric.name.equals("artemis.string.pool.lookup.count"));
+
       assertThat(artemisMetrics, containsInAnyOrder(
               // broker metrics
               new Metric("artemis.address.memory.usage",  0.0, Arrays.asList(Tag.of("broker", "localhost"))),
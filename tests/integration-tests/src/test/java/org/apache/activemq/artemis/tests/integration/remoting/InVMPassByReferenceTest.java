@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.remoting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.jms.Connection;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.client.impl.ClientSessionFactoryInternal;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class InVMPassByReferenceTest extends ActiveMQTestBase {
+
+   private static final String QUEUE = "queue";
+
+   private ActiveMQServer server;
+
+   private ServerLocator locator;
+
+   private ClientSessionFactory factory;
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      server = createServer(true, createDefaultConfig(false).clearAcceptorConfigurations().addAcceptorConfiguration("in-vm", "vm://0?passByReference=true"));
+      server.start();
+      server.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST));
+      locator = addServerLocator(ActiveMQClient.createServerLocator("vm://0")).setConsumerWindowSize(1024).setBlockOnNonDurableSend(true);
+      factory = createSessionFactory(locator);
+      assertTrue(((ClientSessionFactoryInternal) factory).getConnection().getTransportConnection().isPassingByReference());
+   }
+
+   @Test
+   public void testSendReceive() throws Exception {
+      final int numMessages = 200;
+      try (ClientSession session = addClientSession(factory.createSession())) {
+         ClientProducer producer = session.createProducer(QUEUE);
+         for (int i = 0; i < numMessages; i++) {
+            ClientMessage message = session.createMessage(i % 2 == 0);
+            message.putIntProperty("i", i);
+            message.getBodyBuffer().writeBytes(new byte[100]);
+            message.getBodyBuffer().writeInt(i);
+            producer.send(message);
+         }
+
+         session.start();
+         ClientConsumer consumer = session.createConsumer(QUEUE);
+         for (int i = 0; i < numMessages; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals(i, message.getIntProperty("i"));
+            assertEquals(i % 2 == 0, message.isDurable());
+            message.getBodyBuffer().skipBytes(100);
+            assertEquals(i, message.getBodyBuffer().readInt());
+            message.acknowledge();
+         }
+         assertNull(consumer.receiveImmediate());
+      }
+   }
+
+   @Test
+   public void testSenderChangesMessageAfterSend() throws Exception {
+      try (ClientSession session = addClientSession(factory.createSession())) {
+         ClientProducer producer = session.createProducer(QUEUE);
+         ClientMessage message = session.createMessage(true);
+         message.putStringProperty("text", "first");
+         message.getBodyBuffer().writeString("first");
+         producer.send(message);
+
+         message.putStringProperty("text", "second");
+         message.getBodyBuffer().resetWriterIndex();
+         message.getBodyBuffer().writeString("second");
+         producer.send(message);
+
+         session.start();
+         ClientConsumer consumer = session.createConsumer(QUEUE);
+         for (String text : new String[]{"first", "second"}) {
+            ClientMessage received = consumer.receive(5000);
+            assertNotNull(received);
+            assertEquals(text, received.getStringProperty("text"));
+            assertEquals(text, received.getBodyBuffer().readString());
+            received.acknowledge();
+         }
+      }
+   }
+
+   @Test
+   public void testReceiverChangesMessage() throws Exception {
+      final String address = "multicast";
+      server.createQueue(QueueConfiguration.of("a").setAddress(address).setRoutingType(RoutingType.MULTICAST));
+      server.createQueue(QueueConfiguration.of("b").setAddress(address).setRoutingType(RoutingType.MULTICAST));
+      try (ClientSession session = addClientSession(factory.createSession())) {
+         ClientMessage message = session.createMessage(true);
+         message.putStringProperty("text", "original");
+         message.getBodyBuffer().writeString("original");
+         session.createProducer(address).send(message);
+
+         session.start();
+         ClientMessage received = session.createConsumer("a").receive(5000);
+         assertNotNull(received);
+         received.putStringProperty("text", "changed");
+         received.getBodyBuffer().resetWriterIndex();
+         received.getBodyBuffer().writeString("changed");
+         received.acknowledge();
+
+         received = session.createConsumer("b").receive(5000);
+         assertNotNull(received);
+         assertEquals("original", received.getStringProperty("text"));
+         assertEquals("original", received.getBodyBuffer().readString());
+         received.acknowledge();
+      }
+   }
+
+   @Test
+   public void testTransacted() throws Exception {
+      try (ClientSession session = addClientSession(factory.createSession(false, false))) {
+         ClientProducer producer = session.createProducer(QUEUE);
+         for (int i = 0; i < 10; i++) {
+            producer.send(session.createMessage(true).putIntProperty("i", i));
+         }
+         session.commit();
+
+         session.start();
+         ClientConsumer consumer = session.createConsumer(QUEUE);
+         for (int i = 0; i < 10; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            message.acknowledge();
+         }
+         session.rollback();
+
+         for (int i = 0; i < 10; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals(i, message.getIntProperty("i"));
+            assertEquals(2, message.getDeliveryCount());
+            message.acknowledge();
+         }
+         session.commit();
+         assertNull(consumer.receiveImmediate());
+      }
+   }
+
+   @Test
+   public void testJMS() throws Exception {
+      try (ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://0");
+           Connection connection = connectionFactory.createConnection()) {
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+         MessageProducer producer = session.createProducer(session.createQueue(QUEUE));
+         TextMessage message = session.createTextMessage("hello");
+         producer.send(message);
+         message.setText("changed");
+
+         connection.start();
+         MessageConsumer consumer = session.createConsumer(session.createQueue(QUEUE));
+         TextMessage received = (TextMessage) consumer.receive(5000);
+         assertNotNull(received);
+         assertEquals("hello", received.getText());
+      }
+   }
+}
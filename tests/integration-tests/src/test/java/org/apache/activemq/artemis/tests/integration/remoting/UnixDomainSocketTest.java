@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.remoting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import javax.jms.Connection;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import java.io.File;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.remoting.impl.netty.CheckDependencies;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class UnixDomainSocketTest extends ActiveMQTestBase {
+
+   private static final String QUEUE = "sidecar";
+
+   private File socketDir;
+
+   private String socketPath;
+
+   private ActiveMQServer server;
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      assumeTrue(CheckDependencies.isEpollAvailable() || CheckDependencies.isKQueueAvailable());
+      super.setUp();
+      // the test directory is too deep for the ~100 characters allowed in the path of a socket
+      socketDir = Files.createTempDirectory("artemis").toFile();
+      socketPath = new File(socketDir, "artemis.sock").getAbsolutePath();
+      server = createServer(false, createBasicConfig().addAcceptorConfiguration("unix", "unix://" + socketPath + "?protocols=CORE,STOMP"));
+      server.start();
+      server.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST));
+   }
+
+   @Override
+   @AfterEach
+   public void tearDown() throws Exception {
+      try {
+         super.tearDown();
+      } finally {
+         if (socketDir != null) {
+            deleteDirectory(socketDir);
+         }
+      }
+   }
+
+   @Test
+   public void testCore() throws Exception {
+      try (ServerLocator locator = addServerLocator(ActiveMQClient.createServerLocator("unix://" + socketPath));
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession()) {
+         ClientProducer producer = session.createProducer(QUEUE);
+         for (int i = 0; i < 10; i++) {
+            producer.send(session.createMessage(false).putIntProperty("i", i));
+         }
+         session.start();
+         ClientConsumer consumer = session.createConsumer(QUEUE);
+         for (int i = 0; i < 10; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals(i, message.getIntProperty("i"));
+            message.acknowledge();
+         }
+      }
+   }
+
+   @Test
+   public void testJMS() throws Exception {
+      try (ActiveMQConnectionFactory factory = new ActiveMQConnectionFactory("unix://" + socketPath);
+           Connection connection = factory.createConnection()) {
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+         MessageProducer producer = session.createProducer(session.createQueue(QUEUE));
+         producer.send(session.createTextMessage("hello"));
+         connection.start();
+         MessageConsumer consumer = session.createConsumer(session.createQueue(QUEUE));
+         TextMessage message = (TextMessage) consumer.receive(5000);
+         assertNotNull(message);
+         assertEquals("hello", message.getText());
+      }
+   }
+
+   @Test
+   public void testOtherProtocols() throws Exception {
+      // the protocol is detected as on TCP: a raw STOMP connection is enough to check it
+      try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+         channel.connect(UnixDomainSocketAddress.of(socketPath));
+         channel.write(ByteBuffer.wrap("CONNECT\naccept-version:1.2\nhost:localhost\n\n\0".getBytes(StandardCharsets.UTF_8)));
+         ByteBuffer response = ByteBuffer.allocate(1024);
+         channel.read(response);
+         response.flip();
+         assertTrue(StandardCharsets.UTF_8.decode(response).toString().startsWith("CONNECTED"));
+      }
+   }
+}
@@ -95,6 +95,35 @@ public class LVQTest extends ActiveMQTestBase {
       assertEquals("m2", m.getBodyBuffer().readString());
    }
 
+   @Test
+   public void testLastValueKeyCount() throws Exception {
+      Queue lvQueue = server.locateQueue(qName1);
+      final int hashCode = lvQueue.hashCode();
+      ClientProducer producer = clientSession.createProducer(address);
+      for (int i = 0; i < 100; i++) {
+         ClientMessage m = createTextMessage(clientSession, "m" + i);
+         m.putStringProperty(Message.HDR_LAST_VALUE_NAME, SimpleString.of("KEY" + (i % 10)));
+         producer.send(m);
+      }
+
+      Wait.assertEquals(100L, lvQueue::getMessagesAdded, 5000, 100);
+      Wait.assertEquals(10L, lvQueue::getMessageCount, 5000, 100);
+      assertEquals(10, lvQueue.getLastValueKeyCount());
+      // the queue is a key of hash maps on the ack and tx paths: the last values must not change its hash code
+      assertEquals(hashCode, lvQueue.hashCode());
+      assertEquals(10, ((LastValueQueue) lvQueue).getLastValueKeys().size());
+
+      ClientConsumer consumer = clientSession.createConsumer(qName1);
+      clientSession.start();
+      for (int i = 0; i < 10; i++) {
+         ClientMessage m = consumer.receive(1000);
+         assertNotNull(m);
+         m.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+      Wait.assertEquals(0, lvQueue::getLastValueKeyCount, 5000, 100);
+   }
+
    @Test
    public void testSimpleExclusive() throws Exception {
       ServerLocator locator = createNettyNonHALocator().setConsumerWindowSize(0);
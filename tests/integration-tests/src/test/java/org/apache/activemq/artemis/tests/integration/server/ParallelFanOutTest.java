@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ParallelFanOutTest extends ActiveMQTestBase {
+
+   private static final String ADDRESS = "news";
+
+   private static final int QUEUES = 40;
+
+   private static final int MESSAGES = 50;
+
+   private ActiveMQServer server;
+
+   private ServerLocator locator;
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      server = createServer(true, createDefaultInVMConfig().setParallelFanOutThreshold(8));
+      server.start();
+      for (int i = 0; i < QUEUES; i++) {
+         server.createQueue(QueueConfiguration.of("subscriber" + i).setAddress(ADDRESS).setRoutingType(RoutingType.MULTICAST));
+      }
+      // a filtered subscriber is routed to a different number of queues
+      server.createQueue(QueueConfiguration.of("filtered").setAddress(ADDRESS).setFilterString("i < 10").setRoutingType(RoutingType.MULTICAST));
+      locator = createInVMNonHALocator();
+   }
+
+   @Test
+   public void testFanOut() throws Exception {
+      send(false, true);
+      assertReceivedInOrder(false);
+   }
+
+   @Test
+   public void testFanOutNonDurable() throws Exception {
+      send(false, false);
+      assertReceivedInOrder(false);
+   }
+
+   @Test
+   public void testFanOutInTransaction() throws Exception {
+      send(true, true);
+      assertReceivedInOrder(false);
+   }
+
+   @Test
+   public void testFanOutIsDurable() throws Exception {
+      send(false, true);
+      server.stop();
+      server.start();
+      assertReceivedInOrder(true);
+   }
+
+   private void send(boolean transacted, boolean durable) throws Exception {
+      try (ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(!transacted, !transacted);
+           ClientProducer producer = session.createProducer(ADDRESS)) {
+         for (int i = 0; i < MESSAGES; i++) {
+            final ClientMessage message = session.createMessage(durable);
+            message.putIntProperty("i", i);
+            producer.send(message);
+         }
+         if (transacted) {
+            for (int i = 0; i < QUEUES; i++) {
+               assertEquals(0L, server.locateQueue("subscriber" + i).getMessageCount());
+            }
+            session.commit();
+         }
+      }
+   }
+
+   private void assertReceivedInOrder(boolean restarted) throws Exception {
+      for (int i = 0; i < QUEUES; i++) {
+         final String queue = "subscriber" + i;
+         Wait.assertEquals((long) MESSAGES, () -> server.locateQueue(queue).getMessageCount());
+      }
+      Wait.assertEquals(10L, () -> server.locateQueue("filtered").getMessageCount());
+      if (restarted) {
+         locator.close();
+         locator = createInVMNonHALocator();
+      }
+      try (ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession()) {
+         session.start();
+         for (int i = 0; i < QUEUES; i++) {
+            try (ClientConsumer consumer = session.createConsumer("subscriber" + i)) {
+               for (int m = 0; m < MESSAGES; m++) {
+                  final ClientMessage message = consumer.receive(5000);
+                  assertNotNull(message);
+                  assertEquals(m, message.getIntProperty("i"));
+                  message.acknowledge();
+               }
+               assertNull(consumer.receiveImmediate());
+            }
+         }
+      }
+   }
+}
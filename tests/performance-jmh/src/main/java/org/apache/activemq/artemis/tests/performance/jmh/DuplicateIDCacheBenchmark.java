@@ -51,6 +51,8 @@ public class DuplicateIDCacheBenchmark {
    private int missingIdsMask;
    private long nextId;
    private byte[][] randomEvictedIds;
+   private int presentIdsMask;
+   private byte[][] randomPresentIds;
 
    @Setup
    public void init() throws Exception {
@@ -93,6 +95,13 @@ public class DuplicateIDCacheBenchmark {
             throw new AssertionError("This cache isn't using anymore a FIFO eviction strategy");
          }
       }
+      final int presentIdsLength = findNextPowerOf2(Math.max(1024, size));
+      presentIdsMask = presentIdsLength - 1;
+      randomPresentIds = new byte[presentIdsLength][];
+      for (int i = 0; i < presentIdsLength; i++) {
+         // use a copy, as a received id would be
+         randomPresentIds[i] = ids[random.nextInt(evicted, idSize)].clone();
+      }
    }
 
    // it isn't checking what's the max power of 2 number nor if size > 0
@@ -127,6 +136,18 @@ public class DuplicateIDCacheBenchmark {
       return cache.atomicVerify(nextId(), null);
    }
 
+   private byte[] nextPresentId() {
+      final long seq = nextId;
+      final int index = (int) (seq & presentIdsMask);
+      nextId = seq + 1;
+      return randomPresentIds[index];
+   }
+
+   @Benchmark
+   public boolean containsPresentId() {
+      return cache.contains(nextPresentId());
+   }
+
    @Benchmark
    public boolean containsMissingId() {
       return cache.contains(nextMissingId());
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Matches a {@link FilterImpl} against a core message: run it with {@code -prof gc} to check the allocation rate.
+ */
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class FilterBenchmark {
+
+   @Param({"color = 'red' AND weight > 2500", "(region = 'EMEA' OR region = 'APAC') AND NOT (priority < 4) AND price >= 9.5", "AMQTimestamp > 0 AND tenant = 'acme'"})
+   String selector;
+
+   private Filter filter;
+
+   private Message message;
+
+   @Setup
+   public void init() throws ActiveMQException {
+      filter = FilterImpl.createFilter(selector);
+      message = new CoreMessage(1, 256);
+      message.setTimestamp(System.currentTimeMillis());
+      message.putStringProperty(SimpleString.of("color"), SimpleString.of("red"));
+      message.putLongProperty(SimpleString.of("weight"), 3000L);
+      message.putStringProperty(SimpleString.of("region"), SimpleString.of("APAC"));
+      message.putIntProperty(SimpleString.of("priority"), 5);
+      message.putFloatProperty(SimpleString.of("price"), 10.0f);
+      message.putStringProperty(SimpleString.of("tenant"), SimpleString.of("acme"));
+   }
+
+   @Benchmark
+   public boolean match() {
+      return filter.match(message);
+   }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.core.settings.impl.HierarchicalObjectRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Looks up the address settings of a broker with a wildcard match per tenant, with and without changes of the
+ * wildcard matches between the lookups.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class HierarchicalRepositoryBenchmark {
+
+   private static final int ADDRESSES = 1024;
+
+   private static final int CHURN_LOOKUPS = 64;
+
+   @Param({"10", "1000"})
+   private int tenants;
+
+   private HierarchicalObjectRepository<AddressSettings> repository;
+
+   private AddressSettings churnSettings;
+
+   private String[] addresses;
+
+   private int next;
+
+   @Setup
+   public void init() {
+      repository = new HierarchicalObjectRepository<>();
+      repository.setDefault(new AddressSettings());
+      repository.addMatch("#", new AddressSettings().setMaxDeliveryAttempts(10));
+      for (int i = 0; i < tenants; i++) {
+         repository.addMatch("tenant" + i + ".#", new AddressSettings().setMaxSizeBytes(i));
+         repository.addMatch("tenant" + i + ".orders.*", new AddressSettings().setAutoDeleteQueues(true));
+      }
+      churnSettings = new AddressSettings().setAutoDeleteAddresses(true);
+      addresses = new String[ADDRESSES];
+      for (int i = 0; i < ADDRESSES; i++) {
+         addresses[i] = "tenant" + (i % tenants) + ".orders.order" + i;
+      }
+      // fill the cache
+      for (String address : addresses) {
+         repository.getMatch(address);
+      }
+   }
+
+   private String nextAddress() {
+      return addresses[next++ & (ADDRESSES - 1)];
+   }
+
+   @Benchmark
+   public AddressSettings cachedMatch() {
+      return repository.getMatch(nextAddress());
+   }
+
+   @Benchmark
+   public AddressSettings uncachedMatch() {
+      repository.clearCache();
+      return repository.getMatch(nextAddress());
+   }
+
+   /**
+    * Adds and removes the match of an auto-created address every {@link #CHURN_LOOKUPS} lookups.
+    */
+   @Benchmark
+   @OperationsPerInvocation(CHURN_LOOKUPS)
+   public void matchUnderChurn(Blackhole blackhole) {
+      repository.addMatch("tenant0.auto.*", churnSettings, false, false);
+      repository.removeMatch("tenant0.auto.*");
+      for (int i = 0; i < CHURN_LOOKUPS; i++) {
+         blackhole.consume(repository.getMatch(nextAddress()));
+      }
+   }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.SplittableRandom;
+
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class PriorityLinkedListBenchmark {
+
+   private static final int PRIORITIES = 10;
+
+   private static final Integer MSG = 0;
+
+   @Param({"1000", "10000"})
+   int size;
+
+   /**
+    * How many distinct priority levels are used by the workload: {@code 1} is the common case of every message on the
+    * default priority, while {@code 10} spreads the messages on all levels.
+    */
+   @Param({"1", "3", "10"})
+   int usedPriorities;
+
+   private PriorityLinkedListImpl<Integer> list;
+
+   private int[] priorities;
+
+   private int next;
+
+   @Setup
+   public void init() {
+      list = new PriorityLinkedListImpl<>(PRIORITIES);
+      priorities = new int[size];
+      final SplittableRandom random = new SplittableRandom(0);
+      // spread the used levels on the whole range, to leave gaps of empty levels in between
+      final int step = PRIORITIES / usedPriorities;
+      for (int i = 0; i < size; i++) {
+         priorities[i] = random.nextInt(usedPriorities) * step;
+         list.addTail(MSG, priorities[i]);
+      }
+   }
+
+   private int nextPriority() {
+      final int priority = priorities[next];
+      next++;
+      if (next == size) {
+         next = 0;
+      }
+      return priority;
+   }
+
+   @Benchmark
+   public Integer addAndPoll() {
+      list.addTail(MSG, nextPriority());
+      return list.poll();
+   }
+
+   @Benchmark
+   public void iterate(Blackhole bh) {
+      try (LinkedListIterator<Integer> iterator = list.iterator()) {
+         while (iterator.hasNext()) {
+            bh.consume(iterator.next());
+         }
+      }
+   }
+
+}
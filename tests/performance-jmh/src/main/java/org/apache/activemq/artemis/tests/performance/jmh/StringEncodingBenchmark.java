@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.UTF8Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converts strings to and from the UTF-8 encoding of {@link UTF8Util} and to and from {@link SimpleString}, as the
+ * text of a message or the properties of a message are, into heap and direct buffers.
+ */
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class StringEncodingBenchmark {
+
+   @Param({"16", "256", "4000"})
+   int length;
+
+   /**
+    * {@code ascii}, or {@code mixed} for ASCII text with a non ASCII char every 64 chars.
+    */
+   @Param({"ascii", "mixed"})
+   String text;
+
+   private String string;
+
+   private SimpleString simpleString;
+
+   @Setup
+   public void init() {
+      final StringBuilder builder = new StringBuilder(length);
+      for (int i = 0; i < length; i++) {
+         if (text.equals("mixed") && i % 64 == 63) {
+            builder.append('é');
+         } else {
+            builder.append((char) ('a' + i % 26));
+         }
+      }
+      string = builder.toString();
+      simpleString = SimpleString.of(string);
+   }
+
+   @State(Scope.Thread)
+   public static class Buffers {
+
+      @Param({"false", "true"})
+      boolean direct;
+
+      private ByteBuf buffer;
+
+      private ActiveMQBuffer encoded;
+
+      @Setup
+      public void init(StringEncodingBenchmark benchmark) {
+         final int capacity = benchmark.length * 3 + 2;
+         buffer = direct ? Unpooled.directBuffer(capacity) : Unpooled.buffer(capacity);
+         UTF8Util.saveUTF(buffer, benchmark.string);
+         final ByteBuf copy = direct ? Unpooled.directBuffer(buffer.readableBytes()) : Unpooled.buffer(buffer.readableBytes());
+         copy.writeBytes(buffer, 0, buffer.readableBytes());
+         encoded = ActiveMQBuffers.wrappedBuffer(copy);
+      }
+   }
+
+   @Benchmark
+   public int saveUTF(Buffers buffers) {
+      buffers.buffer.clear();
+      UTF8Util.saveUTF(buffers.buffer, string);
+      return buffers.buffer.writerIndex();
+   }
+
+   @Benchmark
+   public String readUTF(Buffers buffers) {
+      buffers.encoded.readerIndex(0);
+      return UTF8Util.readUTF(buffers.encoded);
+   }
+
+   @Benchmark
+   public SimpleString simpleStringOf() {
+      return SimpleString.of(string);
+   }
+
+   @Benchmark
+   public String simpleStringToString() {
+      return SimpleString.of(simpleString.getData()).toString();
+   }
+
+}
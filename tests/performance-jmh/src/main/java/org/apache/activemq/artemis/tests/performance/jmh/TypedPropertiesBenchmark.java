@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes the properties of a message, then reads some of them or encodes them again, as a filter or the delivery of
+ * the message would: run it with {@code -prof gc} to compare the allocation rate of eagerly and lazily decoded
+ * properties. {@link #lookups()} reads already decoded properties, as the broker does several times while routing a
+ * message.
+ */
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class TypedPropertiesBenchmark {
+
+   @Param({"20", "50"})
+   int size;
+
+   @Param({"false", "true"})
+   boolean lazily;
+
+   private ByteBuf encoded;
+
+   private ByteBuf encodeBuffer;
+
+   private SimpleString key;
+
+   private SimpleString[] lookupKeys;
+
+   private TypedProperties decoded;
+
+   @Setup
+   public void init() {
+      final TypedProperties properties = new TypedProperties();
+      for (int i = 0; i < size; i++) {
+         final SimpleString name = SimpleString.of("property" + i);
+         switch (i % 4) {
+            case 0 -> properties.putSimpleStringProperty(name, SimpleString.of("value" + i));
+            case 1 -> properties.putLongProperty(name, i);
+            case 2 -> properties.putIntProperty(name, i);
+            default -> properties.putBooleanProperty(name, true);
+         }
+      }
+      encoded = Unpooled.buffer(properties.getEncodeSize());
+      properties.encode(encoded);
+      encodeBuffer = Unpooled.buffer(properties.getEncodeSize());
+      key = SimpleString.of("property" + (size / 2));
+      // a few present keys, spread over the properties, and a missing one
+      lookupKeys = new SimpleString[] {SimpleString.of("property0"), SimpleString.of("property" + (size / 4)), key,
+         SimpleString.of("property" + (size - 1)), SimpleString.of("property" + (size / 2 + 1)), SimpleString.of("missing")};
+      decoded = decodeProperties();
+   }
+
+   private TypedProperties decodeProperties() {
+      final TypedProperties properties = new TypedProperties();
+      properties.decode(encoded.duplicate(), null, lazily);
+      return properties;
+   }
+
+   @Benchmark
+   public TypedProperties decode() {
+      return decodeProperties();
+   }
+
+   @Benchmark
+   public Object decodeAndLookup() {
+      return decodeProperties().getProperty(key);
+   }
+
+   @Benchmark
+   public int lookups() {
+      return readLookupKeys(decoded);
+   }
+
+   @Benchmark
+   public int decodeAndLookups() {
+      return readLookupKeys(decodeProperties());
+   }
+
+   private int readLookupKeys(final TypedProperties properties) {
+      int found = 0;
+      for (SimpleString lookupKey : lookupKeys) {
+         if (properties.getProperty(lookupKey) != null) {
+            found++;
+         }
+      }
+      return found;
+   }
+
+   @Benchmark
+   public int decodeAndEncode() {
+      encodeBuffer.clear();
+      return decodeProperties().encode(encodeBuffer);
+   }
+
+}
@@ -162,6 +162,7 @@ public class WildcardAddressManagerPerfTest {
    AtomicLong topicCounter;
    private static final WildcardConfiguration WILDCARD_CONFIGURATION;
    SimpleString[] addresses;
+   SimpleString[] unmatchedAddresses;
 
    static {
       WILDCARD_CONFIGURATION = new WildcardConfiguration();
@@ -178,11 +179,14 @@ public class WildcardAddressManagerPerfTest {
 
       topics = 1 << topicsLog2;
       addresses = new SimpleString[topics];
+      unmatchedAddresses = new SimpleString[topics];
       for (int i = 0; i < topics; i++) {
          Binding binding = new BindingFake(WILDCARD, SimpleString.of("" + i), i);
          addressManager.addBinding(binding);
          addresses[i] = SimpleString.of("Topic1." + i);
          addressManager.getBindingsForRoutingAddress(addresses[i]);
+         // no wildcard matches these: publishing to them is resolved by the unmatched addresses cache
+         unmatchedAddresses[i] = SimpleString.of("Topic2." + i);
       }
       topicCounter = new AtomicLong(0);
       topicCounter.set(topics);
@@ -198,19 +202,28 @@ public class WildcardAddressManagerPerfTest {
       Binding binding;
       long next;
       SimpleString[] addresses;
+      SimpleString[] unmatchedAddresses;
 
       @Setup
       public void init(WildcardAddressManagerPerfTest benchmarkState) {
          final long id = benchmarkState.nextId();
          binding = new BindingFake(WILDCARD, SimpleString.of("" + id), id);
          addresses = benchmarkState.addresses;
+         unmatchedAddresses = benchmarkState.unmatchedAddresses;
       }
 
       public SimpleString nextAddress() {
+         return addresses[nextIndex()];
+      }
+
+      public SimpleString nextUnmatchedAddress() {
+         return unmatchedAddresses[nextIndex()];
+      }
+
+      private int nextIndex() {
          final long current = next;
          next = current + 1;
-         final int index = (int) (current & (addresses.length - 1));
-         return addresses[index];
+         return (int) (current & (addresses.length - 1));
       }
    }
 
@@ -236,6 +249,12 @@ public class WildcardAddressManagerPerfTest {
       return addressManager.getBindingsForRoutingAddress(state.nextAddress());
    }
 
+   @Benchmark
+   @GroupThreads(4)
+   public Bindings testJustPublishUnmatched(ThreadState state) throws Exception {
+      return addressManager.getBindingsForRoutingAddress(state.nextUnmatchedAddress());
+   }
+
    @Benchmark
    @GroupThreads(4)
    public Binding testJustAddRemoveNewBinding(ThreadState state) throws Exception {
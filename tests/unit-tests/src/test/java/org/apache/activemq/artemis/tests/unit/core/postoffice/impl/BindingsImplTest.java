@@ -30,6 +30,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
 import org.apache.activemq.artemis.core.postoffice.Binding;
@@ -86,6 +87,38 @@ public class BindingsImplTest extends ActiveMQTestBase {
       assertEquals(0, fake.routedCount.get());
    }
 
+   @Test
+   public void testRouteWithSharedFilterEvaluation() throws Exception {
+      final String[] selectors = {"color = 'red'", "color = 'blue'", "color = 'red' AND weight > 10", "color = 'red' AND weight <= 10",
+                                  "weight > 10", "color = 'red'", "color IS NULL", "color = 'red' OR weight > 10", "AMQPriority = 'red'"};
+      final Bindings bind = new BindingsImpl(null, null, new NullStorageManager(1000));
+      final FakeBinding[] fakes = new FakeBinding[selectors.length];
+      for (int i = 0; i < selectors.length; i++) {
+         fakes[i] = new FakeBinding(SimpleString.of("subscription" + i));
+         fakes[i].filter = FilterImpl.createFilter(selectors[i]);
+         bind.addBinding(fakes[i]);
+      }
+
+      final Object[][] messages = {{"red", 5}, {"red", 20}, {"blue", 20}, {null, 5}, {SimpleString.of("red"), 5}, {5, 20}};
+      for (Object[] properties : messages) {
+         final Message message = new CoreMessage(0, 100);
+         if (properties[0] != null) {
+            message.putObjectProperty("color", properties[0]);
+         }
+         message.putIntProperty("weight", (Integer) properties[1]);
+         final int[] expected = new int[fakes.length];
+         for (int i = 0; i < fakes.length; i++) {
+            expected[i] = fakes[i].routedCount.get() + (fakes[i].filter.match(message) ? 1 : 0);
+         }
+         bind.route(message, new RoutingContextImpl(new FakeTransaction()));
+         for (int i = 0; i < fakes.length; i++) {
+            assertEquals(expected[i], fakes[i].routedCount.get(), selectors[i] + " on " + message);
+         }
+      }
+      assertEquals(3, fakes[0].routedCount.get());
+      assertEquals(0, fakes[8].routedCount.get());
+   }
+
    @Test
    public void testRemoveWhileRouting() throws Exception {
       // It would require many iterations before getting a failure
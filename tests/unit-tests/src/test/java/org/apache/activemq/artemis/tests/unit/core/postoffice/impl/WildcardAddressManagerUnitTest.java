@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.tests.unit.core.postoffice.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -29,6 +30,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -284,6 +286,74 @@ public class WildcardAddressManagerUnitTest extends ActiveMQTestBase {
       assertNull(ad.getBindingsForRoutingAddress(SimpleString.of("europe")));
    }
 
+   @Test
+   public void testUnmatchedAddressLookupCache() throws Exception {
+      WildcardAddressManager ad = new WildcardAddressManager(new BindingFactoryFake(), null, null);
+      ad.addAddressInfo(new AddressInfo(SimpleString.of("news.europe.#"), RoutingType.MULTICAST));
+      ad.addBinding(new BindingFake("news.europe.#", "one"));
+
+      final SimpleString usa = SimpleString.of("news.usa");
+      for (int i = 0; i < 10; i++) {
+         assertNull(ad.getBindingsForRoutingAddress(usa));
+      }
+      assertEquals(10, ad.getRoutingLookupCount());
+      assertEquals(1, ad.getRoutingLookupWalkCount());
+
+      // a new wildcard binding invalidates the addresses known to match none
+      ad.addAddressInfo(new AddressInfo(SimpleString.of("news.*"), RoutingType.MULTICAST));
+      ad.addBinding(new BindingFake("news.*", "two"));
+      assertEquals(1, ad.getBindingsForRoutingAddress(usa).getBindings().size());
+      assertEquals(1, ad.getBindingsForRoutingAddress(usa).getBindings().size());
+      assertEquals(2, ad.getRoutingLookupWalkCount());
+      assertEquals(10.0 / 12, ad.getRoutingLookupHitRate(), 0.0001);
+
+      // removing the last matching binding doesn't need to invalidate anything
+      ad.removeBinding(SimpleString.of("two"), null);
+      assertNull(ad.getBindingsForRoutingAddress(usa));
+      assertNull(ad.getBindingsForRoutingAddress(usa));
+      assertEquals(3, ad.getRoutingLookupWalkCount());
+   }
+
+   @Test
+   public void testConcurrentWildcardBindingAndRouting() throws Exception {
+      final SimpleString usa = SimpleString.of("news.usa");
+      ExecutorService executorService = Executors.newSingleThreadExecutor();
+      try {
+         for (int i = 0; i < 50; i++) {
+            final WildcardAddressManager ad = new WildcardAddressManager(new BindingFactoryFake(), null, null);
+            ad.addAddressInfo(new AddressInfo(SimpleString.of("news.*"), RoutingType.MULTICAST));
+            // the new wildcard binding is added to all of these, which widens the window of the race
+            for (int j = 0; j < 1000; j++) {
+               ad.addAddressInfo(new AddressInfo(SimpleString.of("news." + j), RoutingType.MULTICAST));
+               ad.addBinding(new BindingFake("news." + j, "queue" + j));
+            }
+            assertNull(ad.getBindingsForRoutingAddress(usa));
+
+            final CountDownLatch started = new CountDownLatch(1);
+            final AtomicBoolean added = new AtomicBoolean();
+            Future<?> routing = executorService.submit(() -> {
+               started.countDown();
+               while (!added.get()) {
+                  ad.getBindingsForRoutingAddress(usa);
+               }
+               return null;
+            });
+
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            ad.addBinding(new BindingFake("news.*", "one"));
+            added.set(true);
+            routing.get(10, TimeUnit.SECONDS);
+
+            // whatever the lookups racing with the binding cached, the address must match it now
+            final Bindings bindings = ad.getBindingsForRoutingAddress(usa);
+            assertNotNull(bindings, "round " + i);
+            assertEquals(1, bindings.getBindings().size());
+         }
+      } finally {
+         executorService.shutdownNow();
+      }
+   }
+
    @Test
    public void testNumberOfBindingsThatMatch() throws Exception {
 
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.unit.core.remoting.impl.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.activemq.artemis.core.remoting.impl.netty.WriteCoalescingHandler;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WriteCoalescingHandlerTest extends ActiveMQTestBase {
+
+   private EventLoopGroup group;
+
+   private Channel server;
+
+   private final LinkedBlockingQueue<Integer> received = new LinkedBlockingQueue<>();
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      group = new DefaultEventLoopGroup(1);
+      server = new ServerBootstrap().group(group).channel(LocalServerChannel.class).childHandler(new ChannelInboundHandlerAdapter() {
+         @Override
+         public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            received.add(((ByteBuf) msg).readableBytes());
+            ReferenceCountUtil.release(msg);
+         }
+      }).bind(new LocalAddress(getName())).sync().channel();
+   }
+
+   @Override
+   @AfterEach
+   public void tearDown() throws Exception {
+      try {
+         server.close().sync();
+         group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+      } finally {
+         super.tearDown();
+      }
+   }
+
+   private Channel connect(WriteCoalescingHandler handler) throws Exception {
+      return new Bootstrap().group(group).channel(LocalChannel.class).handler(handler).connect(server.localAddress()).sync().channel();
+   }
+
+   /**
+    * {@return the number of bytes received, waiting for at least {@code bytes}}
+    */
+   private int receive(int bytes) throws InterruptedException {
+      int total = 0;
+      Integer read;
+      while (total < bytes && (read = received.poll(5, TimeUnit.SECONDS)) != null) {
+         total += read;
+      }
+      return total;
+   }
+
+   private static ByteBuf buffer(int size) {
+      return Unpooled.wrappedBuffer(new byte[size]);
+   }
+
+   @Test
+   public void testFlushesCoalescedByEventLoop() throws Exception {
+      WriteCoalescingHandler handler = new WriteCoalescingHandler(1024);
+      Channel channel = connect(handler);
+
+      // as if written by other threads while the event loop is busy
+      channel.eventLoop().submit(() -> {
+         for (int i = 0; i < 3; i++) {
+            channel.writeAndFlush(buffer(10));
+         }
+         assertEquals(0, handler.getFlushes());
+      }).get();
+
+      assertEquals(30, receive(30));
+      assertEquals(3, channel.eventLoop().submit(handler::getWrites).get());
+      assertEquals(1, channel.eventLoop().submit(handler::getFlushes).get());
+   }
+
+   @Test
+   public void testFlushesCoalescedByRead() {
+      WriteCoalescingHandler handler = new WriteCoalescingHandler(1024);
+      EmbeddedChannel channel = new EmbeddedChannel(handler, new ChannelInboundHandlerAdapter() {
+         @Override
+         public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.writeAndFlush(msg);
+         }
+      });
+
+      channel.writeInbound(buffer(10), buffer(10), buffer(10));
+      assertEquals(3, channel.outboundMessages().size());
+      assertEquals(3, handler.getWrites());
+      assertEquals(1, handler.getFlushes());
+   }
+
+   @Test
+   public void testFlushOverThreshold() throws Exception {
+      WriteCoalescingHandler handler = new WriteCoalescingHandler(100);
+      Channel channel = connect(handler);
+
+      channel.eventLoop().submit(() -> {
+         channel.writeAndFlush(buffer(60));
+         assertEquals(0, handler.getFlushes());
+         channel.writeAndFlush(buffer(60));
+         assertEquals(1, handler.getFlushes());
+      }).get();
+
+      assertEquals(120, receive(120));
+      assertEquals(1, channel.eventLoop().submit(handler::getFlushes).get());
+   }
+
+   @Test
+   public void testFlushOnClose() throws Exception {
+      WriteCoalescingHandler handler = new WriteCoalescingHandler(1024);
+      Channel channel = connect(handler);
+
+      channel.eventLoop().submit(() -> {
+         channel.writeAndFlush(buffer(10));
+         channel.close();
+      }).get();
+
+      assertEquals(10, receive(10));
+      assertEquals(1, handler.getFlushes());
+   }
+}
@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -62,6 +63,7 @@ import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
 import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
 import org.apache.activemq.artemis.utils.FutureLatch;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
+import org.apache.activemq.artemis.utils.actors.OrderedExecutor;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -101,6 +103,8 @@ public class QueueImplTest extends ActiveMQTestBase {
 
    private static final SimpleString queue1 = SimpleString.of("queue1");
 
+   private static final SimpleString queue2 = SimpleString.of("queue2");
+
    private static final SimpleString address1 = SimpleString.of("address1");
 
    @Test
@@ -1467,6 +1471,91 @@ public class QueueImplTest extends ActiveMQTestBase {
       assertEquals(1, queue.getMessageCount(), "The second message should be in the queue");
    }
 
+   @Test
+   public void testDeliveryRunYieldsAfterDispatchQuantum() throws Exception {
+      final int batchSize = 10;
+      final int weight = 2;
+      final int numMessages = 100;
+      defaultServer.getAddressSettingsRepository().addMatch(address1.toString(), new AddressSettings().setDispatchBatchSize(batchSize).setDispatchWeight(weight));
+
+      // the delivery runs are queued here instead of being executed, so every run can be observed on its own
+      final LinkedList<Runnable> runs = new LinkedList<>();
+      final QueueImpl queue = new QueueImpl(QueueConfiguration.of(queue1).setAddress(address1).setRoutingType(RoutingType.MULTICAST).setId(1L).setDurable(false).setTemporary(true), null, null, null, scheduledExecutor, new FakePostOffice(), null, defaultServer.getAddressSettingsRepository(), ArtemisExecutor.delegate(runs::add), defaultServer, null);
+      assertEquals(batchSize * weight, queue.getDispatchQuantum());
+
+      for (int i = 0; i < numMessages; i++) {
+         queue.addTail(generateReference(queue, i));
+      }
+      final FakeConsumer consumer = new FakeConsumer();
+      queue.addConsumer(consumer);
+
+      int delivered = 0;
+      int deliveringRuns = 0;
+      while (!runs.isEmpty()) {
+         runs.poll().run();
+         final int handled = consumer.getReferences().size() - delivered;
+         assertTrue(handled <= batchSize * weight, "a single run handled " + handled + " messages");
+         if (handled > 0) {
+            deliveringRuns++;
+         }
+         delivered += handled;
+      }
+
+      assertEquals(numMessages, delivered);
+      assertEquals(numMessages / (batchSize * weight), deliveringRuns);
+      assertEquals(numMessages, queue.getDeliveringCount());
+   }
+
+   @Test
+   public void testDeliveryRunsOfQueuesSharingAThreadInterleave() throws Exception {
+      final int quantum = 10;
+      final int numMessages = 100;
+      defaultServer.getAddressSettingsRepository().addMatch(address1.toString(), new AddressSettings().setDispatchBatchSize(quantum));
+
+      // each queue has its own ordered executor, as on the broker, and they compete for a single thread
+      final ExecutorService sharedThread = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      try {
+         final List<SimpleString> deliveries = Collections.synchronizedList(new ArrayList<>());
+         final CountDownLatch allDelivered = new CountDownLatch(2 * numMessages);
+         final CountDownLatch blockThread = new CountDownLatch(1);
+         sharedThread.execute(() -> {
+            try {
+               blockThread.await();
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+         });
+
+         for (SimpleString name : new SimpleString[] {queue1, queue2}) {
+            final QueueImpl queue = new QueueImpl(QueueConfiguration.of(name).setAddress(address1).setRoutingType(RoutingType.MULTICAST).setId(name == queue1 ? 1L : 2L).setDurable(false).setTemporary(true), null, null, null, scheduledExecutor, new FakePostOffice(), null, defaultServer.getAddressSettingsRepository(), new OrderedExecutor(sharedThread), defaultServer, null);
+            for (int i = 0; i < numMessages; i++) {
+               queue.addTail(generateReference(queue, i));
+            }
+            queue.addConsumer(new FakeConsumer() {
+               @Override
+               public synchronized HandleStatus handle(MessageReference reference) {
+                  deliveries.add(name);
+                  allDelivered.countDown();
+                  return super.handle(reference);
+               }
+            });
+            queue.deliverAsync();
+         }
+         blockThread.countDown();
+
+         assertTrue(allDelivered.await(10, TimeUnit.SECONDS));
+         int switches = 0;
+         for (int i = 1; i < deliveries.size(); i++) {
+            if (!deliveries.get(i).equals(deliveries.get(i - 1))) {
+               switches++;
+            }
+         }
+         assertTrue(switches >= 2 * numMessages / quantum - 1, "the runs of the queues didn't interleave: " + switches + " switches");
+      } finally {
+         sharedThread.shutdownNow();
+      }
+   }
+
    private QueueImpl getNonDurableQueue() {
       return getQueue(QueueImplTest.queue1, false, false, null);
    }
@@ -28,6 +28,7 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
+import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
@@ -62,6 +63,32 @@ public class UTF8Test extends ActiveMQTestBase {
       assertArrayEquals(expectedBytes, realEncodedBytes);
    }
 
+   @Test
+   public void testValidateUTFWithAsciiRuns() throws Exception {
+      for (int length = 0; length < 40; length++) {
+         // an ASCII string, then the same one with a non ASCII char in each position
+         for (int nonAscii = -1; nonAscii < length; nonAscii++) {
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+               chars[i] = i == nonAscii ? (i % 2 == 0 ? 'é' : '\u20ac') : (char) ('a' + i % 26);
+            }
+            final String str = new String(chars);
+
+            final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+            new DataOutputStream(byteOut).writeUTF(str);
+            final byte[] expectedBytes = byteOut.toByteArray();
+
+            for (ActiveMQBuffer buffer : new ActiveMQBuffer[]{ActiveMQBuffers.fixedBuffer(expectedBytes.length), ActiveMQBuffers.wrappedBuffer(Unpooled.directBuffer(expectedBytes.length))}) {
+               UTF8Util.saveUTF(buffer.byteBuf(), str);
+               final byte[] encodedBytes = new byte[buffer.readableBytes()];
+               buffer.getBytes(0, encodedBytes);
+               assertArrayEquals(expectedBytes, encodedBytes, str);
+               assertEquals(str, UTF8Util.readUTF(buffer));
+            }
+         }
+      }
+   }
+
    @Test
    public void testValidateUTF() throws Exception {
       ActiveMQBuffer buffer = ActiveMQBuffers.fixedBuffer(60 * 1024);